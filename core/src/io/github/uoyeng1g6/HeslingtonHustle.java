@@ -2,6 +2,9 @@ package io.github.uoyeng1g6;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -9,11 +12,20 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.physics.box2d.Box2D;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.uoyeng1g6.constants.GameConstants;
+import io.github.uoyeng1g6.map.CachedTiledMapLoader;
+import io.github.uoyeng1g6.map.MapChunkCache;
+import io.github.uoyeng1g6.map.MapOverdrawCuller;
+import io.github.uoyeng1g6.map.SparseTiledMap;
+import io.github.uoyeng1g6.save.SaveGame;
 import io.github.uoyeng1g6.screens.*;
 import io.github.uoyeng1g6.utils.LeaderboardManager;
+import io.github.uoyeng1g6.utils.ParallelTextureLoader;
+import io.github.uoyeng1g6.utils.PixmapCache;
+import io.github.uoyeng1g6.utils.UserDirectories;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 
 /**
@@ -25,6 +37,10 @@ public class HeslingtonHustle extends Game {
      * Enum representing all possible game states.
      */
     public enum State {
+        /**
+         * The game is waiting for the assets needed by the next state to finish loading.
+         */
+        LOADING,
         /**
          * The game is currently on the main menu screen.
          */
@@ -65,6 +81,87 @@ public class HeslingtonHustle extends Game {
      * objects handled by {@code box2d}.
      */
     public final boolean physicsDebug;
+    /**
+     * Whether the tilemap should be pre-rendered into chunks when it is loaded - if {@code true} then the map
+     * is drawn from {@link #mapChunkCache} instead of cell by cell every frame.
+     */
+    public final boolean mapCache;
+    /**
+     * Whether interactables should be found using box2d sensors - if {@code true} then every interaction hitbox is
+     * added to the physics world as a sensor and the player's contacts are tracked, instead of querying a
+     * {@link io.github.uoyeng1g6.utils.HitboxIndex HitboxIndex} every frame.
+     */
+    public final boolean sensorProximity;
+    /**
+     * The number of physics steps simulated per second. Rendering is interpolated between steps, so this can be
+     * lowered on slow machines without making movement stutter.
+     */
+    public final int tickRate;
+    /**
+     * The file to record the player's input to, or {@code null} if input should not be recorded. The recording is
+     * written once the game ends or is quit.
+     */
+    public final String recordInput;
+    /**
+     * The file to replay the player's input from in place of the keyboard, or {@code null} to play normally.
+     */
+    public final String replayInput;
+
+    /**
+     * Path to the save of the game in progress, relative to the per-user
+     * {@link UserDirectories#getDataDirectory() data directory}.
+     */
+    public static final String SAVE_FILE = "saves/autosave.bin";
+
+    /**
+     * Path to the skin used by every menu screen.
+     */
+    private static final String SKIN = "skins/default/uiskin.json";
+    /**
+     * Path to the texture atlas for the player's sprite.
+     */
+    private static final String PLAYER_ATLAS = "sprites/player.txt";
+    /**
+     * Path to the texture atlas for the interaction icons.
+     */
+    private static final String INTERACTION_ICONS_ATLAS = "sprites/interaction_icons.txt";
+    /**
+     * Path to the single white pixel texture.
+     */
+    private static final String WHITE_PIXEL = "white_pixel.png";
+    /**
+     * Path to the white background texture for the UI counters.
+     */
+    private static final String BACKGROUND = "background.png";
+    /**
+     * Path to the orange background texture for the UI counters.
+     */
+    private static final String BACKGROUND_ENERGY_MED = "backgroundEnergyMed.png";
+    /**
+     * Path to the red background texture for the UI counters.
+     */
+    private static final String BACKGROUND_ENERGY_LOW = "backgroundEnergyLow.png";
+    /**
+     * The maximum time to spend loading assets each frame, in milliseconds.
+     */
+    private static final int LOADING_BUDGET_MILLIS = 10;
+
+    /**
+     * The asset manager that loads and owns the game's skin, texture atlases, white pixel, UI backgrounds and tilemap.
+     */
+    public AssetManager assetManager;
+    /**
+     * Loader used by the asset manager for textures, which decodes their images on worker threads.
+     */
+    private ParallelTextureLoader textureLoader;
+    /**
+     * Path to the tilemap being loaded.
+     */
+    private String mapPath;
+    /**
+     * Whether every asset has finished loading and the tilemap has been prepared for rendering.
+     */
+    private boolean assetsLoaded = false;
 
     /**
      * The skin to use when rendering {@code scene2d.ui} components.
@@ -83,11 +180,31 @@ public class HeslingtonHustle extends Game {
      * Texture which is just a single white pixel. Required for {@link ShapeDrawer} to work properly.
      */
     public Texture whitePixel;
+    /**
+     * White background texture for the UI counters.
+     */
+    public Texture backgroundTexture;
+    /**
+     * Orange background texture for the UI counters, shown when a counter is getting low.
+     */
+    public Texture backgroundEnergyMedTexture;
+    /**
+     * Red background texture for the UI counters, shown when a counter is nearly out.
+     */
+    public Texture backgroundEnergyLowTexture;
 
     /**
      * The tilemap to use for the game's background.
      */
     public TiledMap tiledMap;
+    /**
+     * Sparse representation of the tilemap's layers, containing only the cells that hold a tile.
+     */
+    public SparseTiledMap sparseMap;
+    /**
+     * The pre-rendered chunks of the tilemap. {@code null} if map caching is disabled.
+     */
+    public MapChunkCache mapChunkCache = null;
 
     /**
      * The font to use when rendering tooltips.
@@ -107,6 +224,10 @@ public class HeslingtonHustle extends Game {
      */
     public ShapeDrawer shapeDrawer;
 
+    /**
+     * The loading screen instance. A new one is created each time the game needs to wait for assets.
+     */
+    Loading loading = null;
     /**
      * The main menu screen instance.
      */
@@ -136,15 +257,33 @@ public class HeslingtonHustle extends Game {
      */
     Leaderboard leaderboard = null;
 
+    /**
+     * The save to continue when the game next starts playing, or {@code null} to start a new game.
+     */
+    private SaveGame resumeFrom = null;
+
     /**
      * The game's current state.
      */
     private State currentState = State.MAIN_MENU;
+    /**
+     * The state to move to once loading has finished.
+     */
+    private State stateAfterLoading = State.MAIN_MENU;
 
     public HeslingtonHustle() {
         // Properties retrieved from command-line to allow enabling of different debug modes to help with development
         debug = System.getProperty("game.debug", "false").equals("true");
         physicsDebug = System.getProperty("game.physicsDebug", "false").equals("true");
+        mapCache = System.getProperty("game.mapCache", "true").equals("true");
+        sensorProximity = System.getProperty("game.sensorProximity", "false").equals("true");
+        tickRate = Integer.parseInt(
+                System.getProperty("game.tickRate", String.valueOf(GameConstants.DEFAULT_TICK_RATE)));
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("game.tickRate must be positive");
+        }
+        recordInput = System.getProperty("game.recordInput");
+        replayInput = System.getProperty("game.replayInput");
     }
 
     /**
@@ -154,14 +293,84 @@ public class HeslingtonHustle extends Game {
         Gdx.app.exit();
     }
 
+    /**
+     * Get the file the game in progress is saved to.
+     *
+     * @return the save file.
+     */
+    public FileHandle getSaveFile() {
+        return UserDirectories.getDataDirectory().child(SAVE_FILE);
+    }
+
+    /**
+     * Check whether there is a game in progress that can be resumed. Games cannot be resumed while input is being
+     * recorded or replayed, as recordings always start from a new game.
+     *
+     * @return whether a save exists and can be resumed.
+     */
+    public boolean hasSave() {
+        return recordInput == null && replayInput == null && getSaveFile().exists();
+    }
+
+    /**
+     * Continue the game in progress from its save, skipping the instruction screen. The save is read straight away,
+     * while any assets still needed load. If the save cannot be read it is deleted and a new game is started instead.
+     *
+     * @throws IllegalStateException if there is no game that {@link #hasSave() can be resumed}.
+     */
+    public void resumeGame() {
+        if (!hasSave()) {
+            throw new IllegalStateException("No game can be resumed");
+        }
+        var file = getSaveFile();
+        try {
+            resumeFrom = SaveGame.read(file);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("HeslingtonHustle", "Failed to resume game, starting a new one", e);
+            file.delete();
+        }
+        setState(State.PLAYING);
+    }
+
+    /**
+     * Check whether the assets needed by a state have finished loading. Menu screens only need the skin, while
+     * playing the game needs every asset, including the tilemap.
+     *
+     * @param state the state to check.
+     * @return whether the game can transition to the state.
+     */
+    public boolean isReady(State state) {
+        switch (state) {
+            case LOADING:
+                return true;
+            case PLAYING:
+                return assetsLoaded;
+            default:
+                return skin != null;
+        }
+    }
+
     /**
      * Set the current game state. Handles switching between the different screens and cleanup between
-     * screen changes.
+     * screen changes. If the assets needed by the state have not finished loading then the loading screen is
+     * shown until they have.
      *
      * @param state the state that the game should transition to.
      */
     public void setState(State state) {
+        if (!isReady(state)) {
+            stateAfterLoading = state;
+            state = State.LOADING;
+        }
+
         switch (state) {
+            case LOADING:
+                if (loading != null) {
+                    loading.dispose();
+                }
+                loading = new Loading(this, stateAfterLoading);
+                this.setScreen(loading);
+                break;
             case MAIN_MENU:
                 if (mainMenu != null) {
                     mainMenu.dispose();
@@ -180,7 +389,8 @@ public class HeslingtonHustle extends Game {
                 if (playing != null) {
                     playing.dispose();
                 }
-                playing = new Playing(this);
+                playing = new Playing(this, resumeFrom);
+                resumeFrom = null;
                 this.setScreen(playing);
                 break;
             case END_SCREEN:
@@ -220,12 +430,21 @@ public class HeslingtonHustle extends Game {
     public void create() {
         Box2D.init();
 
-        skin = new Skin(Gdx.files.internal("skins/default/uiskin.json"));
+        spriteBatch = new SpriteBatch();
 
-        playerTextureAtlas = new TextureAtlas(Gdx.files.internal("sprites/player.txt"));
-        interactionIconsTextureAtlas = new TextureAtlas(Gdx.files.internal("sprites/interaction_icons.txt"));
+        assetManager = new AssetManager();
+        textureLoader = new ParallelTextureLoader(assetManager.getFileHandleResolver());
+        textureLoader.setCache(new PixmapCache(UserDirectories.getCacheDirectory().child("pixmaps")));
+        // Lets the map overdraw culler check which tiles are opaque without decoding the tilesets again
+        textureLoader.setKeepAlphaMasks(true);
+        assetManager.setLoader(Texture.class, textureLoader);
+        assetManager.setLoader(TiledMap.class, new CachedTiledMapLoader(assetManager.getFileHandleResolver()));
 
-        tiledMap = new TmxMapLoader().load("maps/campus-east.tmx");
+        // The white pixel is needed to draw the loading screen, and is small enough to load straight away
+        assetManager.load(WHITE_PIXEL, Texture.class);
+        assetManager.finishLoadingAsset(WHITE_PIXEL);
+        whitePixel = assetManager.get(WHITE_PIXEL, Texture.class);
+        shapeDrawer = new ShapeDrawer(spriteBatch, new TextureRegion(whitePixel, 0, 0, 1, 1));
 
         tooltipFont = new BitmapFont();
         tooltipFont.getData().setScale(0.07f);
@@ -239,24 +458,88 @@ public class HeslingtonHustle extends Game {
         overlayFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
         overlayFont.setColor(Color.WHITE);
 
-        spriteBatch = new SpriteBatch();
-        whitePixel = new Texture(Gdx.files.internal("white_pixel.png"));
-        shapeDrawer = new ShapeDrawer(spriteBatch, new TextureRegion(whitePixel, 0, 0, 1, 1));
+        // Assets are loaded in the order they are queued, so the skin needed by the menus is queued first
+        queue(SKIN, Skin.class, null);
+        queue(PLAYER_ATLAS, TextureAtlas.class, null);
+        queue(INTERACTION_ICONS_ATLAS, TextureAtlas.class, null);
+        queue(BACKGROUND, Texture.class, null);
+        queue(BACKGROUND_ENERGY_MED, Texture.class, null);
+        queue(BACKGROUND_ENERGY_LOW, Texture.class, null);
+
+        // Prefer the map with repacked tilesets generated by the desktop:packMap gradle task if it is available
+        var packedMap = Gdx.files.internal("maps/campus-east-packed.tmx");
+        var mapFile = packedMap.exists() ? packedMap : Gdx.files.internal("maps/campus-east.tmx");
+        var mapParameters = new CachedTiledMapLoader.Parameters();
+        mapParameters.cacheFile =
+                UserDirectories.getCacheDirectory().child("maps/" + mapFile.nameWithoutExtension() + ".bin");
+        mapPath = mapFile.path();
+        queue(mapPath, TiledMap.class, mapParameters);
+
+        setState(State.MAIN_MENU);
+    }
+
+    /**
+     * Queue an asset to be loaded by the asset manager, and start decoding every texture it needs straight away
+     * rather than waiting for the asset manager to reach them.
+     *
+     * @param fileName the asset's file name.
+     * @param type the asset's type.
+     * @param parameter the parameters to load the asset with, or {@code null}.
+     */
+    private <T> void queue(String fileName, Class<T> type, AssetLoaderParameters<T> parameter) {
+        textureLoader.prefetch(assetManager, fileName, type, parameter);
+        assetManager.load(fileName, type, parameter);
+    }
+
+    /**
+     * Continue loading any outstanding assets, for at most {@link #LOADING_BUDGET_MILLIS} per frame. Assets are
+     * picked up as soon as they are available, so the menus can be used while the tilemap is still loading.
+     */
+    private void updateLoading() {
+        if (assetsLoaded) {
+            return;
+        }
+
+        var finished = assetManager.update(LOADING_BUDGET_MILLIS);
+        if (skin == null && assetManager.isLoaded(SKIN)) {
+            skin = assetManager.get(SKIN, Skin.class);
+        }
+        if (!finished) {
+            return;
+        }
+        Gdx.app.log("HeslingtonHustle", textureLoader.getSummary());
+
+        playerTextureAtlas = assetManager.get(PLAYER_ATLAS, TextureAtlas.class);
+        interactionIconsTextureAtlas = assetManager.get(INTERACTION_ICONS_ATLAS, TextureAtlas.class);
+        backgroundTexture = assetManager.get(BACKGROUND, Texture.class);
+        backgroundEnergyMedTexture = assetManager.get(BACKGROUND_ENERGY_MED, Texture.class);
+        backgroundEnergyLowTexture = assetManager.get(BACKGROUND_ENERGY_LOW, Texture.class);
 
-        mainMenu = new MainMenu(this);
+        tiledMap = assetManager.get(mapPath, TiledMap.class);
+        sparseMap = new SparseTiledMap(tiledMap);
+        Gdx.app.log("HeslingtonHustle", MapOverdrawCuller.cull(sparseMap, textureLoader::getAlphaMask).toString());
+        textureLoader.setKeepAlphaMasks(false);
+        if (mapCache) {
+            mapChunkCache = new MapChunkCache(sparseMap, 1 / 32f);
+        }
 
-        this.setScreen(mainMenu);
+        assetsLoaded = true;
     }
 
     @Override
     public void render() {
+        updateLoading();
         super.render();
     }
 
     @Override
     public void dispose() {
-        mainMenu.dispose();
-
+        if (loading != null) {
+            loading.dispose();
+        }
+        if (mainMenu != null) {
+            mainMenu.dispose();
+        }
         if (playing != null) {
             playing.dispose();
         }
@@ -264,15 +547,15 @@ public class HeslingtonHustle extends Game {
             endScreen.dispose();
         }
 
-        skin.dispose();
-
-        playerTextureAtlas.dispose();
-        interactionIconsTextureAtlas.dispose();
-        whitePixel.dispose();
-
-        tiledMap.dispose();
+        if (mapChunkCache != null) {
+            mapChunkCache.dispose();
+        }
+        // Disposes the skin, texture atlases, white pixel, UI backgrounds and tilemap, including any still being loaded
+        assetManager.dispose();
+        textureLoader.dispose();
 
         tooltipFont.dispose();
+        overlayFont.dispose();
         spriteBatch.dispose();
     }
 }
@@ -6,7 +6,8 @@ import io.github.uoyeng1g6.models.GameState;
 
 /**
  * Component allowing an entity to have a dynamic value computation function. Intended
- * for use within overlaid counters backed by scene2d labels.
+ * for use within overlaid counters backed by scene2d labels. The value is only resolved again
+ * when an event has been published by the game state since it was last resolved.
  */
 public class CounterComponent implements Component {
     /**
@@ -19,9 +20,10 @@ public class CounterComponent implements Component {
          * Get the new value for the label's text.
          *
          * @param gameState the current state of the game.
-         * @return the new label's text.
+         * @return the new label's text. May be a reused {@link com.badlogic.gdx.utils.StringBuilder},
+         * as the label copies its contents.
          */
-        String resolveValue(GameState gameState);
+        CharSequence resolveValue(GameState gameState);
     }
 
     /**
@@ -32,6 +34,11 @@ public class CounterComponent implements Component {
      * The resolver to use to get the updated label text.
      */
     public final CounterValueResolver valueResolver;
+    /**
+     * The {@link io.github.uoyeng1g6.events.GameEventBus.Subscription#getNext() position} in the game state's
+     * event stream the label's text was last resolved at, or {@code -1} if it has not been resolved yet.
+     */
+    public long resolvedSequence = -1;
 
     public CounterComponent(Label label, CounterValueResolver valueResolver) {
         this.label = label;
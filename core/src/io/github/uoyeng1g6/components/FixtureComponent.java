@@ -1,6 +1,7 @@
 package io.github.uoyeng1g6.components;
 
 import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Fixture;
 
 /**
@@ -11,8 +12,18 @@ public class FixtureComponent implements Component {
      * The box2d fixture for the entity.
      */
     public final Fixture fixture;
+    /**
+     * The position of the fixture's body before the most recent physics step.
+     */
+    public final Vector2 previousPosition = new Vector2();
+    /**
+     * How far between {@link #previousPosition} and the body's current position the entity should be drawn, from
+     * {@code 0} to {@code 1}. Left at {@code 1}, the entity is drawn at the body's current position.
+     */
+    public float interpolation = 1;
 
     public FixtureComponent(Fixture fixture) {
         this.fixture = fixture;
+        previousPosition.set(fixture.getBody().getPosition());
     }
 }
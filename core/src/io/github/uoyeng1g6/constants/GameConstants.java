@@ -12,6 +12,10 @@ public class GameConstants {
      * The height of the game world in tiles.
      */
     public static final int WORLD_HEIGHT = 72;
+    /**
+     * The number of days the game lasts.
+     */
+    public static final int MAX_DAYS = 7;
     /**
      * The maximum amount of energy available to the player on a single day.
      */
@@ -24,4 +28,8 @@ public class GameConstants {
      * The number of seconds to display the interaction overlay for per hour used by the interaction.
      */
     public static final int OVERLAY_SECONDS_PER_HOUR = 2;
+    /**
+     * The default number of physics steps to simulate per second.
+     */
+    public static final int DEFAULT_TICK_RATE = 60;
 }
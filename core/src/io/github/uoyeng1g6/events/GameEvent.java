@@ -0,0 +1,70 @@
+package io.github.uoyeng1g6.events;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.GameState;
+
+/**
+ * A change to the game state, read from a {@link GameEventBus}. Events are copied into an instance owned by the
+ * reader, which is reused for every event read, so should not be kept once the next event is read.
+ *
+ * <p>Every event carries the days, energy and hours remaining once the change was made, so that readers on other
+ * threads never need to read the game state itself.
+ */
+public class GameEvent {
+    /**
+     * The kinds of change to the game state.
+     */
+    public enum Type {
+        /**
+         * An activity was done, see {@link GameState#doActivity}.
+         */
+        ACTIVITY,
+        /**
+         * The current day ended and a new one started, see {@link GameState#advanceDay()}.
+         */
+        DAY_ENDED,
+        /**
+         * The overlay shown during an interaction finished, see {@link GameState#endInteractionOverlay()}.
+         */
+        OVERLAY_ENDED,
+        /**
+         * The game state's fields were changed directly, see {@link GameState#markChanged()}.
+         */
+        CHANGED
+    }
+
+    /**
+     * The position of the event in the stream, starting from {@code 0} for the first event published.
+     */
+    public long sequence;
+    /**
+     * The kind of change.
+     */
+    public Type type;
+    /**
+     * The type of activity done, or {@code null} if the event is not an {@link Type#ACTIVITY activity}.
+     */
+    public ActivityType activityType;
+    /**
+     * The {@link io.github.uoyeng1g6.models.ActivityRegistry id} of the activity done, or {@code -1} if the event
+     * is not an {@link Type#ACTIVITY activity}.
+     */
+    public int activityId;
+    /**
+     * The number of times the activity was counted, or {@code 0} if the event is not an
+     * {@link Type#ACTIVITY activity}.
+     */
+    public int count;
+    /**
+     * The number of days remaining after the change.
+     */
+    public int daysRemaining;
+    /**
+     * The energy remaining after the change.
+     */
+    public int energyRemaining;
+    /**
+     * The hours remaining after the change.
+     */
+    public int hoursRemaining;
+}
@@ -0,0 +1,323 @@
+package io.github.uoyeng1g6.events;
+
+import com.badlogic.gdx.math.MathUtils;
+import io.github.uoyeng1g6.constants.ActivityType;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stream of {@link GameEvent game events} written by a single thread and read by any number of
+ * {@link Subscription subscriptions}, each of which may be on its own thread. Events are stored in a fixed size ring
+ * of primitive arrays, so neither publishing nor reading allocates and neither takes a lock.
+ *
+ * <p>The publisher never waits for subscriptions. A subscription that falls more than the capacity of the ring
+ * behind skips the events that were overwritten, and counts them as {@link Subscription#getMissed() missed}. Each
+ * slot of the ring has its own sequence number, written after the event and checked both before and after a
+ * subscription copies the event, so an event overwritten while it is being read is detected rather than returned
+ * torn.
+ *
+ * <p>The ring is only allocated once the first subscription is made, so games that nobody is watching, such as
+ * those played by the balance simulation, pay nothing for publishing.
+ */
+public class GameEventBus {
+    /**
+     * The default number of events kept for subscriptions to read.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final GameEvent.Type[] TYPES = GameEvent.Type.values();
+    private static final ActivityType[] ACTIVITY_TYPES = ActivityType.values();
+
+    // Offsets of each field of an event within its slot of the ring
+    private static final int TYPE = 0;
+    private static final int ACTIVITY_TYPE = 1;
+    private static final int ACTIVITY_ID = 2;
+    private static final int COUNT = 3;
+    private static final int DAYS = 4;
+    private static final int ENERGY = 5;
+    private static final int HOURS = 6;
+    /**
+     * The number of ints used by each slot. Kept a power of two so slots are found with a shift.
+     */
+    private static final int STRIDE_SHIFT = 3;
+
+    /**
+     * The storage for the events.
+     */
+    private static final class Ring {
+        final int mask;
+        /**
+         * The fields of each event, {@code 1 << STRIDE_SHIFT} ints per slot.
+         */
+        final int[] fields;
+        /**
+         * The sequence number of the event held in each slot, or {@code -1} while a slot is being written.
+         */
+        final long[] sequences;
+
+        Ring(int capacity) {
+            mask = capacity - 1;
+            fields = new int[capacity << STRIDE_SHIFT];
+            sequences = new long[capacity];
+            Arrays.fill(sequences, -1);
+        }
+    }
+
+    private final int capacity;
+    /**
+     * The ring, or {@code null} until the first subscription is made.
+     */
+    private volatile Ring ring = null;
+    /**
+     * The sequence number the next event will be published with, which is also the number of events published.
+     */
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * Create an event bus keeping the {@link #DEFAULT_CAPACITY default} number of events.
+     */
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an event bus.
+     *
+     * @param capacity the number of events to keep for subscriptions to read. Rounded up to a power of two.
+     */
+    public GameEventBus(int capacity) {
+        this.capacity = MathUtils.nextPowerOfTwo(Math.max(capacity, 2));
+    }
+
+    /**
+     * Publish an event. Must only be called from one thread.
+     *
+     * @param type the kind of change.
+     * @param activityType the type of activity done, or {@code null} if not an activity.
+     * @param activityId the id of the activity done, or {@code -1} if not an activity.
+     * @param count the number of times the activity was counted.
+     * @param daysRemaining the number of days remaining after the change.
+     * @param energyRemaining the energy remaining after the change.
+     * @param hoursRemaining the hours remaining after the change.
+     */
+    public void publish(
+            GameEvent.Type type,
+            ActivityType activityType,
+            int activityId,
+            int count,
+            int daysRemaining,
+            int energyRemaining,
+            int hoursRemaining) {
+        var ring = this.ring;
+        if (ring == null) {
+            return;
+        }
+
+        var sequence = cursor.get();
+        var slot = (int) sequence & ring.mask;
+        var base = slot << STRIDE_SHIFT;
+
+        // Mark the slot as being written before changing any of its fields
+        SEQUENCES.setOpaque(ring.sequences, slot, -1L);
+        VarHandle.storeStoreFence();
+        var fields = ring.fields;
+        fields[base + TYPE] = type.ordinal();
+        fields[base + ACTIVITY_TYPE] = activityType == null ? -1 : activityType.ordinal();
+        fields[base + ACTIVITY_ID] = activityId;
+        fields[base + COUNT] = count;
+        fields[base + DAYS] = daysRemaining;
+        fields[base + ENERGY] = energyRemaining;
+        fields[base + HOURS] = hoursRemaining;
+        SEQUENCES.setRelease(ring.sequences, slot, sequence);
+        cursor.lazySet(sequence + 1);
+    }
+
+    /**
+     * Start reading the events published from now on. The subscription must only be read from one thread at a time.
+     *
+     * @return the new subscription.
+     */
+    public Subscription subscribe() {
+        if (ring == null) {
+            synchronized (this) {
+                if (ring == null) {
+                    ring = new Ring(capacity);
+                }
+            }
+        }
+        return new Subscription(this, ring);
+    }
+
+    /**
+     * Get the number of events kept for subscriptions to read.
+     *
+     * @return the capacity of the ring.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of events published since the first subscription was made.
+     *
+     * @return the number of events published.
+     */
+    public long getPublished() {
+        return cursor.get();
+    }
+
+    /**
+     * Callback given each event drained from a subscription.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Handle an event.
+         *
+         * @param event the event. Reused for the next event, so must not be kept.
+         */
+        void onEvent(GameEvent event);
+    }
+
+    /**
+     * A reader of the events published to a bus, keeping its own position in the stream.
+     */
+    public static final class Subscription {
+        private final GameEventBus bus;
+        private final Ring ring;
+        /**
+         * The event passed to listeners by {@link #drain}.
+         */
+        private final GameEvent event = new GameEvent();
+
+        /**
+         * The sequence number of the next event to read.
+         */
+        private long next;
+        /**
+         * The number of events overwritten before they could be read.
+         */
+        private long missed = 0;
+
+        Subscription(GameEventBus bus, Ring ring) {
+            this.bus = bus;
+            this.ring = ring;
+            next = bus.cursor.get();
+        }
+
+        /**
+         * Read the next event, if one has been published.
+         *
+         * @param out the event to copy the next event into.
+         * @return whether an event was read. If {@code false}, {@code out} is unchanged.
+         */
+        public boolean poll(GameEvent out) {
+            while (true) {
+                var slot = (int) next & ring.mask;
+                var sequence = (long) SEQUENCES.getAcquire(ring.sequences, slot);
+                if (sequence == -1 && bus.cursor.get() - next > ring.mask) {
+                    // Being overwritten by a later event
+                    skipOverwritten();
+                    continue;
+                }
+                if (sequence < next) {
+                    return false;
+                }
+                if (sequence > next) {
+                    skipOverwritten();
+                    continue;
+                }
+
+                var base = slot << STRIDE_SHIFT;
+                var fields = ring.fields;
+                var type = fields[base + TYPE];
+                var activityType = fields[base + ACTIVITY_TYPE];
+                var activityId = fields[base + ACTIVITY_ID];
+                var count = fields[base + COUNT];
+                var days = fields[base + DAYS];
+                var energy = fields[base + ENERGY];
+                var hours = fields[base + HOURS];
+
+                // Only use the fields if the slot was not rewritten while they were read
+                VarHandle.loadLoadFence();
+                if ((long) SEQUENCES.getAcquire(ring.sequences, slot) != next) {
+                    skipOverwritten();
+                    continue;
+                }
+
+                out.sequence = next++;
+                out.type = TYPES[type];
+                out.activityType = activityType < 0 ? null : ACTIVITY_TYPES[activityType];
+                out.activityId = activityId;
+                out.count = count;
+                out.daysRemaining = days;
+                out.energyRemaining = energy;
+                out.hoursRemaining = hours;
+                return true;
+            }
+        }
+
+        /**
+         * Move on to the oldest event that has not been overwritten.
+         */
+        private void skipOverwritten() {
+            // The slot after the newest event may already be being written, so leave it out too
+            var oldest = bus.cursor.get() - ring.mask;
+            if (oldest > next) {
+                missed += oldest - next;
+                next = oldest;
+            }
+        }
+
+        /**
+         * Read every event published so far, passing each to a listener.
+         *
+         * @param listener the listener to give the events to.
+         * @return the number of events read.
+         */
+        public int drain(Listener listener) {
+            var read = 0;
+            while (poll(event)) {
+                listener.onEvent(event);
+                read++;
+            }
+            return read;
+        }
+
+        /**
+         * Skip every event published so far without reading them.
+         *
+         * @return the number of events skipped.
+         */
+        public int skipAll() {
+            var read = 0;
+            while (poll(event)) {
+                read++;
+            }
+            return read;
+        }
+
+        /**
+         * Get the sequence number of the next event to be read. Only increases, so can be compared to tell whether
+         * anything has been read since.
+         *
+         * @return the next sequence number.
+         */
+        public long getNext() {
+            return next;
+        }
+
+        /**
+         * Get the number of events that were overwritten before they could be read.
+         *
+         * @return the number of missed events.
+         */
+        public long getMissed() {
+            return missed;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Package containing the stream of events published as the game state changes, which the HUD and other observers
+ * read instead of polling the game state.
+ */
+package io.github.uoyeng1g6.events;
@@ -0,0 +1,385 @@
+package io.github.uoyeng1g6.map;
+
+import static io.github.uoyeng1g6.map.BinaryMapWriter.FLIP_HORIZONTALLY;
+import static io.github.uoyeng1g6.map.BinaryMapWriter.FLIP_VERTICALLY;
+import static io.github.uoyeng1g6.map.BinaryMapWriter.ID_MASK;
+import static io.github.uoyeng1g6.map.BinaryMapWriter.MAGIC;
+import static io.github.uoyeng1g6.map.BinaryMapWriter.ROTATION_SHIFT;
+import static io.github.uoyeng1g6.map.BinaryMapWriter.VERSION;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.ImageResolver;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads maps from the compiled binary format written by {@link BinaryMapWriter}. The file is memory mapped and the
+ * layer data is copied straight into int arrays, so none of the XML or base64 decoding done by
+ * {@link TmxMapLoader} is needed.
+ */
+public final class BinaryMapLoader {
+    private BinaryMapLoader() {}
+
+    /**
+     * Load a map, using the binary cache if it is newer than all of the map's source files. Otherwise the map is
+     * loaded from its TMX file with {@link TmxMapLoader}, and the cache is rewritten for next time.
+     *
+     * @param tmxFile the internal TMX file to load.
+     * @param cacheFile the binary cache of the map. Does not need to exist.
+     * @return the loaded map.
+     */
+    public static TiledMap load(FileHandle tmxFile, FileHandle cacheFile) {
+        if (isUpToDate(cacheFile)) {
+            try {
+                return read(cacheFile);
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("BinaryMapLoader", "Failed to read binary map, falling back to TMX", e);
+            }
+        }
+
+        var tiledMap = new TmxMapLoader().load(tmxFile.path());
+        if (BinaryMapWriter.isSupported(tiledMap)) {
+            try {
+                BinaryMapWriter.write(tiledMap, tmxFile, cacheFile);
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("BinaryMapLoader", "Failed to write binary map", e);
+            }
+        }
+        return tiledMap;
+    }
+
+    /**
+     * Check whether a binary map exists, was written by the current version of the format, and is newer than all
+     * of the files it was built from. Only the header is read, with a stream rather than a mapping, so that the file
+     * is not left mapped if it has to be rewritten, which would stop it being replaced on Windows.
+     *
+     * @param cacheFile the binary map to check.
+     * @return whether the binary map can be used.
+     */
+    public static boolean isUpToDate(FileHandle cacheFile) {
+        if (!cacheFile.exists() || cacheFile.isDirectory()) {
+            return false;
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(cacheFile.read()))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return false;
+            }
+
+            var cacheModified = cacheFile.lastModified();
+            var sourceCount = in.readInt();
+            for (int i = 0; i < sourceCount; i++) {
+                var pathLength = in.readInt();
+                if (pathLength < 0 || pathLength > cacheFile.length()) {
+                    return false;
+                }
+                var path = new byte[pathLength];
+                in.readFully(path);
+                var source = Gdx.files.getFileHandle(
+                        new String(path, StandardCharsets.UTF_8), Files.FileType.values()[in.readByte()]);
+                var length = in.readLong();
+                in.readLong();
+                if (!source.exists() || source.length() != length || source.lastModified() > cacheModified) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | GdxRuntimeException | IndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read a binary map, loading the textures used by its tilesets. Must be called on the rendering thread.
+     *
+     * @param cacheFile the binary map to read.
+     * @return the loaded map, which owns its textures.
+     * @throws GdxRuntimeException if the file is not a valid binary map.
+     */
+    public static TiledMap read(FileHandle cacheFile) {
+        return read(cacheFile, null);
+    }
+
+    /**
+     * Read a binary map. Textures that have already been loaded can be supplied through an image resolver, keyed
+     * by the path of the texture file as with {@link TmxMapLoader}, in which case the map does not own them.
+     *
+     * @param cacheFile the binary map to read.
+     * @param imageResolver the resolver to get tileset textures from, or {@code null} to load them from file.
+     * @return the loaded map.
+     * @throws GdxRuntimeException if the file is not a valid binary map.
+     */
+    public static TiledMap read(FileHandle cacheFile, ImageResolver imageResolver) {
+        var buffer = openBody(cacheFile);
+        var tiledMap = new TiledMap();
+        var textures = new Array<Texture>();
+        var ownedTextures = new Array<Texture>();
+        try {
+            readProperties(buffer, tiledMap.getProperties());
+
+            var textureCount = buffer.getInt();
+            for (int i = 0; i < textureCount; i++) {
+                var file = readFile(buffer);
+                var useMipMaps = buffer.get() != 0;
+                var minFilter = getFilter(buffer.getInt());
+                var magFilter = getFilter(buffer.getInt());
+
+                if (imageResolver != null) {
+                    textures.add(imageResolver.getImage(file.path()).getTexture());
+                    continue;
+                }
+                var texture = new Texture(file, useMipMaps);
+                ownedTextures.add(texture);
+                texture.setFilter(minFilter, magFilter);
+                textures.add(texture);
+            }
+
+            var tileSetCount = buffer.getInt();
+            for (int i = 0; i < tileSetCount; i++) {
+                tiledMap.getTileSets().addTileSet(readTileSet(buffer, textures));
+            }
+
+            var layerCount = buffer.getInt();
+            for (int i = 0; i < layerCount; i++) {
+                tiledMap.getLayers().add(readLayer(buffer, tiledMap));
+            }
+        } catch (RuntimeException e) {
+            for (var texture : ownedTextures) {
+                texture.dispose();
+            }
+            throw e instanceof GdxRuntimeException
+                    ? (GdxRuntimeException) e
+                    : new GdxRuntimeException("Invalid binary map: " + cacheFile, e);
+        }
+
+        tiledMap.setOwnedResources(ownedTextures);
+        return tiledMap;
+    }
+
+    /**
+     * Get the textures used by the tilesets of a binary map, so they can be loaded by an asset manager before the
+     * map itself is read.
+     *
+     * @param cacheFile the binary map.
+     * @return a descriptor for each texture, with the same parameters as were used when the map was written.
+     * @throws GdxRuntimeException if the file is not a valid binary map.
+     */
+    @SuppressWarnings("rawtypes")
+    static Array<AssetDescriptor> getTextureDescriptors(FileHandle cacheFile) {
+        var buffer = openBody(cacheFile);
+        readProperties(buffer, new MapProperties());
+
+        var descriptors = new Array<AssetDescriptor>();
+        var textureCount = buffer.getInt();
+        for (int i = 0; i < textureCount; i++) {
+            var file = readFile(buffer);
+            var parameter = new TextureLoader.TextureParameter();
+            parameter.genMipMaps = buffer.get() != 0;
+            parameter.minFilter = getFilter(buffer.getInt());
+            parameter.magFilter = getFilter(buffer.getInt());
+            descriptors.add(new AssetDescriptor<>(file, Texture.class, parameter));
+        }
+        return descriptors;
+    }
+
+    /**
+     * Map a binary map and skip over its header.
+     */
+    private static ByteBuffer openBody(FileHandle cacheFile) {
+        var buffer = map(cacheFile);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new GdxRuntimeException("Not a binary map: " + cacheFile);
+        }
+
+        var sourceCount = buffer.getInt();
+        for (int i = 0; i < sourceCount; i++) {
+            readString(buffer);
+            buffer.get();
+            buffer.getLong();
+            buffer.getLong();
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer map(FileHandle file) {
+        // FileHandle.map uses the native byte order, but the file is always written big endian
+        return file.map().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private static TiledMapTileSet readTileSet(ByteBuffer buffer, Array<Texture> textures) {
+        var tileSet = new TiledMapTileSet();
+        tileSet.setName(readString(buffer));
+        readProperties(buffer, tileSet.getProperties());
+
+        var mode = buffer.get();
+        if (mode == BinaryMapWriter.TILESET_GRID) {
+            var firstId = buffer.getInt();
+            var tileCount = buffer.getInt();
+            var texture = textures.get(buffer.getInt());
+            var x = buffer.getInt();
+            var y = buffer.getInt();
+            var width = buffer.getInt();
+            var height = buffer.getInt();
+            var columns = buffer.getInt();
+            var strideX = buffer.getInt();
+            var strideY = buffer.getInt();
+            var offsetX = buffer.getFloat();
+            var offsetY = buffer.getFloat();
+
+            for (int i = 0; i < tileCount; i++) {
+                var region = new TextureRegion(
+                        texture, x + (i % columns) * strideX, y + (i / columns) * strideY, width, height);
+                var tile = new StaticTiledMapTile(region);
+                tile.setId(firstId + i);
+                tile.setOffsetX(offsetX);
+                tile.setOffsetY(offsetY);
+                tileSet.putTile(firstId + i, tile);
+            }
+
+            var propertyCount = buffer.getInt();
+            for (int i = 0; i < propertyCount; i++) {
+                readProperties(buffer, tileSet.getTile(buffer.getInt()).getProperties());
+            }
+            return tileSet;
+        }
+        if (mode != BinaryMapWriter.TILESET_LIST) {
+            throw new GdxRuntimeException("Unknown tileset type " + mode);
+        }
+
+        var tileCount = buffer.getInt();
+        for (int i = 0; i < tileCount; i++) {
+            var id = buffer.getInt();
+            var texture = textures.get(buffer.getInt());
+            var region = new TextureRegion(texture, buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+
+            var tile = new StaticTiledMapTile(region);
+            tile.setId(id);
+            tile.setOffsetX(buffer.getFloat());
+            tile.setOffsetY(buffer.getFloat());
+            readProperties(buffer, tile.getProperties());
+            tileSet.putTile(id, tile);
+        }
+        return tileSet;
+    }
+
+    private static TiledMapTileLayer readLayer(ByteBuffer buffer, TiledMap tiledMap) {
+        var name = readString(buffer);
+        var visible = buffer.get() != 0;
+        var opacity = buffer.getFloat();
+        var offsetX = buffer.getFloat();
+        var offsetY = buffer.getFloat();
+        var parallaxX = buffer.getFloat();
+        var parallaxY = buffer.getFloat();
+        var properties = new MapProperties();
+        readProperties(buffer, properties);
+
+        var width = buffer.getInt();
+        var height = buffer.getInt();
+        var layer = new TiledMapTileLayer(width, height, buffer.getInt(), buffer.getInt());
+        layer.setName(name);
+        layer.setVisible(visible);
+        layer.setOpacity(opacity);
+        layer.setOffsetX(offsetX);
+        layer.setOffsetY(offsetY);
+        layer.setParallaxX(parallaxX);
+        layer.setParallaxY(parallaxY);
+        layer.getProperties().putAll(properties);
+
+        var cells = new int[width * height];
+        buffer.asIntBuffer().get(cells);
+        buffer.position(buffer.position() + cells.length * Integer.BYTES);
+
+        var tileSets = tiledMap.getTileSets();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                var value = cells[y * width + x];
+                if (value == 0) {
+                    continue;
+                }
+
+                var tile = tileSets.getTile(value & ID_MASK);
+                if (tile == null) {
+                    throw new GdxRuntimeException("Unknown tile id " + (value & ID_MASK) + " in layer " + name);
+                }
+                var cell = new TiledMapTileLayer.Cell();
+                cell.setTile(tile);
+                cell.setFlipHorizontally((value & FLIP_HORIZONTALLY) != 0);
+                cell.setFlipVertically((value & FLIP_VERTICALLY) != 0);
+                cell.setRotation((value >>> ROTATION_SHIFT) & 3);
+                layer.setCell(x, y, cell);
+            }
+        }
+        return layer;
+    }
+
+    private static void readProperties(ByteBuffer buffer, MapProperties properties) {
+        var count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            var key = readString(buffer);
+            var type = buffer.get();
+            switch (type) {
+                case BinaryMapWriter.PROPERTY_STRING:
+                    properties.put(key, readString(buffer));
+                    break;
+                case BinaryMapWriter.PROPERTY_INT:
+                    properties.put(key, buffer.getInt());
+                    break;
+                case BinaryMapWriter.PROPERTY_FLOAT:
+                    properties.put(key, buffer.getFloat());
+                    break;
+                case BinaryMapWriter.PROPERTY_BOOLEAN:
+                    properties.put(key, buffer.get() != 0);
+                    break;
+                case BinaryMapWriter.PROPERTY_COLOR:
+                    properties.put(key, new Color(buffer.getInt()));
+                    break;
+                default:
+                    throw new GdxRuntimeException("Unknown property type " + type + " for property " + key);
+            }
+        }
+    }
+
+    private static FileHandle readFile(ByteBuffer buffer) {
+        var path = readString(buffer);
+        var type = Files.FileType.values()[buffer.get()];
+        return Gdx.files.getFileHandle(path, type);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Texture.TextureFilter getFilter(int glEnum) {
+        for (var filter : Texture.TextureFilter.values()) {
+            if (filter.getGLEnum() == glEnum) {
+                return filter;
+            }
+        }
+        throw new GdxRuntimeException("Unknown texture filter " + glEnum);
+    }
+}
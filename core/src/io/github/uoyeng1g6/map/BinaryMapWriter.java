@@ -0,0 +1,410 @@
+package io.github.uoyeng1g6.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a loaded {@link TiledMap} to the compiled binary format read by {@link BinaryMapLoader}.
+ *
+ * <p>All values are big endian. The file starts with a header containing {@link #MAGIC}, {@link #VERSION} and the
+ * path, size and modification time of every source file the map was built from, followed by the map properties,
+ * the textures used by the tilesets, the tilesets with either the layout of the grid their tiles were cut from
+ * or the region of every tile, along with any tile properties, and finally each
+ * tile layer with its cells stored as a flat array of ints. Each cell holds its tile id in the low bits and its
+ * flip and rotation in the top four bits, see {@link #encodeCell(TiledMapTileLayer.Cell)}.
+ *
+ * <p>Only orthogonal maps made of tile layers and static tiles from single image tilesets are supported, which
+ * covers everything the game uses.
+ */
+public final class BinaryMapWriter {
+    static final int MAGIC = 0x48484d50; // "HHMP"
+    static final int VERSION = 1;
+
+    static final byte PROPERTY_STRING = 0;
+    static final byte PROPERTY_INT = 1;
+    static final byte PROPERTY_FLOAT = 2;
+    static final byte PROPERTY_BOOLEAN = 3;
+    static final byte PROPERTY_COLOR = 4;
+
+    static final byte TILESET_GRID = 0;
+    static final byte TILESET_LIST = 1;
+
+    static final int FLIP_HORIZONTALLY = 0x80000000;
+    static final int FLIP_VERTICALLY = 0x40000000;
+    static final int ROTATION_SHIFT = 28;
+    static final int ID_MASK = 0x0FFFFFFF;
+
+    private BinaryMapWriter() {}
+
+    /**
+     * Check whether a map can be stored in the binary format.
+     *
+     * @param tiledMap the map to check.
+     * @return whether the map only uses supported features.
+     */
+    public static boolean isSupported(TiledMap tiledMap) {
+        if (!isSupported(tiledMap.getProperties())) {
+            return false;
+        }
+        for (var layer : tiledMap.getLayers()) {
+            if (!(layer instanceof TiledMapTileLayer) || !isSupported(layer.getProperties())) {
+                return false;
+            }
+        }
+        for (var tileSet : tiledMap.getTileSets()) {
+            if (!isSupported(tileSet.getProperties())) {
+                return false;
+            }
+            for (var tile : tileSet) {
+                if (!(tile instanceof StaticTiledMapTile)
+                        || !(tile.getTextureRegion().getTexture().getTextureData() instanceof FileTextureData)
+                        || !isSupported(tile.getProperties())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupported(MapProperties properties) {
+        var values = properties.getValues();
+        while (values.hasNext()) {
+            var value = values.next();
+            if (!(value instanceof String
+                    || value instanceof Integer
+                    || value instanceof Float
+                    || value instanceof Boolean
+                    || value instanceof Color)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write a map loaded from a TMX file to the binary format.
+     *
+     * @param tiledMap the map, as loaded by {@link com.badlogic.gdx.maps.tiled.TmxMapLoader}.
+     * @param tmxFile the TMX file the map was loaded from.
+     * @param target the file to write to.
+     * @throws GdxRuntimeException if the map is not supported or the file could not be written.
+     */
+    public static void write(TiledMap tiledMap, FileHandle tmxFile, FileHandle target) {
+        if (!isSupported(tiledMap)) {
+            throw new GdxRuntimeException("Map uses features not supported by the binary format: " + tmxFile);
+        }
+
+        var bytes = new ByteArrayOutputStream(64 * 1024);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            var sources = getSourceFiles(tiledMap, tmxFile);
+            out.writeInt(sources.size);
+            for (var source : sources) {
+                writeString(out, source.path());
+                out.writeByte(source.type().ordinal());
+                out.writeLong(source.length());
+                out.writeLong(source.lastModified());
+            }
+
+            writeProperties(out, tiledMap.getProperties());
+
+            var textures = new Array<Texture>();
+            var textureIndices = new ObjectMap<Texture, Integer>();
+            for (var tileSet : tiledMap.getTileSets()) {
+                for (var tile : tileSet) {
+                    var texture = tile.getTextureRegion().getTexture();
+                    if (!textureIndices.containsKey(texture)) {
+                        textureIndices.put(texture, textures.size);
+                        textures.add(texture);
+                    }
+                }
+            }
+            out.writeInt(textures.size);
+            for (var texture : textures) {
+                var data = (FileTextureData) texture.getTextureData();
+                writeString(out, data.getFileHandle().path());
+                out.writeByte(data.getFileHandle().type().ordinal());
+                out.writeBoolean(data.useMipMaps());
+                out.writeInt(texture.getMinFilter().getGLEnum());
+                out.writeInt(texture.getMagFilter().getGLEnum());
+            }
+
+            var tileSets = new Array<TiledMapTileSet>();
+            for (var tileSet : tiledMap.getTileSets()) {
+                tileSets.add(tileSet);
+            }
+            out.writeInt(tileSets.size);
+            for (var tileSet : tileSets) {
+                writeTileSet(out, tileSet, textureIndices);
+            }
+
+            out.writeInt(tiledMap.getLayers().size());
+            for (var mapLayer : tiledMap.getLayers()) {
+                writeLayer(out, (TiledMapTileLayer) mapLayer);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to write binary map: " + target, e);
+        }
+
+        // Write to a temporary file first so a partially written file is never picked up as a valid cache
+        var temp = target.sibling(target.name() + ".tmp");
+        temp.writeBytes(bytes.toByteArray(), false);
+        temp.moveTo(target);
+    }
+
+    /**
+     * Get every file the map was built from, so that the binary map can be rebuilt when any of them change.
+     */
+    private static Array<FileHandle> getSourceFiles(TiledMap tiledMap, FileHandle tmxFile) {
+        var sources = new Array<FileHandle>();
+        sources.add(tmxFile);
+
+        for (var tileSet : new XmlReader().parse(tmxFile).getChildrenByName("tileset")) {
+            var source = tileSet.getAttribute("source", null);
+            if (source != null) {
+                sources.add(tmxFile.parent().child(source));
+            }
+        }
+
+        for (var tileSet : tiledMap.getTileSets()) {
+            for (var tile : tileSet) {
+                var file = ((FileTextureData) tile.getTextureRegion().getTexture().getTextureData()).getFileHandle();
+                var seen = false;
+                for (var source : sources) {
+                    seen |= source.path().equals(file.path());
+                }
+                if (!seen) {
+                    sources.add(file);
+                }
+            }
+        }
+        return sources;
+    }
+
+    private static void writeTileSet(
+            DataOutputStream out, TiledMapTileSet tileSet, ObjectMap<Texture, Integer> textureIndices)
+            throws IOException {
+        writeString(out, tileSet.getName());
+        writeProperties(out, tileSet.getProperties());
+
+        // Store tiles in id order, re-inserting them in the hash order of the tileset's map causes heavy collisions
+        var ids = new IntArray(tileSet.size());
+        for (var tile : tileSet) {
+            ids.add(tile.getId());
+        }
+        ids.sort();
+
+        if (isGrid(tileSet, ids)) {
+            // Tiles cut from a single image in a regular grid can be rebuilt from the layout of the grid alone
+            var first = tileSet.getTile(ids.first());
+            var region = first.getTextureRegion();
+            var columns = getColumns(tileSet, ids);
+            out.writeByte(TILESET_GRID);
+            out.writeInt(ids.first());
+            out.writeInt(ids.size);
+            out.writeInt(textureIndices.get(region.getTexture()));
+            out.writeInt(region.getRegionX());
+            out.writeInt(region.getRegionY());
+            out.writeInt(region.getRegionWidth());
+            out.writeInt(region.getRegionHeight());
+            out.writeInt(columns);
+            out.writeInt(getStrideX(tileSet, ids));
+            out.writeInt(getStrideY(tileSet, ids, columns));
+            out.writeFloat(first.getOffsetX());
+            out.writeFloat(first.getOffsetY());
+
+            var withProperties = new IntArray();
+            for (int i = 0; i < ids.size; i++) {
+                if (tileSet.getTile(ids.get(i)).getProperties().getKeys().hasNext()) {
+                    withProperties.add(ids.get(i));
+                }
+            }
+            out.writeInt(withProperties.size);
+            for (int i = 0; i < withProperties.size; i++) {
+                out.writeInt(withProperties.get(i));
+                writeProperties(out, tileSet.getTile(withProperties.get(i)).getProperties());
+            }
+            return;
+        }
+
+        out.writeByte(TILESET_LIST);
+        out.writeInt(ids.size);
+        for (int i = 0; i < ids.size; i++) {
+            var tile = tileSet.getTile(ids.get(i));
+            var region = tile.getTextureRegion();
+            out.writeInt(tile.getId());
+            out.writeInt(textureIndices.get(region.getTexture()));
+            out.writeInt(region.getRegionX());
+            out.writeInt(region.getRegionY());
+            out.writeInt(region.getRegionWidth());
+            out.writeInt(region.getRegionHeight());
+            out.writeFloat(tile.getOffsetX());
+            out.writeFloat(tile.getOffsetY());
+            writeProperties(out, tile.getProperties());
+        }
+    }
+
+    /**
+     * Check whether the tiles of a tileset have consecutive ids, and were cut in order from a regular grid over a
+     * single texture with the same offset for every tile.
+     */
+    private static boolean isGrid(TiledMapTileSet tileSet, IntArray ids) {
+        if (ids.isEmpty()) {
+            return false;
+        }
+
+        var first = tileSet.getTile(ids.first());
+        var firstRegion = first.getTextureRegion();
+        var columns = getColumns(tileSet, ids);
+        var strideX = getStrideX(tileSet, ids);
+        var strideY = getStrideY(tileSet, ids, columns);
+        for (int i = 0; i < ids.size; i++) {
+            var tile = tileSet.getTile(ids.get(i));
+            var region = tile.getTextureRegion();
+            if (ids.get(i) != ids.first() + i
+                    || region.getTexture() != firstRegion.getTexture()
+                    || tile.getOffsetX() != first.getOffsetX()
+                    || tile.getOffsetY() != first.getOffsetY()
+                    || region.getRegionWidth() != firstRegion.getRegionWidth()
+                    || region.getRegionHeight() != firstRegion.getRegionHeight()
+                    || region.getRegionX() != firstRegion.getRegionX() + (i % columns) * strideX
+                    || region.getRegionY() != firstRegion.getRegionY() + (i / columns) * strideY) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of tiles in the first row of a grid tileset.
+     */
+    private static int getColumns(TiledMapTileSet tileSet, IntArray ids) {
+        var y = tileSet.getTile(ids.first()).getTextureRegion().getRegionY();
+        var columns = 1;
+        while (columns < ids.size
+                && tileSet.getTile(ids.get(columns)).getTextureRegion().getRegionY() == y) {
+            columns++;
+        }
+        return columns;
+    }
+
+    private static int getStrideX(TiledMapTileSet tileSet, IntArray ids) {
+        var first = tileSet.getTile(ids.first()).getTextureRegion();
+        return ids.size > 1
+                ? tileSet.getTile(ids.get(1)).getTextureRegion().getRegionX() - first.getRegionX()
+                : first.getRegionWidth();
+    }
+
+    private static int getStrideY(TiledMapTileSet tileSet, IntArray ids, int columns) {
+        var first = tileSet.getTile(ids.first()).getTextureRegion();
+        return ids.size > columns
+                ? tileSet.getTile(ids.get(columns)).getTextureRegion().getRegionY() - first.getRegionY()
+                : first.getRegionHeight();
+    }
+
+    private static void writeLayer(DataOutputStream out, TiledMapTileLayer layer) throws IOException {
+        writeString(out, layer.getName());
+        out.writeBoolean(layer.isVisible());
+        out.writeFloat(layer.getOpacity());
+        out.writeFloat(layer.getOffsetX());
+        out.writeFloat(layer.getOffsetY());
+        out.writeFloat(layer.getParallaxX());
+        out.writeFloat(layer.getParallaxY());
+        writeProperties(out, layer.getProperties());
+
+        out.writeInt(layer.getWidth());
+        out.writeInt(layer.getHeight());
+        out.writeInt(layer.getTileWidth());
+        out.writeInt(layer.getTileHeight());
+        for (int y = 0; y < layer.getHeight(); y++) {
+            for (int x = 0; x < layer.getWidth(); x++) {
+                out.writeInt(encodeCell(layer.getCell(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Pack a cell into a single int. The id of the cell's tile is stored in the low 28 bits, followed by the
+     * rotation in the next two bits and the horizontal and vertical flip flags in the top two bits. Empty cells
+     * are stored as {@code 0}.
+     *
+     * @param cell the cell to pack, or {@code null}.
+     * @return the packed cell.
+     */
+    static int encodeCell(TiledMapTileLayer.Cell cell) {
+        if (cell == null || cell.getTile() == null) {
+            return 0;
+        }
+
+        var value = cell.getTile().getId() & ID_MASK;
+        value |= cell.getRotation() << ROTATION_SHIFT;
+        if (cell.getFlipHorizontally()) {
+            value |= FLIP_HORIZONTALLY;
+        }
+        if (cell.getFlipVertically()) {
+            value |= FLIP_VERTICALLY;
+        }
+        return value;
+    }
+
+    private static void writeProperties(DataOutputStream out, MapProperties properties) throws IOException {
+        var count = 0;
+        var keys = properties.getKeys();
+        while (keys.hasNext()) {
+            keys.next();
+            count++;
+        }
+        out.writeInt(count);
+
+        keys = properties.getKeys();
+        while (keys.hasNext()) {
+            var key = keys.next();
+            var value = properties.get(key);
+            writeString(out, key);
+            if (value instanceof String) {
+                out.writeByte(PROPERTY_STRING);
+                writeString(out, (String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(PROPERTY_INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Float) {
+                out.writeByte(PROPERTY_FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(PROPERTY_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else {
+                out.writeByte(PROPERTY_COLOR);
+                out.writeInt(Color.rgba8888((Color) value));
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.uoyeng1g6.map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.ImageResolver;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * {@link AssetManager} loader for TMX maps that goes through the binary map cache. If the cache is up to date the
+ * map is read from it with {@link BinaryMapLoader}, otherwise it is loaded by a {@link TmxMapLoader} and the cache is
+ * rewritten. Either way the tileset textures are loaded as dependencies by the asset manager, so they are decoded
+ * off the rendering thread.
+ */
+public class CachedTiledMapLoader extends AsynchronousAssetLoader<TiledMap, CachedTiledMapLoader.Parameters> {
+    /**
+     * Parameters for loading a map through the cache.
+     */
+    public static class Parameters extends TmxMapLoader.Parameters {
+        /**
+         * The binary cache of the map. If {@code null} the map is always loaded from TMX.
+         */
+        public FileHandle cacheFile;
+    }
+
+    /**
+     * Loader used when the cache cannot be used.
+     */
+    private final TmxMapLoader tmxLoader;
+
+    /**
+     * Whether the map currently being loaded is read from the cache.
+     */
+    private boolean fromCache;
+    /**
+     * The map read from the cache in {@link #loadAsync}. {@code null} if the cache could not be read.
+     */
+    private TiledMap map;
+
+    public CachedTiledMapLoader(FileHandleResolver resolver) {
+        super(resolver);
+        tmxLoader = new TmxMapLoader(resolver);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+        fromCache = parameter != null
+                && parameter.cacheFile != null
+                && BinaryMapLoader.isUpToDate(parameter.cacheFile);
+        if (fromCache) {
+            return BinaryMapLoader.getTextureDescriptors(parameter.cacheFile);
+        }
+        return tmxLoader.getDependencies(fileName, file, parameter);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        if (!fromCache) {
+            tmxLoader.loadAsync(manager, fileName, file, parameter);
+            return;
+        }
+
+        try {
+            map = BinaryMapLoader.read(parameter.cacheFile, new ImageResolver.AssetManagerImageResolver(manager));
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("CachedTiledMapLoader", "Failed to read binary map, falling back to TMX", e);
+            map = null;
+        }
+    }
+
+    @Override
+    public TiledMap loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+        if (fromCache) {
+            var result = map;
+            map = null;
+            // The textures loaded as dependencies came from the cache, so the map has to load its own
+            return result != null ? result : tmxLoader.load(fileName, parameter);
+        }
+
+        var result = tmxLoader.loadSync(manager, fileName, file, parameter);
+        if (parameter != null && parameter.cacheFile != null && BinaryMapWriter.isSupported(result)) {
+            try {
+                BinaryMapWriter.write(result, file, parameter.cacheFile);
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("CachedTiledMapLoader", "Failed to write binary map", e);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.uoyeng1g6.map;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/**
+ * Pre-rendered cache of a static tilemap. The map is split into square chunks of cells, and every layer
+ * of each chunk is drawn once into its own framebuffer when the cache is created. Drawing the map each frame
+ * then only requires drawing a single texture for each chunk that overlaps the camera, instead of every cell
+ * of every layer.
+ */
+public class MapChunkCache implements Disposable {
+    /**
+     * The default width and height of a chunk, in cells.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /**
+     * A single pre-rendered chunk of the map.
+     */
+    static class Chunk {
+        /**
+         * The framebuffer holding the rendered chunk.
+         */
+        final FrameBuffer frameBuffer;
+        /**
+         * The region of the framebuffer texture to draw. Flipped vertically as framebuffer textures are
+         * stored upside down.
+         */
+        final TextureRegion region;
+        /**
+         * The area covered by the chunk, in world units.
+         */
+        final Rectangle bounds;
+
+        Chunk(FrameBuffer frameBuffer, Rectangle bounds) {
+            this.frameBuffer = frameBuffer;
+            this.bounds = bounds;
+
+            var texture = frameBuffer.getColorBufferTexture();
+            // Match the filtering used for the tileset textures so the map looks the same as when drawn per cell
+            texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+            this.region = new TextureRegion(texture);
+            this.region.flip(false, true);
+        }
+    }
+
+    /**
+     * The pre-rendered chunks making up the map.
+     */
+    private final Array<Chunk> chunks = new Array<>();
+    /**
+     * The area of the world currently visible to the camera. Reused between frames.
+     */
+    private final Rectangle view = new Rectangle();
+
+    public MapChunkCache(SparseTiledMap map, float unitScale) {
+        this(map, unitScale, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Render every layer of the given map into chunks. Must be called on the rendering thread.
+     *
+     * @param map the map to cache.
+     * @param unitScale the number of world units per pixel of the map.
+     * @param chunkSize the width and height of each chunk, in cells.
+     */
+    public MapChunkCache(SparseTiledMap map, float unitScale, int chunkSize) {
+        int mapWidth = map.width;
+        int mapHeight = map.height;
+        int tileWidth = map.tileWidth;
+        int tileHeight = map.tileHeight;
+
+        // A unit scale of 1 means the renderer works in pixels, matching the framebuffer size
+        var renderer = new SparseMapRenderer(map, 1);
+        var batch = new SpriteBatch();
+        // Accumulate alpha correctly so that the chunk textures contain premultiplied colour, otherwise
+        // partially transparent tiles drawn over empty cells would be darkened when the chunk is drawn
+        batch.setBlendFunctionSeparate(
+                GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        var projection = new Matrix4();
+
+        for (int chunkY = 0; chunkY < mapHeight; chunkY += chunkSize) {
+            for (int chunkX = 0; chunkX < mapWidth; chunkX += chunkSize) {
+                int cellsWide = Math.min(chunkSize, mapWidth - chunkX);
+                int cellsHigh = Math.min(chunkSize, mapHeight - chunkY);
+
+                float x = chunkX * tileWidth;
+                float y = chunkY * tileHeight;
+                int pixelWidth = cellsWide * tileWidth;
+                int pixelHeight = cellsHigh * tileHeight;
+
+                var frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, pixelWidth, pixelHeight, false);
+                projection.setToOrtho2D(x, y, pixelWidth, pixelHeight);
+                batch.setProjectionMatrix(projection);
+                renderer.setView(x, y, pixelWidth, pixelHeight);
+
+                frameBuffer.begin();
+                ScreenUtils.clear(0, 0, 0, 0);
+                batch.begin();
+                renderer.render(batch);
+                batch.end();
+                frameBuffer.end();
+
+                chunks.add(new Chunk(
+                        frameBuffer,
+                        new Rectangle(x * unitScale, y * unitScale, pixelWidth * unitScale, pixelHeight * unitScale)));
+            }
+        }
+
+        batch.dispose();
+    }
+
+    /**
+     * Get the number of chunks the map was split into.
+     *
+     * @return the number of chunks.
+     */
+    public int getChunkCount() {
+        return chunks.size;
+    }
+
+    /**
+     * Draw all chunks that are visible to the given camera. The batch must already have been started.
+     *
+     * @param batch the batch to draw the chunks with.
+     * @param camera the camera the map is being viewed through.
+     */
+    public void render(Batch batch, OrthographicCamera camera) {
+        var width = camera.viewportWidth * camera.zoom;
+        var height = camera.viewportHeight * camera.zoom;
+        view.set(camera.position.x - (width / 2), camera.position.y - (height / 2), width, height);
+
+        int srcFunc = batch.getBlendSrcFunc();
+        int dstFunc = batch.getBlendDstFunc();
+        // The chunk textures contain premultiplied colour, see the constructor
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        for (var chunk : chunks) {
+            if (!view.overlaps(chunk.bounds)) {
+                continue;
+            }
+
+            batch.draw(chunk.region, chunk.bounds.x, chunk.bounds.y, chunk.bounds.width, chunk.bounds.height);
+        }
+
+        batch.setBlendFunction(srcFunc, dstFunc);
+    }
+
+    @Override
+    public void dispose() {
+        for (var chunk : chunks) {
+            chunk.frameBuffer.dispose();
+        }
+        chunks.clear();
+    }
+}
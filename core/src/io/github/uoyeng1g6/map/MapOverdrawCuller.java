@@ -0,0 +1,272 @@
+package io.github.uoyeng1g6.map;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.uoyeng1g6.utils.AlphaMask;
+import java.util.function.Function;
+
+/**
+ * Load time pass that removes overdraw from a {@link SparseTiledMap}. Cells that are completely hidden under a
+ * fully opaque tile in a higher layer are removed, as drawing them would only fill pixels that are immediately
+ * drawn over. Adjacent layers that are drawn the same way are then collapsed into a single layer.
+ *
+ * <p>The opacity of each tile is read from {@link AlphaMask alpha masks} of the tileset images, recorded when they
+ * were decoded, as by then the images have been uploaded to textures and freed.
+ */
+public final class MapOverdrawCuller {
+    /**
+     * Summary of the work saved by culling a map.
+     */
+    public static class Report {
+        /**
+         * The number of occupied cells before and after culling.
+         */
+        public final int cellsBefore, cellsAfter;
+        /**
+         * The number of visible layers before and after culling.
+         */
+        public final int layersBefore, layersAfter;
+        /**
+         * The number of pixels filled when drawing the whole map once, before and after culling.
+         */
+        public final long pixelsBefore, pixelsAfter;
+
+        Report(
+                int cellsBefore,
+                int cellsAfter,
+                int layersBefore,
+                int layersAfter,
+                long pixelsBefore,
+                long pixelsAfter) {
+            this.cellsBefore = cellsBefore;
+            this.cellsAfter = cellsAfter;
+            this.layersBefore = layersBefore;
+            this.layersAfter = layersAfter;
+            this.pixelsBefore = pixelsBefore;
+            this.pixelsAfter = pixelsAfter;
+        }
+
+        /**
+         * Get the proportion of the fill rate needed to draw the map that was saved by culling.
+         *
+         * @return the saved proportion, between {@code 0} and {@code 1}.
+         */
+        public float getFillSaved() {
+            return pixelsBefore == 0 ? 0 : 1 - (float) pixelsAfter / pixelsBefore;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "Culled %d of %d cells, collapsed %d layers into %d, fill per full map draw reduced from %d to %d"
+                            + " pixels (%.1f%% saved)",
+                    cellsBefore - cellsAfter,
+                    cellsBefore,
+                    layersBefore,
+                    layersAfter,
+                    pixelsBefore,
+                    pixelsAfter,
+                    getFillSaved() * 100);
+        }
+    }
+
+    private MapOverdrawCuller() {}
+
+    /**
+     * Remove all cells of the map hidden by opaque tiles above them, and collapse layers where possible. Must be
+     * called before the map is first drawn.
+     *
+     * @param map the map to cull.
+     * @param alphaMasks gives the alpha mask of a tileset texture, or {@code null} if it is not known, in which case
+     *     none of the texture's tiles hide the cells below them.
+     * @return a summary of the work saved.
+     */
+    public static Report cull(SparseTiledMap map, Function<Texture, AlphaMask> alphaMasks) {
+        var cellsBefore = map.getCellCount();
+        var layersBefore = countVisibleLayers(map);
+        var pixelsBefore = countPixels(map);
+
+        var opacity = new TileOpacity(map.tileWidth, map.tileHeight, alphaMasks);
+        removeHiddenCells(map, opacity);
+        collapseLayers(map, opacity);
+
+        return new Report(
+                cellsBefore, map.getCellCount(), layersBefore, countVisibleLayers(map), pixelsBefore, countPixels(map));
+    }
+
+    /**
+     * Walk the layers from the top down, tracking which cells are already covered by an opaque tile, and remove
+     * any cell that is covered by a layer above it.
+     */
+    private static void removeHiddenCells(SparseTiledMap map, TileOpacity opacity) {
+        var covered = new boolean[map.width * map.height];
+
+        for (int i = map.layers.size - 1; i >= 0; i--) {
+            var layer = map.layers.get(i);
+            if (!layer.visible) {
+                continue;
+            }
+
+            // Cells can only be hidden by layers drawn in line with the grid at full opacity
+            var occludes = layer.opacity == 1 && layer.offsetX == 0 && layer.offsetY == 0;
+            for (int c = 0; c < layer.chunks.length; c++) {
+                var chunk = layer.chunks[c];
+                if (chunk == null) {
+                    continue;
+                }
+
+                var kept = 0;
+                for (int j = 0; j < chunk.size; j++) {
+                    var index = chunk.getRow(j) * map.width + chunk.getColumn(j);
+                    if (covered[index]) {
+                        continue;
+                    }
+
+                    chunk.positions[kept] = chunk.positions[j];
+                    chunk.cells[kept] = chunk.cells[j];
+                    kept++;
+                }
+                for (int j = kept; j < chunk.size; j++) {
+                    chunk.cells[j] = null;
+                }
+                chunk.size = kept;
+
+                if (occludes) {
+                    for (int j = 0; j < chunk.size; j++) {
+                        if (opacity.isOpaque(chunk.cells[j].getTile())) {
+                            covered[chunk.getRow(j) * map.width + chunk.getColumn(j)] = true;
+                        }
+                    }
+                }
+
+                if (chunk.size == 0) {
+                    layer.chunks[c] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge each pair of adjacent layers that are drawn with the same settings. Merged chunks draw the lower
+     * layer's cells before the upper layer's, so this only changes the result if a tile spills out of its cell
+     * into a neighbouring chunk.
+     */
+    private static void collapseLayers(SparseTiledMap map, TileOpacity opacity) {
+        for (int i = map.layers.size - 1; i > 0; i--) {
+            var upper = map.layers.get(i);
+            var lower = map.layers.get(i - 1);
+            if (!canMerge(lower, upper, opacity)) {
+                continue;
+            }
+
+            map.layers.set(i - 1, new SparseTileLayer(lower, upper));
+            map.layers.removeIndex(i);
+        }
+    }
+
+    private static boolean canMerge(SparseTileLayer lower, SparseTileLayer upper, TileOpacity opacity) {
+        return lower.visible
+                && upper.visible
+                && lower.opacity == upper.opacity
+                && lower.offsetX == upper.offsetX
+                && lower.offsetY == upper.offsetY
+                && lower.chunkSize == upper.chunkSize
+                && fitsCells(lower, opacity)
+                && fitsCells(upper, opacity);
+    }
+
+    private static boolean fitsCells(SparseTileLayer layer, TileOpacity opacity) {
+        for (var chunk : layer.chunks) {
+            if (chunk == null) {
+                continue;
+            }
+            for (int j = 0; j < chunk.size; j++) {
+                if (!opacity.fitsCell(chunk.cells[j].getTile())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int countVisibleLayers(SparseTiledMap map) {
+        var count = 0;
+        for (var layer : map.layers) {
+            if (layer.visible) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long countPixels(SparseTiledMap map) {
+        var pixels = 0L;
+        for (var layer : map.layers) {
+            if (!layer.visible) {
+                continue;
+            }
+            for (var chunk : layer.chunks) {
+                if (chunk == null) {
+                    continue;
+                }
+                for (int j = 0; j < chunk.size; j++) {
+                    var region = chunk.cells[j].getTile().getTextureRegion();
+                    pixels += (long) region.getRegionWidth() * region.getRegionHeight();
+                }
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Lazily computed opacity of each tile, read from the alpha masks of the tileset textures.
+     */
+    private static class TileOpacity {
+        private final int tileWidth;
+        private final int tileHeight;
+        private final Function<Texture, AlphaMask> alphaMasks;
+
+        private final ObjectMap<TiledMapTile, Boolean> opaque = new ObjectMap<>();
+
+        TileOpacity(int tileWidth, int tileHeight, Function<Texture, AlphaMask> alphaMasks) {
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+            this.alphaMasks = alphaMasks;
+        }
+
+        /**
+         * Check whether a tile is drawn exactly over its cell, without any offset and without spilling over.
+         */
+        boolean fitsCell(TiledMapTile tile) {
+            var region = tile.getTextureRegion();
+            return tile.getOffsetX() == 0
+                    && tile.getOffsetY() == 0
+                    && region.getRegionWidth() == tileWidth
+                    && region.getRegionHeight() == tileHeight;
+        }
+
+        /**
+         * Check whether a tile covers every pixel of its cell at full opacity.
+         */
+        boolean isOpaque(TiledMapTile tile) {
+            var cached = opaque.get(tile);
+            if (cached == null) {
+                cached = fitsCell(tile) && isRegionOpaque(tile);
+                opaque.put(tile, cached);
+            }
+            return cached;
+        }
+
+        private boolean isRegionOpaque(TiledMapTile tile) {
+            var region = tile.getTextureRegion();
+            var mask = alphaMasks.apply(region.getTexture());
+            return mask != null
+                    && mask.isOpaque(
+                            region.getRegionX(),
+                            region.getRegionY(),
+                            region.getRegionWidth(),
+                            region.getRegionHeight());
+        }
+    }
+}
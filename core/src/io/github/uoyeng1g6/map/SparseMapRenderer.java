@@ -0,0 +1,204 @@
+package io.github.uoyeng1g6.map;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Renderer for a {@link SparseTiledMap}. Only the chunks overlapping the current view are visited, and within
+ * each chunk only the occupied cells are drawn, so the cost of drawing the map is proportional to its content
+ * rather than to its size.
+ */
+public class SparseMapRenderer {
+    private static final int NUM_VERTICES = 20;
+
+    private static final int X1 = 0, Y1 = 1, C1 = 2, U1 = 3, V1 = 4;
+    private static final int X2 = 5, Y2 = 6, C2 = 7, U2 = 8, V2 = 9;
+    private static final int X3 = 10, Y3 = 11, C3 = 12, U3 = 13, V3 = 14;
+    private static final int X4 = 15, Y4 = 16, C4 = 17, U4 = 18, V4 = 19;
+
+    /**
+     * The map to draw.
+     */
+    private final SparseTiledMap map;
+    /**
+     * The number of world units per pixel of the map.
+     */
+    private final float unitScale;
+
+    /**
+     * The area of the world currently being viewed.
+     */
+    private final Rectangle viewBounds = new Rectangle();
+    /**
+     * Vertex buffer reused for every drawn cell.
+     */
+    private final float[] vertices = new float[NUM_VERTICES];
+
+    public SparseMapRenderer(SparseTiledMap map, float unitScale) {
+        this.map = map;
+        this.unitScale = unitScale;
+    }
+
+    /**
+     * Set the area of the world to draw to the area visible to the given camera.
+     *
+     * @param camera the camera the map is being viewed through.
+     */
+    public void setView(OrthographicCamera camera) {
+        var width = camera.viewportWidth * camera.zoom;
+        var height = camera.viewportHeight * camera.zoom;
+        viewBounds.set(camera.position.x - (width / 2), camera.position.y - (height / 2), width, height);
+    }
+
+    /**
+     * Set the area of the world to draw.
+     *
+     * @param x the x coordinate of the bottom left corner of the area, in world units.
+     * @param y the y coordinate of the bottom left corner of the area, in world units.
+     * @param width the width of the area, in world units.
+     * @param height the height of the area, in world units.
+     */
+    public void setView(float x, float y, float width, float height) {
+        viewBounds.set(x, y, width, height);
+    }
+
+    /**
+     * Draw all visible layers of the map within the current view. The batch must already have been started
+     * with an appropriate projection matrix.
+     *
+     * @param batch the batch to draw the map with.
+     */
+    public void render(Batch batch) {
+        for (var layer : map.layers) {
+            if (layer.visible) {
+                renderLayer(batch, layer);
+            }
+        }
+    }
+
+    private void renderLayer(Batch batch, SparseTileLayer layer) {
+        final var batchColor = batch.getColor();
+        final var color = Color.toFloatBits(batchColor.r, batchColor.g, batchColor.b, batchColor.a * layer.opacity);
+
+        final var layerTileWidth = map.tileWidth * unitScale;
+        final var layerTileHeight = map.tileHeight * unitScale;
+        final var layerOffsetX = layer.offsetX * unitScale;
+        // Offset in Tiled is y down, so it needs flipping
+        final var layerOffsetY = -layer.offsetY * unitScale;
+
+        final var chunkWidth = layer.chunkSize * layerTileWidth;
+        final var chunkHeight = layer.chunkSize * layerTileHeight;
+        final var viewLeft = viewBounds.x - layerOffsetX;
+        final var viewBottom = viewBounds.y - layerOffsetY;
+        final var chunkX1 = Math.max(0, (int) (viewLeft / chunkWidth));
+        final var chunkX2 = Math.min(layer.chunksWide - 1, (int) ((viewLeft + viewBounds.width) / chunkWidth));
+        final var chunkY1 = Math.max(0, (int) (viewBottom / chunkHeight));
+        final var chunkY2 = Math.min(layer.chunksHigh - 1, (int) ((viewBottom + viewBounds.height) / chunkHeight));
+
+        // Draw chunks from the top down to match the draw order of the libGDX tilemap renderers
+        for (int chunkY = chunkY2; chunkY >= chunkY1; chunkY--) {
+            for (int chunkX = chunkX1; chunkX <= chunkX2; chunkX++) {
+                var chunk = layer.getChunk(chunkX, chunkY);
+                if (chunk == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < chunk.size; i++) {
+                    var x = chunk.getColumn(i) * layerTileWidth + layerOffsetX;
+                    var y = chunk.getRow(i) * layerTileHeight + layerOffsetY;
+                    drawCell(batch, chunk.cells[i], x, y, color);
+                }
+            }
+        }
+    }
+
+    private void drawCell(Batch batch, TiledMapTileLayer.Cell cell, float x, float y, float color) {
+        final var tile = cell.getTile();
+        final var region = tile.getTextureRegion();
+
+        final var x1 = x + tile.getOffsetX() * unitScale;
+        final var y1 = y + tile.getOffsetY() * unitScale;
+        final var x2 = x1 + region.getRegionWidth() * unitScale;
+        final var y2 = y1 + region.getRegionHeight() * unitScale;
+
+        final var u1 = region.getU();
+        final var v1 = region.getV2();
+        final var u2 = region.getU2();
+        final var v2 = region.getV();
+
+        final var vertices = this.vertices;
+        vertices[X1] = x1;
+        vertices[Y1] = y1;
+        vertices[C1] = color;
+        vertices[U1] = u1;
+        vertices[V1] = v1;
+
+        vertices[X2] = x1;
+        vertices[Y2] = y2;
+        vertices[C2] = color;
+        vertices[U2] = u1;
+        vertices[V2] = v2;
+
+        vertices[X3] = x2;
+        vertices[Y3] = y2;
+        vertices[C3] = color;
+        vertices[U3] = u2;
+        vertices[V3] = v2;
+
+        vertices[X4] = x2;
+        vertices[Y4] = y1;
+        vertices[C4] = color;
+        vertices[U4] = u2;
+        vertices[V4] = v1;
+
+        if (cell.getFlipHorizontally()) {
+            swap(vertices, U1, U3);
+            swap(vertices, U2, U4);
+        }
+        if (cell.getFlipVertically()) {
+            swap(vertices, V1, V3);
+            swap(vertices, V2, V4);
+        }
+        switch (cell.getRotation()) {
+            case TiledMapTileLayer.Cell.ROTATE_90:
+                rotate(vertices, V1, V2, V3, V4);
+                rotate(vertices, U1, U2, U3, U4);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_180:
+                swap(vertices, U1, U3);
+                swap(vertices, U2, U4);
+                swap(vertices, V1, V3);
+                swap(vertices, V2, V4);
+                break;
+            case TiledMapTileLayer.Cell.ROTATE_270:
+                rotate(vertices, V1, V4, V3, V2);
+                rotate(vertices, U1, U4, U3, U2);
+                break;
+            default:
+                break;
+        }
+
+        batch.draw(region.getTexture(), vertices, 0, NUM_VERTICES);
+    }
+
+    private static void swap(float[] vertices, int a, int b) {
+        var temp = vertices[a];
+        vertices[a] = vertices[b];
+        vertices[b] = temp;
+    }
+
+    /**
+     * Shift the values at the given indices along by one, so {@code a} takes the value of {@code b}, {@code b}
+     * takes the value of {@code c}, and so on, with {@code d} taking the original value of {@code a}.
+     */
+    private static void rotate(float[] vertices, int a, int b, int c, int d) {
+        var temp = vertices[a];
+        vertices[a] = vertices[b];
+        vertices[b] = vertices[c];
+        vertices[c] = vertices[d];
+        vertices[d] = temp;
+    }
+}
@@ -0,0 +1,199 @@
+package io.github.uoyeng1g6.map;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Sparse representation of a single tile layer. The layer is split into square chunks of cells, and each chunk
+ * only stores the cells within it that actually contain a tile, so empty cells cost nothing to iterate over.
+ */
+public class SparseTileLayer {
+    /**
+     * A packed list of the occupied cells within one chunk of the layer.
+     */
+    public static class Chunk {
+        /**
+         * The position of each occupied cell, packed as {@code column | (row << 16)}.
+         */
+        final int[] positions;
+        /**
+         * The occupied cells, in the same order as {@link #positions}.
+         */
+        final TiledMapTileLayer.Cell[] cells;
+        /**
+         * The number of occupied cells in the chunk.
+         */
+        int size;
+
+        Chunk(int[] positions, TiledMapTileLayer.Cell[] cells) {
+            this.positions = positions;
+            this.cells = cells;
+            this.size = cells.length;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getColumn(int index) {
+            return positions[index] & 0xFFFF;
+        }
+
+        public int getRow(int index) {
+            return positions[index] >>> 16;
+        }
+
+        public TiledMapTileLayer.Cell getCell(int index) {
+            return cells[index];
+        }
+    }
+
+    /**
+     * The name of the layer.
+     */
+    public final String name;
+    /**
+     * Whether the layer should be drawn.
+     */
+    public final boolean visible;
+    /**
+     * The opacity of the layer, between {@code 0} and {@code 1}.
+     */
+    public final float opacity;
+    /**
+     * The horizontal offset of the layer when rendered, in pixels.
+     */
+    public final float offsetX;
+    /**
+     * The vertical offset of the layer when rendered, in pixels. As in Tiled, positive values move the layer down.
+     */
+    public final float offsetY;
+
+    /**
+     * The width and height of each chunk, in cells.
+     */
+    final int chunkSize;
+    /**
+     * The number of chunks across the width of the layer.
+     */
+    final int chunksWide;
+    /**
+     * The number of chunks across the height of the layer.
+     */
+    final int chunksHigh;
+    /**
+     * The chunks of the layer in row-major order. Chunks without any occupied cells are {@code null}.
+     */
+    final Chunk[] chunks;
+
+    /**
+     * Build the sparse representation of a tile layer.
+     *
+     * @param layer the layer to build from.
+     * @param chunkSize the width and height of each chunk, in cells.
+     */
+    public SparseTileLayer(TiledMapTileLayer layer, int chunkSize) {
+        this.name = layer.getName();
+        this.visible = layer.isVisible();
+        this.opacity = layer.getOpacity();
+        this.offsetX = layer.getRenderOffsetX();
+        this.offsetY = layer.getRenderOffsetY();
+
+        this.chunkSize = chunkSize;
+        this.chunksWide = (layer.getWidth() + chunkSize - 1) / chunkSize;
+        this.chunksHigh = (layer.getHeight() + chunkSize - 1) / chunkSize;
+        this.chunks = new Chunk[chunksWide * chunksHigh];
+
+        var positions = new IntArray();
+        var cells = new Array<TiledMapTileLayer.Cell>(TiledMapTileLayer.Cell.class);
+        for (int chunkY = 0; chunkY < chunksHigh; chunkY++) {
+            for (int chunkX = 0; chunkX < chunksWide; chunkX++) {
+                positions.clear();
+                cells.clear();
+
+                var lastRow = Math.min(layer.getHeight(), (chunkY + 1) * chunkSize) - 1;
+                var lastColumn = Math.min(layer.getWidth(), (chunkX + 1) * chunkSize) - 1;
+                // Rows are stored top to bottom to match the draw order of the libGDX tilemap renderers
+                for (int row = lastRow; row >= chunkY * chunkSize; row--) {
+                    for (int column = chunkX * chunkSize; column <= lastColumn; column++) {
+                        var cell = layer.getCell(column, row);
+                        if (cell == null || cell.getTile() == null) {
+                            continue;
+                        }
+
+                        positions.add(column | (row << 16));
+                        cells.add(cell);
+                    }
+                }
+
+                if (cells.size > 0) {
+                    chunks[chunkY * chunksWide + chunkX] = new Chunk(positions.toArray(), cells.toArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge two layers with the same chunk layout into one. In each chunk, the cells of the lower layer are
+     * drawn before those of the upper layer.
+     *
+     * @param lower the layer drawn first.
+     * @param upper the layer drawn over it.
+     */
+    SparseTileLayer(SparseTileLayer lower, SparseTileLayer upper) {
+        this.name = lower.name + "+" + upper.name;
+        this.visible = lower.visible;
+        this.opacity = lower.opacity;
+        this.offsetX = lower.offsetX;
+        this.offsetY = lower.offsetY;
+
+        this.chunkSize = lower.chunkSize;
+        this.chunksWide = lower.chunksWide;
+        this.chunksHigh = lower.chunksHigh;
+        this.chunks = new Chunk[lower.chunks.length];
+
+        for (int i = 0; i < chunks.length; i++) {
+            var a = lower.chunks[i];
+            var b = upper.chunks[i];
+            if (a == null || b == null) {
+                chunks[i] = a == null ? b : a;
+                continue;
+            }
+
+            var positions = new int[a.size + b.size];
+            var cells = new TiledMapTileLayer.Cell[a.size + b.size];
+            System.arraycopy(a.positions, 0, positions, 0, a.size);
+            System.arraycopy(b.positions, 0, positions, a.size, b.size);
+            System.arraycopy(a.cells, 0, cells, 0, a.size);
+            System.arraycopy(b.cells, 0, cells, a.size, b.size);
+            chunks[i] = new Chunk(positions, cells);
+        }
+    }
+
+    /**
+     * Get the chunk at the given chunk coordinates.
+     *
+     * @param chunkX the chunk column.
+     * @param chunkY the chunk row.
+     * @return the chunk, or {@code null} if it contains no occupied cells.
+     */
+    public Chunk getChunk(int chunkX, int chunkY) {
+        return chunks[chunkY * chunksWide + chunkX];
+    }
+
+    /**
+     * Get the total number of occupied cells in the layer.
+     *
+     * @return the number of occupied cells.
+     */
+    public int getCellCount() {
+        var count = 0;
+        for (var chunk : chunks) {
+            if (chunk != null) {
+                count += chunk.size;
+            }
+        }
+        return count;
+    }
+}
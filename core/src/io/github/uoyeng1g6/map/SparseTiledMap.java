@@ -0,0 +1,89 @@
+package io.github.uoyeng1g6.map;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Sparse representation of the tile layers of a {@link TiledMap}. Built once when the map is loaded so that
+ * rendering only has to visit cells that actually contain a tile.
+ */
+public class SparseTiledMap {
+    /**
+     * The default width and height of a chunk, in cells.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16;
+
+    /**
+     * The width of the map, in cells.
+     */
+    public final int width;
+    /**
+     * The height of the map, in cells.
+     */
+    public final int height;
+    /**
+     * The width of a single tile, in pixels.
+     */
+    public final int tileWidth;
+    /**
+     * The height of a single tile, in pixels.
+     */
+    public final int tileHeight;
+    /**
+     * The width and height of the chunks each layer is split into, in cells.
+     */
+    public final int chunkSize;
+
+    /**
+     * The tile layers of the map, ordered from bottom to top.
+     */
+    final Array<SparseTileLayer> layers = new Array<>();
+
+    public SparseTiledMap(TiledMap tiledMap) {
+        this(tiledMap, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Build the sparse representation of all tile layers in a map. Layers that are not tile layers are ignored.
+     *
+     * @param tiledMap the map to build from.
+     * @param chunkSize the width and height of the chunks each layer is split into, in cells.
+     */
+    public SparseTiledMap(TiledMap tiledMap, int chunkSize) {
+        var properties = tiledMap.getProperties();
+        this.width = properties.get("width", Integer.class);
+        this.height = properties.get("height", Integer.class);
+        this.tileWidth = properties.get("tilewidth", Integer.class);
+        this.tileHeight = properties.get("tileheight", Integer.class);
+        this.chunkSize = chunkSize;
+
+        for (var layer : tiledMap.getLayers()) {
+            if (layer instanceof TiledMapTileLayer) {
+                layers.add(new SparseTileLayer((TiledMapTileLayer) layer, chunkSize));
+            }
+        }
+    }
+
+    /**
+     * Get the tile layers of the map.
+     *
+     * @return the layers, ordered from bottom to top.
+     */
+    public Array<SparseTileLayer> getLayers() {
+        return layers;
+    }
+
+    /**
+     * Get the total number of occupied cells over all layers.
+     *
+     * @return the number of occupied cells.
+     */
+    public int getCellCount() {
+        var count = 0;
+        for (var layer : layers) {
+            count += layer.getCellCount();
+        }
+        return count;
+    }
+}
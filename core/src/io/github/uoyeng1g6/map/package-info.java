@@ -0,0 +1,4 @@
+/**
+ * Package containing classes used to load, prepare and draw the game's tilemap.
+ */
+package io.github.uoyeng1g6.map;
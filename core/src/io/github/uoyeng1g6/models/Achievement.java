@@ -0,0 +1,150 @@
+package io.github.uoyeng1g6.models;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+
+/**
+ * Dataclass model representing an achievement and the rule for earning it. Intended to be loaded from file and
+ * compiled into {@link AchievementRules}, so that achievements can be added without changing the scoring code.
+ *
+ * <p>The rule counts either a single activity, given by {@link #getActivity() name}, or every activity of a
+ * {@link #getType() type}.
+ */
+public class Achievement {
+    /**
+     * The kinds of rule an achievement can be earned by.
+     */
+    public enum Rule {
+        /**
+         * Earned by doing the activity at least {@link #getCount() count} times in any single day.
+         */
+        DAY_THRESHOLD,
+        /**
+         * Held as long as the activity is done at least {@link #getCount() count} times every day, and lost on the
+         * first day it is not.
+         */
+        EVERY_DAY,
+        /**
+         * Earned when the activity is done fewer than {@link #getCount() count} times in a day, and either it is not
+         * done at least {@link #getCatchUp() catchUp} times the next day or more than
+         * {@link #getAllowedMisses() allowedMisses} days have already been missed.
+         */
+        CATCH_UP
+    }
+
+    /**
+     * The unique identifier of the achievement.
+     */
+    private String id;
+    /**
+     * The name shown to the player.
+     */
+    private String name;
+    /**
+     * The description of how the achievement is earned, shown to the player.
+     */
+    private String description;
+    /**
+     * The number of points added to the exam score if the achievement is earned.
+     */
+    private int bonus;
+    /**
+     * Whether earning the achievement fails the game, giving an exam score of 0.
+     */
+    private boolean failsGame;
+    /**
+     * The rule for earning the achievement.
+     */
+    private Rule rule;
+    /**
+     * The name of the activity counted, or {@code null} if activities are counted by {@link #type}.
+     */
+    private String activity;
+    /**
+     * The type of activity counted, or {@code null} if a single activity is counted by {@link #activity}.
+     */
+    private ActivityType type;
+    /**
+     * The number of times the activity must be done in a day.
+     */
+    private int count = 1;
+    /**
+     * The number of times the activity must be done the day after a {@link Rule#CATCH_UP} day was missed.
+     */
+    private int catchUp;
+    /**
+     * The number of days a {@link Rule#CATCH_UP} activity can be missed and caught up before the achievement is
+     * earned.
+     */
+    private int allowedMisses;
+
+    public Achievement() {}
+
+    public Achievement(
+            String id,
+            String name,
+            String description,
+            int bonus,
+            boolean failsGame,
+            Rule rule,
+            String activity,
+            ActivityType type,
+            int count,
+            int catchUp,
+            int allowedMisses) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.bonus = bonus;
+        this.failsGame = failsGame;
+        this.rule = rule;
+        this.activity = activity;
+        this.type = type;
+        this.count = count;
+        this.catchUp = catchUp;
+        this.allowedMisses = allowedMisses;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getBonus() {
+        return bonus;
+    }
+
+    public boolean failsGame() {
+        return failsGame;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public String getActivity() {
+        return activity;
+    }
+
+    public ActivityType getType() {
+        return type;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCatchUp() {
+        return catchUp;
+    }
+
+    public int getAllowedMisses() {
+        return allowedMisses;
+    }
+}
@@ -0,0 +1,343 @@
+package io.github.uoyeng1g6.models;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import io.github.uoyeng1g6.constants.ActivityType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * A set of {@link Achievement achievements} compiled into predicates that are evaluated by an
+ * {@link AchievementTracker} as activities are done, rather than by scanning the days.
+ *
+ * <p>Each predicate is only told about the activities it counts, through tables indexed by activity type and
+ * {@link ActivityRegistry id}, and {@link Achievement.Rule#EVERY_DAY every-day} rules are checked at the end of each
+ * day with a few bitwise operations on whole words of the bitset. Only {@link Achievement.Rule#CATCH_UP catch-up}
+ * rules are visited one by one at the end of a day, so the cost of an event does not grow with the number of
+ * achievements that do not count it.
+ *
+ * <p>Rules are immutable once compiled, so may be shared between any number of trackers and threads.
+ */
+public final class AchievementRules {
+    /**
+     * The classpath resource the default achievements are loaded from.
+     */
+    public static final String DEFAULT_RESOURCE = "/achievements.json";
+
+    /**
+     * The achievements, in the order of their bits.
+     */
+    private final Achievement[] achievements;
+    /**
+     * The index of each achievement id.
+     */
+    private final ObjectIntMap<String> indices = new ObjectIntMap<>();
+
+    /**
+     * The predicates counting each activity type, indexed by {@link ActivityType#ordinal()}.
+     */
+    final Predicate[][] byType;
+    /**
+     * The predicates counting each single activity, indexed by {@link ActivityRegistry id}.
+     */
+    final Predicate[][] byActivity;
+    /**
+     * The predicates that need to be told when a day ends.
+     */
+    final CatchUp[] catchUps;
+    /**
+     * The bits of the {@link Achievement.Rule#EVERY_DAY every-day} achievements.
+     */
+    final long[] everyDayMask;
+    /**
+     * The bits of the achievements that fail the game.
+     */
+    final long[] failureMask;
+
+    /**
+     * Compile a set of achievements.
+     *
+     * @param achievements the achievements, in the order of their bits.
+     * @throws GdxRuntimeException if an achievement is invalid.
+     */
+    public AchievementRules(Achievement... achievements) {
+        this.achievements = achievements.clone();
+        var words = (achievements.length + 63) >>> 6;
+        everyDayMask = new long[words];
+        failureMask = new long[words];
+
+        var types = new Array<Array<Predicate>>();
+        for (int i = 0; i < ActivityType.values().length; i++) {
+            types.add(new Array<>(Predicate.class));
+        }
+        var activities = new Array<Array<Predicate>>();
+        var catchUps = new Array<CatchUp>(CatchUp.class);
+
+        for (int i = 0; i < achievements.length; i++) {
+            var achievement = achievements[i];
+            var predicate = compile(achievement, i);
+            if (!indices.containsKey(achievement.getId())) {
+                indices.put(achievement.getId(), i);
+            } else {
+                throw invalid(achievement, "duplicate id");
+            }
+
+            if (achievement.getRule() == Achievement.Rule.EVERY_DAY) {
+                everyDayMask[i >>> 6] |= 1L << i;
+            } else if (achievement.getRule() == Achievement.Rule.CATCH_UP) {
+                catchUps.add((CatchUp) predicate);
+            }
+            if (achievement.failsGame()) {
+                failureMask[i >>> 6] |= 1L << i;
+            }
+
+            if (achievement.getType() != null) {
+                types.get(achievement.getType().ordinal()).add(predicate);
+            } else {
+                var id = ActivityRegistry.register(achievement.getActivity());
+                while (activities.size <= id) {
+                    activities.add(new Array<>(Predicate.class));
+                }
+                activities.get(id).add(predicate);
+            }
+        }
+
+        byType = toArrays(types);
+        byActivity = toArrays(activities);
+        this.catchUps = catchUps.toArray();
+    }
+
+    private static Predicate compile(Achievement achievement, int index) {
+        if (achievement.getId() == null || achievement.getRule() == null) {
+            throw invalid(achievement, "missing id or rule");
+        }
+        if ((achievement.getActivity() == null) == (achievement.getType() == null)) {
+            throw invalid(achievement, "must count exactly one of an activity or a type");
+        }
+        if (achievement.getCount() < 1) {
+            throw invalid(achievement, "count must be at least 1");
+        }
+
+        switch (achievement.getRule()) {
+            case DAY_THRESHOLD:
+                return new DayThreshold(index, achievement.getCount());
+            case EVERY_DAY:
+                return new EveryDay(index, achievement.getCount());
+            default:
+                if (achievement.getCatchUp() < achievement.getCount() || achievement.getAllowedMisses() < 0) {
+                    throw invalid(achievement, "catchUp must be at least count and allowedMisses not negative");
+                }
+                return new CatchUp(
+                        index, achievement.getCount(), achievement.getCatchUp(), achievement.getAllowedMisses());
+        }
+    }
+
+    private static GdxRuntimeException invalid(Achievement achievement, String reason) {
+        return new GdxRuntimeException("Invalid achievement " + achievement.getId() + ": " + reason);
+    }
+
+    private static Predicate[][] toArrays(Array<Array<Predicate>> predicates) {
+        var arrays = new Predicate[predicates.size][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = predicates.get(i).toArray();
+        }
+        return arrays;
+    }
+
+    /**
+     * Load and compile the achievements from a JSON file.
+     *
+     * @param file the file to load from.
+     * @return the compiled achievements.
+     */
+    public static AchievementRules load(FileHandle file) {
+        return new AchievementRules(new Json().fromJson(Achievement[].class, file));
+    }
+
+    /**
+     * Load and compile the achievements from a JSON stream. The stream is closed once read.
+     *
+     * @param input the stream to load from.
+     * @return the compiled achievements.
+     */
+    public static AchievementRules load(InputStream input) {
+        return new AchievementRules(new Json().fromJson(Achievement[].class, input));
+    }
+
+    /**
+     * Holder for the default rules, so that they are only loaded once the first game is created.
+     */
+    private static final class Default {
+        static final AchievementRules RULES = loadDefault();
+
+        private static AchievementRules loadDefault() {
+            // Loaded from the classpath rather than through Gdx.files, so that games can be simulated headless
+            try (var input = AchievementRules.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (input == null) {
+                    throw new GdxRuntimeException("Missing achievements resource " + DEFAULT_RESOURCE);
+                }
+                return load(input);
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Error reading " + DEFAULT_RESOURCE, e);
+            }
+        }
+    }
+
+    /**
+     * Get the achievements used by the game, loaded from {@link #DEFAULT_RESOURCE}.
+     *
+     * @return the default achievements.
+     */
+    public static AchievementRules getDefault() {
+        return Default.RULES;
+    }
+
+    /**
+     * Get the achievements, in the order of their bits.
+     *
+     * @return the achievements.
+     */
+    public List<Achievement> getAchievements() {
+        return List.of(achievements);
+    }
+
+    /**
+     * Get an achievement by its bit.
+     *
+     * @param index the bit of the achievement.
+     * @return the achievement.
+     */
+    public Achievement get(int index) {
+        return achievements[index];
+    }
+
+    /**
+     * Get the bit of an achievement.
+     *
+     * @param id the id of the achievement.
+     * @return the bit of the achievement, or {@code -1} if there is no achievement with the id.
+     */
+    public int indexOf(String id) {
+        return indices.get(id, -1);
+    }
+
+    /**
+     * Get the number of achievements. Every bit is less than this.
+     *
+     * @return the number of achievements.
+     */
+    public int size() {
+        return achievements.length;
+    }
+
+    /**
+     * A compiled achievement rule, told each time an activity it counts is done.
+     */
+    abstract static class Predicate {
+        /**
+         * The bit of the achievement.
+         */
+        final int index;
+
+        Predicate(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Count an activity done during the current day.
+         *
+         * @param tracker the tracker holding the game's progress.
+         * @param count the number of times the activity was done.
+         */
+        abstract void add(AchievementTracker tracker, int count);
+    }
+
+    static final class DayThreshold extends Predicate {
+        private final int threshold;
+
+        DayThreshold(int index, int threshold) {
+            super(index);
+            this.threshold = threshold;
+        }
+
+        @Override
+        void add(AchievementTracker tracker, int count) {
+            if (tracker.addToDay(index, count) >= threshold) {
+                tracker.earn(index);
+            }
+        }
+    }
+
+    static final class EveryDay extends Predicate {
+        private final int threshold;
+
+        EveryDay(int index, int threshold) {
+            super(index);
+            this.threshold = threshold;
+        }
+
+        @Override
+        void add(AchievementTracker tracker, int count) {
+            // Lost at the end of the day unless met, see AchievementTracker.endDay
+            if (tracker.addToDay(index, count) >= threshold) {
+                tracker.meetToday(index);
+            }
+        }
+    }
+
+    static final class CatchUp extends Predicate {
+        private final int minimum;
+        private final int catchUp;
+        private final int allowedMisses;
+
+        CatchUp(int index, int minimum, int catchUp, int allowedMisses) {
+            super(index);
+            this.minimum = minimum;
+            this.catchUp = catchUp;
+            this.allowedMisses = allowedMisses;
+        }
+
+        @Override
+        void add(AchievementTracker tracker, int count) {
+            tracker.addToDay(index, count);
+        }
+
+        /**
+         * Check the current day's count once it has ended, earning the achievement if it was missed without
+         * catching up.
+         */
+        void endDay(AchievementTracker tracker) {
+            var count = tracker.getDayCount(index);
+            if (tracker.catchUpDue[index]) {
+                if (count < catchUp) {
+                    tracker.earn(index);
+                } else {
+                    tracker.catchUpDue[index] = false;
+                }
+            }
+            if (count < minimum && !tracker.catchUpDue[index]) {
+                if (tracker.misses[index]++ >= allowedMisses) {
+                    tracker.earn(index);
+                }
+                tracker.catchUpDue[index] = true;
+            }
+        }
+
+        /**
+         * Check whether {@link #endDay} would earn the achievement if the current day ended now, without changing
+         * the tracker.
+         */
+        boolean wouldEarn(AchievementTracker tracker) {
+            var count = tracker.getDayCount(index);
+            if (tracker.catchUpDue[index]) {
+                // Catching up also covers the minimum, so the day cannot be missed as well
+                return count < catchUp;
+            }
+            return count < minimum && tracker.misses[index] >= allowedMisses;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package io.github.uoyeng1g6.models;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+import java.util.Arrays;
+
+/**
+ * Evaluates a set of {@link AchievementRules} for a single game as it is played, holding which achievements have been
+ * earned in a bitset so that they can be read at any point in the game.
+ *
+ * <p>The tracker is updated by {@link GameState#doActivity}, {@link GameState#addActivities} and
+ * {@link GameState#advanceDay}, so does not see changes made to the game state's days directly.
+ */
+public class AchievementTracker {
+    private final AchievementRules rules;
+
+    /**
+     * The achievements earned over the completed days, plus the {@link Achievement.Rule#DAY_THRESHOLD day threshold}
+     * achievements earned during the current day. {@link Achievement.Rule#EVERY_DAY Every-day} achievements start
+     * earned and are cleared on the first day they are missed.
+     */
+    private final long[] earned;
+    /**
+     * The every-day achievements whose activity has been done enough times during the current day.
+     */
+    private final long[] metToday;
+    /**
+     * Scratch space for the achievements that would be earned if the current day ended now.
+     */
+    private final long[] projected;
+
+    /**
+     * The number of times each achievement's activity has been done during {@link #countedDay}.
+     */
+    private final int[] dayCounts;
+    /**
+     * The day each entry of {@link #dayCounts} was counted on. Entries from earlier days are treated as zero, so the
+     * counts never have to be cleared.
+     */
+    private final int[] countedDay;
+
+    /**
+     * The number of days each catch-up achievement's activity has been missed.
+     */
+    final int[] misses;
+    /**
+     * Whether each catch-up achievement's activity was missed on the previous day and must be caught up today.
+     */
+    final boolean[] catchUpDue;
+
+    /**
+     * The number of completed days.
+     */
+    private int day = 0;
+
+    /**
+     * Create a tracker for a new game.
+     *
+     * @param rules the achievements to track.
+     */
+    public AchievementTracker(AchievementRules rules) {
+        this.rules = rules;
+        earned = rules.everyDayMask.clone();
+        metToday = new long[earned.length];
+        projected = new long[earned.length];
+        dayCounts = new int[rules.size()];
+        countedDay = new int[rules.size()];
+        misses = new int[rules.size()];
+        catchUpDue = new boolean[rules.size()];
+    }
+
+    /**
+     * Record an activity done during the current day. Only the achievements counting the activity are evaluated.
+     *
+     * @param type the type of activity done.
+     * @param activityId the {@link ActivityRegistry id} of the activity done.
+     * @param count the number of times to count the activity.
+     */
+    public void addActivity(ActivityType type, int activityId, int count) {
+        for (var predicate : rules.byType[type.ordinal()]) {
+            predicate.add(this, count);
+        }
+        if (activityId < rules.byActivity.length) {
+            for (var predicate : rules.byActivity[activityId]) {
+                predicate.add(this, count);
+            }
+        }
+    }
+
+    /**
+     * Record every activity done during a day as having been done during the current day.
+     *
+     * @param day the day to add the activities of.
+     */
+    public void addDay(GameState.Day day) {
+        for (var type : ActivityType.values()) {
+            var count = day.statFor(type);
+            if (count > 0) {
+                for (var predicate : rules.byType[type.ordinal()]) {
+                    predicate.add(this, count);
+                }
+            }
+        }
+        for (int id = 0; id < rules.byActivity.length; id++) {
+            var count = day.statFor(id);
+            if (count > 0) {
+                for (var predicate : rules.byActivity[id]) {
+                    predicate.add(this, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * End the current day, checking the every-day and catch-up achievements.
+     */
+    public void endDay() {
+        for (var catchUp : rules.catchUps) {
+            catchUp.endDay(this);
+        }
+        for (int i = 0; i < earned.length; i++) {
+            earned[i] &= ~(rules.everyDayMask[i] & ~metToday[i]);
+        }
+        Arrays.fill(metToday, 0);
+        day++;
+    }
+
+    /**
+     * Add to the number of times an achievement's activity has been done during the current day.
+     *
+     * @return the new count.
+     */
+    int addToDay(int index, int count) {
+        if (countedDay[index] != day) {
+            countedDay[index] = day;
+            dayCounts[index] = 0;
+        }
+        return dayCounts[index] += count;
+    }
+
+    /**
+     * Get the number of times an achievement's activity has been done during the current day.
+     */
+    int getDayCount(int index) {
+        return countedDay[index] == day ? dayCounts[index] : 0;
+    }
+
+    void earn(int index) {
+        earned[index >>> 6] |= 1L << index;
+    }
+
+    void meetToday(int index) {
+        metToday[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Get the rules being tracked.
+     *
+     * @return the rules.
+     */
+    public AchievementRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Check whether an achievement has been earned so far.
+     *
+     * @param index the bit of the achievement, see {@link AchievementRules#indexOf}.
+     * @return whether the achievement has been earned.
+     */
+    public boolean isEarned(int index) {
+        return (earned[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Check whether an achievement has been earned so far.
+     *
+     * @param id the id of the achievement.
+     * @return whether the achievement has been earned, or {@code false} if there is no achievement with the id.
+     */
+    public boolean isEarned(String id) {
+        var index = rules.indexOf(id);
+        return index >= 0 && isEarned(index);
+    }
+
+    /**
+     * Check whether an achievement that fails the game has been earned.
+     *
+     * @return whether the game has been failed.
+     */
+    public boolean isFailed() {
+        return isFailed(earned);
+    }
+
+    /**
+     * Get the total exam score bonus of the achievements earned so far. Ignored if the game has been
+     * {@link #isFailed() failed}.
+     *
+     * @return the total bonus.
+     */
+    public int getBonus() {
+        return getBonus(earned);
+    }
+
+    /**
+     * Check whether the game would be failed if it ended along with the current day.
+     *
+     * @return whether the game would be failed.
+     */
+    public boolean isProjectedFailed() {
+        return isFailed(project());
+    }
+
+    /**
+     * Get the total bonus the player would get if the game ended along with the current day.
+     *
+     * @return the projected total bonus.
+     */
+    public int getProjectedBonus() {
+        return getBonus(project());
+    }
+
+    /**
+     * Work out the achievements that would be earned if the current day ended now, without ending it.
+     *
+     * @return {@link #projected}, filled in.
+     */
+    private long[] project() {
+        for (int i = 0; i < earned.length; i++) {
+            projected[i] = earned[i] & ~(rules.everyDayMask[i] & ~metToday[i]);
+        }
+        for (var catchUp : rules.catchUps) {
+            if (catchUp.wouldEarn(this)) {
+                projected[catchUp.index >>> 6] |= 1L << catchUp.index;
+            }
+        }
+        return projected;
+    }
+
+    private boolean isFailed(long[] bits) {
+        for (int i = 0; i < bits.length; i++) {
+            if ((bits[i] & rules.failureMask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getBonus(long[] bits) {
+        var bonus = 0;
+        for (int i = 0; i < bits.length; i++) {
+            var word = bits[i] & ~rules.failureMask[i];
+            while (word != 0) {
+                bonus += rules.get((i << 6) + Long.numberOfTrailingZeros(word)).getBonus();
+                word &= word - 1;
+            }
+        }
+        return bonus;
+    }
+}
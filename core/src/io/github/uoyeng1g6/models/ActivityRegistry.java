@@ -0,0 +1,92 @@
+package io.github.uoyeng1g6.models;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+import java.util.Arrays;
+
+/**
+ * Gives every activity name a small, dense integer id, so that per-day counts can be kept in arrays indexed by id
+ * rather than in maps keyed by name. Ids are assigned in the order names are first registered and never change
+ * while the game is running, but may differ between runs, so only names should be saved.
+ *
+ * <p>Looking up ids is lock free and safe from any thread. Registering takes a lock, but only happens when a new name
+ * is seen, normally while the locations are created at startup.
+ */
+public final class ActivityRegistry {
+    /**
+     * The id of each registered name. Replaced rather than modified when a name is added, so that it can be read
+     * without locking.
+     */
+    private static volatile ObjectIntMap<String> ids = new ObjectIntMap<>();
+    /**
+     * The name of each id. Replaced along with {@link #ids}.
+     */
+    private static volatile String[] names = new String[0];
+
+    /**
+     * The ids of the activities that achievements depend on.
+     */
+    public static final int MOVIE = register("movie");
+
+    public static final int TOWN = register("town");
+    public static final int SPORTS = register("sports");
+
+    private ActivityRegistry() {}
+
+    /**
+     * Get the id of an activity name, registering it if it has not been seen before.
+     *
+     * @param name the name of the activity.
+     * @return the id of the activity.
+     */
+    public static int register(String name) {
+        var id = idOf(name);
+        if (id >= 0) {
+            return id;
+        }
+
+        synchronized (ActivityRegistry.class) {
+            id = ids.get(name, -1);
+            if (id >= 0) {
+                return id;
+            }
+
+            id = names.length;
+            var newIds = new ObjectIntMap<>(ids);
+            newIds.put(name, id);
+            var newNames = Arrays.copyOf(names, id + 1);
+            newNames[id] = name;
+            names = newNames;
+            ids = newIds;
+            return id;
+        }
+    }
+
+    /**
+     * Get the id of an activity name.
+     *
+     * @param name the name of the activity.
+     * @return the id of the activity, or {@code -1} if no activity with the name has been registered.
+     */
+    public static int idOf(String name) {
+        return ids.get(name, -1);
+    }
+
+    /**
+     * Get the name of an activity.
+     *
+     * @param id the id of the activity.
+     * @return the name of the activity.
+     */
+    public static String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Get the number of registered activities. Every id is less than this.
+     *
+     * @return the number of activities.
+     */
+    public static int size() {
+        return names.length;
+    }
+}
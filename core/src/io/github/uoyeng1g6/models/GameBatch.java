@@ -0,0 +1,107 @@
+package io.github.uoyeng1g6.models;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.constants.GameConstants;
+import java.util.List;
+
+/**
+ * The activity counts of many complete games, laid out as one primitive array per count so that they can be scored
+ * in bulk by {@link ScoreCalculator#scoreBatch}. The counts for day {@code d} of game {@code g} are stored at index
+ * {@code d * capacity + g}, so the scoring loops walk each array in order.
+ */
+public class GameBatch {
+    /**
+     * The number of games the batch can hold.
+     */
+    public final int capacity;
+    /**
+     * The number of study, meal and recreation activities done each day.
+     */
+    public final int[] study;
+
+    public final int[] meal;
+    public final int[] recreation;
+    /**
+     * The number of times the movie, town and sports activities that achievements depend on were done each day.
+     */
+    public final int[] movie;
+
+    public final int[] town;
+    public final int[] sports;
+    /**
+     * The number of games in the batch.
+     */
+    private int size = 0;
+
+    public GameBatch(int capacity) {
+        this.capacity = capacity;
+        var length = capacity * GameConstants.MAX_DAYS;
+        study = new int[length];
+        meal = new int[length];
+        recreation = new int[length];
+        movie = new int[length];
+        town = new int[length];
+        sports = new int[length];
+    }
+
+    /**
+     * Add a complete game to the batch.
+     *
+     * @param days the days of the game.
+     * @return the index of the game in the batch.
+     * @throws IllegalArgumentException if the game does not have exactly {@link GameConstants#MAX_DAYS} days.
+     * @throws IllegalStateException if the batch is full.
+     */
+    public int add(List<GameState.Day> days) {
+        if (days.size() != GameConstants.MAX_DAYS) {
+            throw new IllegalArgumentException("Games must have " + GameConstants.MAX_DAYS + " days");
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("Batch is full");
+        }
+
+        var game = size++;
+        for (int i = 0; i < days.size(); i++) {
+            var day = days.get(i);
+            set(
+                    game,
+                    i,
+                    day.statFor(ActivityType.STUDY),
+                    day.statFor(ActivityType.MEAL),
+                    day.statFor(ActivityType.RECREATION),
+                    day.statFor(ActivityRegistry.MOVIE),
+                    day.statFor(ActivityRegistry.TOWN),
+                    day.statFor(ActivityRegistry.SPORTS));
+        }
+        return game;
+    }
+
+    /**
+     * Set the counts of one day of a game.
+     */
+    public void set(int game, int day, int study, int meal, int recreation, int movie, int town, int sports) {
+        var i = day * capacity + game;
+        this.study[i] = study;
+        this.meal[i] = meal;
+        this.recreation[i] = recreation;
+        this.movie[i] = movie;
+        this.town[i] = town;
+        this.sports[i] = sports;
+    }
+
+    /**
+     * Get the number of games added to the batch.
+     *
+     * @return the number of games.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove every game from the batch, so that it can be reused.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
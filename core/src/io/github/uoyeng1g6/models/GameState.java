@@ -2,8 +2,10 @@ package io.github.uoyeng1g6.models;
 
 import io.github.uoyeng1g6.constants.ActivityType;
 import io.github.uoyeng1g6.constants.GameConstants;
+import io.github.uoyeng1g6.events.GameEvent;
+import io.github.uoyeng1g6.events.GameEventBus;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
  * Dataclass representing the game state.
@@ -13,15 +15,18 @@ public class GameState {
      * Dataclass representing a single in-game day.
      */
     public static class Day {
+        private static final int TYPES = ActivityType.values().length;
+
         /**
-         * Map of activity type to number of activities completed of that type.
+         * Number of activities completed of each type, indexed by {@link ActivityType#ordinal()}.
          */
-        public final HashMap<ActivityType, Integer> activityStats = new HashMap<>();
+        private final int[] activityStats = new int[TYPES];
 
         /**
-         * Map of activity name to number of activities completed with that name.
+         * Number of activities completed with each name, indexed by {@link ActivityRegistry activity id}. Grown if
+         * an activity is registered after the day was created.
          */
-        public final HashMap<String, Integer> activityNameStats = new HashMap<>();
+        private int[] activityNameStats = new int[ActivityRegistry.size()];
 
         /**
          * Get the number of times an activity of a specific type has been done.
@@ -30,11 +35,109 @@ public class GameState {
          * @return the number of times an activity of the given type has been done.
          */
         public int statFor(ActivityType type) {
-            return activityStats.getOrDefault(type, 0);
+            return activityStats[type.ordinal()];
+        }
+
+        /**
+         * Get the number of times a specific activity has been done.
+         *
+         * @param activityId the {@link ActivityRegistry id} of the activity.
+         * @return the number of times the activity has been done.
+         */
+        public int statFor(int activityId) {
+            return activityId < activityNameStats.length ? activityNameStats[activityId] : 0;
         }
 
         public int statForName(String name) {
-            return activityNameStats.getOrDefault(name, 0);
+            var id = ActivityRegistry.idOf(name);
+            return id < 0 ? 0 : statFor(id);
+        }
+
+        /**
+         * Record that an activity has been done.
+         *
+         * @param type the type of the activity.
+         * @param activityId the {@link ActivityRegistry id} of the activity.
+         * @param count the number of times to count the activity.
+         */
+        public void add(ActivityType type, int activityId, int count) {
+            add(type, count);
+            add(activityId, count);
+        }
+
+        /**
+         * Record activities of a type, without counting them towards any specific activity.
+         *
+         * @param type the type of the activities.
+         * @param count the number of times to count the type.
+         */
+        public void add(ActivityType type, int count) {
+            activityStats[type.ordinal()] += count;
+        }
+
+        /**
+         * Record a specific activity, without counting it towards its type.
+         *
+         * @param activityId the {@link ActivityRegistry id} of the activity.
+         * @param count the number of times to count the activity.
+         */
+        public void add(int activityId, int count) {
+            if (activityId >= activityNameStats.length) {
+                activityNameStats = Arrays.copyOf(activityNameStats, ActivityRegistry.size());
+            }
+            activityNameStats[activityId] += count;
+        }
+
+        /**
+         * Record every activity done during another day as having been done during this one.
+         *
+         * @param other the day to add the activities of.
+         */
+        public void addAll(Day other) {
+            for (int i = 0; i < TYPES; i++) {
+                activityStats[i] += other.activityStats[i];
+            }
+            if (other.activityNameStats.length > activityNameStats.length) {
+                activityNameStats = Arrays.copyOf(activityNameStats, other.activityNameStats.length);
+            }
+            for (int i = 0; i < other.activityNameStats.length; i++) {
+                activityNameStats[i] += other.activityNameStats[i];
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Day)) {
+                return false;
+            }
+            var other = (Day) o;
+            if (!Arrays.equals(activityStats, other.activityStats)) {
+                return false;
+            }
+            var length = Math.max(activityNameStats.length, other.activityNameStats.length);
+            for (int i = 0; i < length; i++) {
+                if (statFor(i) != other.statFor(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            var hash = Arrays.hashCode(activityStats);
+            // Ignore trailing zeros, so that days with arrays of different lengths can still be equal
+            var length = activityNameStats.length;
+            while (length > 0 && activityNameStats[length - 1] == 0) {
+                length--;
+            }
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + activityNameStats[i];
+            }
+            return hash;
         }
     }
 
@@ -50,17 +153,39 @@ public class GameState {
          * How long the overlay should be shown for, in seconds.
          */
         public final float displayFor;
+        /**
+         * How long the overlay has been shown for, in the same units as {@link #displayFor}.
+         */
+        public float elapsed = 0;
 
         public InteractionOverlay(String text, float displayFor) {
             this.text = text;
             this.displayFor = displayFor * 0.3f;
         }
+
+        private InteractionOverlay(String text, float displayFor, float elapsed) {
+            this.text = text;
+            this.displayFor = displayFor;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * Recreate an overlay part way through being shown, such as one read from a save.
+         *
+         * @param text the text to show on the overlay.
+         * @param displayFor how long the overlay should be shown for, in the same units as {@link #displayFor}.
+         * @param elapsed how long the overlay has already been shown for.
+         * @return the overlay.
+         */
+        public static InteractionOverlay resume(String text, float displayFor, float elapsed) {
+            return new InteractionOverlay(text, displayFor, elapsed);
+        }
     }
 
     /**
      * The days that have already been completed.
      */
-    public final ArrayList<Day> days = new ArrayList<>(7);
+    public final ArrayList<Day> days = new ArrayList<>(GameConstants.MAX_DAYS);
     /**
      * The day that is currently in progress.
      */
@@ -69,7 +194,7 @@ public class GameState {
     /**
      * The number of days remaining before the game ends.
      */
-    public int daysRemaining = 7;
+    public int daysRemaining = GameConstants.MAX_DAYS;
     /**
      * The amount of energy remaining to perform activities for the current day.
      */
@@ -80,13 +205,79 @@ public class GameState {
     public int hoursRemaining = GameConstants.MAX_HOURS;
 
     /**
-     * The currently displayed overlay.
+     * The achievements earned so far.
+     */
+    public final AchievementTracker achievements;
+    /**
+     * The running exam score.
+     */
+    public final ScoreAccumulator score;
+    /**
+     * The running totals of every activity over all days including the current, so they can be read without
+     * summing the days.
+     */
+    private final Day totals = new Day();
+
+    /**
+     * The currently displayed overlay. Should be ended with {@link #endInteractionOverlay()} rather than set to
+     * {@code null} directly, so that the end is published.
      */
     public InteractionOverlay interactionOverlay = null;
 
+    /**
+     * The stream of changes made to the game state. Only published to by the thread that plays the game, but may
+     * be read from any thread.
+     */
+    public final GameEventBus events = new GameEventBus();
+
+    /**
+     * Create the state for a new game with the {@link AchievementRules#getDefault() default} achievements.
+     */
+    public GameState() {
+        this(AchievementRules.getDefault());
+    }
+
+    /**
+     * Create the state for a new game.
+     *
+     * @param rules the achievements that can be earned.
+     */
+    public GameState(AchievementRules rules) {
+        achievements = new AchievementTracker(rules);
+        score = new ScoreAccumulator(achievements);
+    }
+
+    /**
+     * Mark the game state as changed, publishing a {@link GameEvent.Type#CHANGED} event so that anything derived from
+     * it is recomputed. Must be called after modifying any of its fields directly, rather than through
+     * {@link #advanceDay()} or {@link #doActivity}.
+     */
+    public void markChanged() {
+        changed(GameEvent.Type.CHANGED, null, -1, 0);
+    }
+
+    /**
+     * Publish a change, along with the days, energy and hours remaining after it.
+     */
+    private void changed(GameEvent.Type type, ActivityType activityType, int activityId, int count) {
+        events.publish(type, activityType, activityId, count, daysRemaining, energyRemaining, hoursRemaining);
+    }
+
+    /**
+     * End the overlay currently being shown, if there is one.
+     */
+    public void endInteractionOverlay() {
+        if (interactionOverlay == null) {
+            return;
+        }
+        interactionOverlay = null;
+        changed(GameEvent.Type.OVERLAY_ENDED, null, -1, 0);
+    }
+
     /**
      * End and store the current day and advance to a new one. Resets the current energy and hours remaining.
-     * Shows an overlay to indicate that the player is "sleeping".
+     * Shows an overlay to indicate that the player is "sleeping", and publishes a
+     * {@link GameEvent.Type#DAY_ENDED} event.
      */
     public void advanceDay() {
         daysRemaining--;
@@ -95,14 +286,17 @@ public class GameState {
 
         days.add(currentDay);
         currentDay = new Day();
+        achievements.endDay();
+        score.endDay();
 
         interactionOverlay = new InteractionOverlay("Sleeping...", 5);
+        changed(GameEvent.Type.DAY_ENDED, null, -1, 0);
     }
 
     /**
      * Do an activity. Subtracts the amount of time and energy required to do the activity and displays
      * an overlay. If there are not enough hours left in the day, or the player does not have enough energy
-     * then returns {@code false}.
+     * then returns {@code false}. Publishes an {@link GameEvent.Type#ACTIVITY} event if the activity was done.
      *
      * @param timeUsage the amount of time the activity requires.
      * @param energyUsage the amount of energy the activity requires.
@@ -112,6 +306,15 @@ public class GameState {
      */
     public boolean doActivity(
             int timeUsage, int energyUsage, ActivityType type, String overlayText, String activityName) {
+        return doActivity(timeUsage, energyUsage, type, overlayText, ActivityRegistry.register(activityName));
+    }
+
+    /**
+     * Do an activity, identified by its {@link ActivityRegistry id} rather than its name.
+     *
+     * @see #doActivity(int, int, ActivityType, String, String)
+     */
+    public boolean doActivity(int timeUsage, int energyUsage, ActivityType type, String overlayText, int activityId) {
         if (hoursRemaining < timeUsage || energyRemaining < energyUsage) {
             return false;
         }
@@ -119,26 +322,53 @@ public class GameState {
         hoursRemaining -= timeUsage;
         energyRemaining -= energyUsage;
 
-        if (timeUsage > 1) {
-            currentDay.activityNameStats.merge(activityName, 2, Integer::sum);
-            currentDay.activityStats.merge(type, 2, Integer::sum);
-        } else {
-            currentDay.activityStats.merge(type, 1, Integer::sum);
-            currentDay.activityNameStats.merge(activityName, 1, Integer::sum);
-        }
+        // Activities longer than an hour count twice
+        var count = timeUsage > 1 ? 2 : 1;
+        currentDay.add(type, activityId, count);
+        totals.add(type, activityId, count);
+        achievements.addActivity(type, activityId, count);
+        score.addActivity(type, count);
 
         interactionOverlay = new InteractionOverlay(overlayText, GameConstants.OVERLAY_SECONDS_PER_HOUR * timeUsage);
+        changed(GameEvent.Type.ACTIVITY, type, activityId, count);
 
         return true;
     }
 
     /**
-     * Get the total number of activities of the given type done over all days including the current.
+     * Count every activity done during a day as having been done during the current day, without using any time or
+     * energy or showing an overlay. Used to rebuild a game state, such as from a save, one day at a time.
+     *
+     * @param day the day to add the activities of.
+     */
+    public void addActivities(Day day) {
+        currentDay.addAll(day);
+        totals.addAll(day);
+        achievements.addDay(day);
+        for (var type : ActivityType.values()) {
+            score.addActivity(type, day.statFor(type));
+        }
+        markChanged();
+    }
+
+    /**
+     * Get the total number of activities of the given type done over all days including the current. Takes constant
+     * time, however many days have been played.
      *
      * @param type the type of activity to get the total for.
      * @return the total number of activities of that type done.
      */
     public int getTotalActivityCount(ActivityType type) {
-        return days.stream().mapToInt(day -> day.statFor(type)).sum() + currentDay.statFor(type);
+        return totals.statFor(type);
+    }
+
+    /**
+     * Get the total number of times a specific activity has been done over all days including the current.
+     *
+     * @param activityId the {@link ActivityRegistry id} of the activity.
+     * @return the total number of times the activity has been done.
+     */
+    public int getTotalActivityCount(int activityId) {
+        return totals.statFor(activityId);
     }
 }
@@ -0,0 +1,87 @@
+package io.github.uoyeng1g6.models;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+
+/**
+ * Keeps a running total of the exam score as a game is played, so that it never has to be worked out from scratch.
+ * Every update takes constant time however many days have been played, and with the default achievements the result
+ * always matches {@link ScoreCalculator#calculateExamScore} at the end of each day.
+ *
+ * <p>The accumulator is updated by {@link GameState#doActivity} and {@link GameState#advanceDay}, so does not see
+ * changes made to the game state's days directly. Achievement bonuses are read from the game's
+ * {@link AchievementTracker}.
+ */
+public class ScoreAccumulator {
+    /**
+     * The achievements of the game being scored.
+     */
+    private final AchievementTracker achievements;
+    /**
+     * The sum of the normalised scores of the completed days.
+     */
+    private int normalisedTotal = 0;
+
+    // Activity counts of the current day
+    private int study = 0;
+    private int meal = 0;
+    private int recreation = 0;
+
+    /**
+     * Create an accumulator for a new game.
+     *
+     * @param achievements the tracker for the game's achievements.
+     */
+    public ScoreAccumulator(AchievementTracker achievements) {
+        this.achievements = achievements;
+    }
+
+    /**
+     * Record an activity done during the current day.
+     *
+     * @param type the type of activity done.
+     * @param count the number of times to count the activity.
+     */
+    public void addActivity(ActivityType type, int count) {
+        switch (type) {
+            case STUDY:
+                study += count;
+                break;
+            case MEAL:
+                meal += count;
+                break;
+            case RECREATION:
+                recreation += count;
+                break;
+        }
+    }
+
+    /**
+     * End the current day, adding its score to the total.
+     */
+    public void endDay() {
+        normalisedTotal += ScoreCalculator.getNormalisedDayPoints(study, meal, recreation);
+        study = meal = recreation = 0;
+    }
+
+    /**
+     * Get the exam score for the days completed so far. Achievements earned part way through the current day are
+     * already included.
+     *
+     * @return the exam score.
+     */
+    public int getExamScore() {
+        return ScoreCalculator.getExamScore(normalisedTotal, achievements.getBonus(), achievements.isFailed());
+    }
+
+    /**
+     * Get the exam score the player would get if the game ended along with the current day.
+     *
+     * @return the projected exam score.
+     */
+    public int getProjectedScore() {
+        return ScoreCalculator.getExamScore(
+                normalisedTotal + ScoreCalculator.getNormalisedDayPoints(study, meal, recreation),
+                achievements.getProjectedBonus(),
+                achievements.isProjectedFailed());
+    }
+}
@@ -1,11 +1,33 @@
 package io.github.uoyeng1g6.models;
 
 import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.constants.GameConstants;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 public class ScoreCalculator {
+    /**
+     * Bits of the achievement masks returned by {@link #scoreBatch}, in the same order as
+     * {@link #calculateAchievements} and the default {@link AchievementRules}.
+     */
+    public static final int MOVIE_ACHIEVEMENT = 1;
+
+    public static final int TOWN_ACHIEVEMENT = 2;
+    public static final int SPORT_ACHIEVEMENT = 4;
+    public static final int STUDY_FAILURE = 8;
+
+    /**
+     * All of the achievement bits.
+     */
+    public static final int ACHIEVEMENTS = MOVIE_ACHIEVEMENT | TOWN_ACHIEVEMENT | SPORT_ACHIEVEMENT | STUDY_FAILURE;
+
+    /**
+     * Bits used alongside the achievement bits to track progress towards failing for missing study.
+     */
+    static final int FAILED_STUDY_ONCE = 16;
+
+    static final int STUDY_FAIL_CHECK = 32;
 
     private static final float MAX_DAY_SCORE = 168f;
     /**
@@ -60,6 +82,20 @@ public class ScoreCalculator {
         return studyPoints + mealPoints + recreationPoints;
     }
 
+    /**
+     * Calculate the score for a given day, normalised to the range 0-100 and rounded up. Scores below the theoretical
+     * minimum give negative results.
+     *
+     * @param studyCount the number of times the player studied during the day.
+     * @param mealCount the number of times the player ate during the day.
+     * @param recreationCount the number of recreational activities done by the player during the day.
+     * @return the normalised day score.
+     */
+    public static int getNormalisedDayScore(int studyCount, int mealCount, int recreationCount) {
+        var dayScore = getDayScore(studyCount, mealCount, recreationCount);
+        return (int) Math.ceil(((dayScore - MIN_DAY_SCORE) * 100) / (MAX_DAY_SCORE - MIN_DAY_SCORE));
+    }
+
     /**
      * Calculate the aggregate score of all the days.
      *
@@ -75,9 +111,8 @@ public class ScoreCalculator {
             int mealCount = day.statFor(ActivityType.MEAL);
             int recreationCount = day.statFor(ActivityType.RECREATION);
 
-            var dayScore = getDayScore(studyCount, mealCount, recreationCount);
             // Normalise day score between 0 and 100, round up to nearest whole number
-            var normalisedDayScore = Math.ceil(((dayScore - MIN_DAY_SCORE) * 100) / (MAX_DAY_SCORE - MIN_DAY_SCORE));
+            double normalisedDayScore = getNormalisedDayScore(studyCount, mealCount, recreationCount);
 
             // Increase total score
             totalScore += (float) (normalisedDayScore * (1 / 7f));
@@ -111,6 +146,140 @@ public class ScoreCalculator {
         return examScore;
     }
 
+    /**
+     * Closed form of {@link #getDayScore}.
+     */
+    private static int getDayPoints(int studyCount, int mealCount, int recreationCount) {
+        var studyPoints = studyCount == 0 ? -75 : 10 * Math.min(studyCount, 8) - 5 * Math.max(0, studyCount - 8);
+        var mealPoints = mealCount == 0 ? -50 : 16 * Math.min(mealCount, 3) - 5 * Math.max(0, mealCount - 3);
+        var recreationPoints =
+                recreationCount == 0 ? -30 : 8 * Math.min(recreationCount, 5) + 4 * Math.max(0, recreationCount - 5);
+        return studyPoints + mealPoints + recreationPoints;
+    }
+
+    /**
+     * Integer equivalent of {@link #getNormalisedDayScore}.
+     */
+    static int getNormalisedDayPoints(int studyCount, int mealCount, int recreationCount) {
+        var points = getDayPoints(studyCount, mealCount, recreationCount);
+        // Rounded up
+        return -Math.floorDiv(((int) MIN_DAY_SCORE - points) * 100, (int) (MAX_DAY_SCORE - MIN_DAY_SCORE));
+    }
+
+    /**
+     * Update the achievements at the end of a day, following the same steps as {@link #calculateAchievements}.
+     *
+     * @param flags the achievement mask at the start of the day, including the study failure progress bits.
+     * @param studyCount the number of times the player studied during the day.
+     * @param movieCount the number of times the player watched films during the day.
+     * @param townCount the number of times the player went to town during the day.
+     * @param sportsCount the number of times the player played sports during the day.
+     * @return the achievement mask at the end of the day.
+     */
+    static int endDay(int flags, int studyCount, int movieCount, int townCount, int sportsCount) {
+        flags |= movieCount >= 3 ? MOVIE_ACHIEVEMENT : 0;
+        flags |= townCount >= 5 ? TOWN_ACHIEVEMENT : 0;
+        flags &= sportsCount == 0 ? ~SPORT_ACHIEVEMENT : -1;
+
+        if ((flags & STUDY_FAIL_CHECK) != 0) {
+            flags |= studyCount < 2 ? STUDY_FAILURE : 0;
+            flags &= studyCount >= 2 ? ~STUDY_FAIL_CHECK : -1;
+        }
+        if (studyCount == 0 && (flags & STUDY_FAIL_CHECK) == 0) {
+            flags |= (flags & FAILED_STUDY_ONCE) != 0 ? STUDY_FAILURE : 0;
+            flags |= FAILED_STUDY_ONCE | STUDY_FAIL_CHECK;
+        }
+        return flags;
+    }
+
+    /**
+     * Get the exam score from the sum of the normalised day scores and the achievements, matching
+     * {@link #calculateExamScore}.
+     *
+     * @param normalisedTotal the sum of the normalised day scores.
+     * @param flags the achievement mask.
+     * @return the exam score.
+     */
+    static int getExamScore(int normalisedTotal, int flags) {
+        return getExamScore(
+                normalisedTotal,
+                Integer.bitCount(flags & (MOVIE_ACHIEVEMENT | TOWN_ACHIEVEMENT | SPORT_ACHIEVEMENT)) * 5,
+                (flags & STUDY_FAILURE) != 0);
+    }
+
+    /**
+     * Get the exam score from the sum of the normalised day scores and the total achievement bonus.
+     *
+     * @param normalisedTotal the sum of the normalised day scores.
+     * @param bonus the total bonus of the achievements earned.
+     * @param failed whether an achievement that fails the game was earned.
+     * @return the exam score.
+     */
+    static int getExamScore(int normalisedTotal, int bonus, boolean failed) {
+        if (failed) {
+            return 0;
+        }
+        // Every day is worth a seventh of its score, so work in sevenths of a point to round exactly
+        var days = GameConstants.MAX_DAYS;
+        var total = normalisedTotal + bonus * days;
+        // Round half up and clamp to 0-100
+        return total <= 0 ? 0 : Math.min(100, (2 * total + days) / (2 * days));
+    }
+
+    /**
+     * Score every game in a batch. Equivalent to calling {@link #calculateExamScore} and
+     * {@link #calculateAchievements} for each game.
+     *
+     * @param batch the games to score.
+     * @param scores the array to put the exam score of each game in, indexed by the game's index in the batch.
+     * @param achievements the array to put the achievement mask of each game in, indexed by the game's index in the
+     *     batch.
+     */
+    public static void scoreBatch(GameBatch batch, int[] scores, int[] achievements) {
+        scoreBatch(batch, 0, batch.size(), scores, achievements);
+    }
+
+    /**
+     * Score a range of the games in a batch. Only the given range of the output arrays is written to, so separate
+     * ranges of the same batch can be scored on different threads at once.
+     *
+     * <p>Day scores are worked out in closed form with integer arithmetic rather than with the loops in
+     * {@link #getDayScore}, and the days are summed in sevenths of a point, which rounds to the same scores as
+     * {@link #calculateExamScore}. The loops run over the games in the innermost loop and only call small static
+     * methods, so the JIT can inline, unroll and vectorise them.
+     *
+     * @param batch the games to score.
+     * @param from the index of the first game to score.
+     * @param to the index after the last game to score.
+     * @param scores the array to put the exam score of each game in, indexed by the game's index in the batch.
+     * @param achievements the array to put the achievement mask of each game in, indexed by the game's index in the
+     *     batch. The mask is made of {@link #MOVIE_ACHIEVEMENT}, {@link #TOWN_ACHIEVEMENT},
+     *     {@link #SPORT_ACHIEVEMENT} and {@link #STUDY_FAILURE}.
+     */
+    public static void scoreBatch(GameBatch batch, int from, int to, int[] scores, int[] achievements) {
+        for (int game = from; game < to; game++) {
+            scores[game] = 0;
+            achievements[game] = SPORT_ACHIEVEMENT;
+        }
+
+        for (int day = 0; day < GameConstants.MAX_DAYS; day++) {
+            var offset = day * batch.capacity;
+            for (int game = from; game < to; game++) {
+                var i = offset + game;
+                var studyCount = batch.study[i];
+                scores[game] += getNormalisedDayPoints(studyCount, batch.meal[i], batch.recreation[i]);
+                achievements[game] =
+                        endDay(achievements[game], studyCount, batch.movie[i], batch.town[i], batch.sports[i]);
+            }
+        }
+
+        for (int game = from; game < to; game++) {
+            var flags = achievements[game] & ACHIEVEMENTS;
+            scores[game] = getExamScore(scores[game], flags);
+            achievements[game] = flags;
+        }
+    }
+
     // Get missed activities for each day
     // Used in the EndScreen to display tips if they fail.
     public static List<ActivityType[]> calculateMissedDays(List<GameState.Day> days) {
@@ -161,13 +330,13 @@ public class ScoreCalculator {
         // Various checks throughout the days to set achievements
         for (var day : days) {
 
-            if (day.statForName("movie") >= 3 && !movieAchievement) {
+            if (day.statFor(ActivityRegistry.MOVIE) >= 3 && !movieAchievement) {
                 movieAchievement = true;
             }
-            if (day.statForName("town") >= 5 && !townAchievement) {
+            if (day.statFor(ActivityRegistry.TOWN) >= 5 && !townAchievement) {
                 townAchievement = true;
             }
-            if (sportAchievement && day.statForName("sports") == 0) {
+            if (sportAchievement && day.statFor(ActivityRegistry.SPORTS) == 0) {
                 sportAchievement = false;
             }
             if (studyFailCheck && day.statFor(ActivityType.STUDY) < 2) {
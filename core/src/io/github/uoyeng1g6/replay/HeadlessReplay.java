@@ -0,0 +1,83 @@
+package io.github.uoyeng1g6.replay;
+
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.PhysicsPolygon;
+import io.github.uoyeng1g6.simulation.Simulation;
+
+/**
+ * Replays an {@link InputRecording} as fast as possible without a window or GL context. The same gameplay systems
+ * as the {@link io.github.uoyeng1g6.screens.Playing Playing} screen are run with the recorded frame lengths and
+ * input, so the game plays out exactly as it did when it was recorded. Box2d must have been
+ * {@link com.badlogic.gdx.physics.box2d.Box2D#init() initialised}.
+ */
+public class HeadlessReplay {
+    /**
+     * The recording to replay.
+     */
+    private final InputRecording recording;
+    /**
+     * The terrain polygons to create in the world.
+     */
+    private final PhysicsPolygon[] terrain;
+
+    /**
+     * The number of frames played by the last run.
+     */
+    private int frames = 0;
+    /**
+     * The time taken by the last run, in nanoseconds.
+     */
+    private long nanos = 0;
+
+    public HeadlessReplay(InputRecording recording, PhysicsPolygon[] terrain) {
+        this.recording = recording;
+        this.terrain = terrain;
+    }
+
+    /**
+     * Replay the recording until either the game ends or the recording runs out.
+     *
+     * @return the game state at the end of the replay.
+     */
+    public GameState run() {
+        var start = System.nanoTime();
+        var simulation = new Simulation(terrain, recording.tickRate);
+        try {
+            var player = new InputPlayer(recording);
+            var engine = simulation.createEngine(player, recording.sensorProximity);
+            var gameState = simulation.getGameState();
+
+            // Matches the order the Playing screen checks for the end of the game and updates the engine
+            while (player.hasNext()) {
+                if (simulation.isFinished()) {
+                    break;
+                }
+                engine.update(player.next());
+            }
+
+            frames = player.getFrame() + 1;
+            return gameState;
+        } finally {
+            simulation.dispose();
+            nanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Get the number of frames played by the last run.
+     *
+     * @return the number of frames.
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Get the time taken by the last run.
+     *
+     * @return the time taken, in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.uoyeng1g6.replay;
+
+import io.github.uoyeng1g6.systems.PlayerInputSystem;
+
+/**
+ * Input source that plays back a recording. The game must be updated with the recorded frame lengths for the
+ * replay to match the original, so each frame is started with {@link #next()}, which gives its length. Frames that
+ * are not started this way have no input.
+ */
+public class InputPlayer implements PlayerInputSystem.InputSource {
+    /**
+     * The recording being played.
+     */
+    private final InputRecording recording;
+    /**
+     * The index of the current frame, or {@code -1} before the first.
+     */
+    private int frame = -1;
+    /**
+     * The input flags for the current frame, cleared once sampled.
+     */
+    private int input = 0;
+
+    public InputPlayer(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Check whether there are any frames left to play.
+     *
+     * @return whether {@link #next()} can be called.
+     */
+    public boolean hasNext() {
+        return frame + 1 < recording.size();
+    }
+
+    /**
+     * Move on to the next frame.
+     *
+     * @return the length of the frame, in seconds.
+     */
+    public float next() {
+        input = recording.getInput(++frame);
+        return recording.getDelta(frame);
+    }
+
+    /**
+     * Get the index of the current frame.
+     *
+     * @return the current frame, or {@code -1} before the first.
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    public InputRecording getRecording() {
+        return recording;
+    }
+
+    @Override
+    public int sample(float deltaTime) {
+        // Frames not started with next(), such as those after the recording runs out, have no input
+        var sampled = input;
+        input = 0;
+        return sampled;
+    }
+}
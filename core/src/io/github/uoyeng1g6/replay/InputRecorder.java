@@ -0,0 +1,33 @@
+package io.github.uoyeng1g6.replay;
+
+import io.github.uoyeng1g6.systems.PlayerInputSystem;
+
+/**
+ * Input source that records the input of another source, along with the length of each frame.
+ */
+public class InputRecorder implements PlayerInputSystem.InputSource {
+    /**
+     * The source being recorded.
+     */
+    private final PlayerInputSystem.InputSource source;
+    /**
+     * The recording to add frames to.
+     */
+    private final InputRecording recording;
+
+    public InputRecorder(PlayerInputSystem.InputSource source, InputRecording recording) {
+        this.source = source;
+        this.recording = recording;
+    }
+
+    @Override
+    public int sample(float deltaTime) {
+        var input = source.sample(deltaTime);
+        recording.addFrame(deltaTime, input);
+        return input;
+    }
+
+    public InputRecording getRecording() {
+        return recording;
+    }
+}
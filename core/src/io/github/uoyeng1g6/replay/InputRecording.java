@@ -0,0 +1,150 @@
+package io.github.uoyeng1g6.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+import io.github.uoyeng1g6.systems.PlayerInputSystem;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The player's input for every frame of a game, along with the settings that affect how the game plays out. The
+ * game has no randomness, so replaying the same input with the same frame times and settings reproduces the game
+ * exactly.
+ *
+ * <p>Stored in a compact binary format: a header of the {@link #MAGIC magic number}, {@link #VERSION format
+ * version}, physics tick rate, proximity backend and number of frames, followed by the length of each frame as a
+ * float and its {@link PlayerInputSystem input flags} as a byte.
+ */
+public class InputRecording {
+    /**
+     * Magic number identifying an input recording. The ASCII characters {@code HHIR}.
+     */
+    public static final int MAGIC = 0x48484952;
+    /**
+     * The version of the format written. Recordings in any other version are rejected.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of physics steps simulated per second.
+     */
+    public final int tickRate;
+    /**
+     * Whether interactables were found using box2d sensors.
+     */
+    public final boolean sensorProximity;
+
+    /**
+     * The length of each frame, in seconds.
+     */
+    private final FloatArray deltas;
+    /**
+     * The input flags for each frame.
+     */
+    private final ByteArray inputs;
+
+    public InputRecording(int tickRate, boolean sensorProximity) {
+        this(tickRate, sensorProximity, new FloatArray(), new ByteArray());
+    }
+
+    private InputRecording(int tickRate, boolean sensorProximity, FloatArray deltas, ByteArray inputs) {
+        this.tickRate = tickRate;
+        this.sensorProximity = sensorProximity;
+        this.deltas = deltas;
+        this.inputs = inputs;
+    }
+
+    /**
+     * Add a frame to the end of the recording.
+     *
+     * @param delta the length of the frame, in seconds.
+     * @param input the input flags for the frame.
+     */
+    public void addFrame(float delta, int input) {
+        deltas.add(delta);
+        inputs.add((byte) input);
+    }
+
+    /**
+     * Get the number of frames in the recording.
+     *
+     * @return the number of frames.
+     */
+    public int size() {
+        return deltas.size;
+    }
+
+    public float getDelta(int frame) {
+        return deltas.get(frame);
+    }
+
+    public int getInput(int frame) {
+        return inputs.get(frame);
+    }
+
+    /**
+     * Write the recording to a file.
+     *
+     * @param file the file to write to.
+     */
+    public void write(FileHandle file) {
+        DataOutputStream output = null;
+        try {
+            output = new DataOutputStream(new BufferedOutputStream(file.write(false)));
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(tickRate);
+            output.writeBoolean(sensorProximity);
+            output.writeInt(size());
+            for (int i = 0; i < size(); i++) {
+                output.writeFloat(deltas.get(i));
+                output.writeByte(inputs.get(i));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error writing input recording: " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(output);
+        }
+    }
+
+    /**
+     * Read a recording from a file.
+     *
+     * @param file the file to read.
+     * @return the recording.
+     */
+    public static InputRecording read(FileHandle file) {
+        DataInputStream input = null;
+        try {
+            input = new DataInputStream(new BufferedInputStream(file.read()));
+            if (input.readInt() != MAGIC) {
+                throw new GdxRuntimeException("Not an input recording: " + file);
+            }
+            var version = input.readShort();
+            if (version != VERSION) {
+                throw new GdxRuntimeException("Unsupported input recording version " + version + ": " + file);
+            }
+
+            var tickRate = input.readInt();
+            var sensorProximity = input.readBoolean();
+            var frames = input.readInt();
+            var deltas = new FloatArray(frames);
+            var inputs = new ByteArray(frames);
+            for (int i = 0; i < frames; i++) {
+                deltas.add(input.readFloat());
+                inputs.add(input.readByte());
+            }
+            return new InputRecording(tickRate, sensorProximity, deltas, inputs);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading input recording: " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(input);
+        }
+    }
+}
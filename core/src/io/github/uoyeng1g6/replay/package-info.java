@@ -0,0 +1,5 @@
+/**
+ * Package containing classes used to record the player's input during a game, and replay it either in the game
+ * window or headless.
+ */
+package io.github.uoyeng1g6.replay;
@@ -0,0 +1,175 @@
+package io.github.uoyeng1g6.save;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Disposable;
+import io.github.uoyeng1g6.events.GameEventBus;
+import io.github.uoyeng1g6.models.GameState;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a {@link SaveGame save} of a game up to date as it is played.
+ *
+ * <p>Whenever the game state {@link GameState#events publishes} a change the game is serialised on the render thread,
+ * into a buffer reused for every save, and the buffer is written out on a background thread. The save is written to
+ * a temporary file which then replaces the save in a single rename, so a crash part way through writing leaves the
+ * previous save in place. Changes made while a save is being written are saved once it has finished, so the buffer is
+ * never serialised into while it is being written.
+ */
+public class Autosave implements Disposable {
+    /**
+     * How long to wait for a save still being written when disposed, in milliseconds.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 2000;
+
+    private final FileHandle file;
+    private final GameState gameState;
+    private final Body playerBody;
+    private final GameEventBus.Subscription events;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "Autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The buffer the game is serialised into. Replaced if a save outgrows it.
+     */
+    private ByteBuffer buffer = ByteBuffer.allocate(1024);
+    /**
+     * Whether {@link #buffer} is being written out by the background thread.
+     */
+    private final AtomicBoolean writing = new AtomicBoolean();
+    /**
+     * Whether the game has changed since it was last serialised.
+     */
+    private boolean pending = false;
+    /**
+     * Whether the save has been {@link #delete() deleted}, after which nothing more is saved.
+     */
+    private boolean deleted = false;
+
+    /**
+     * The number of saves written so far.
+     */
+    private volatile int saves = 0;
+
+    /**
+     * Create an autosave for a game. Nothing is saved until the game changes.
+     *
+     * @param file the file to keep the save in.
+     * @param gameState the state of the game.
+     * @param playerBody the player's body in the physics world.
+     */
+    public Autosave(FileHandle file, GameState gameState, Body playerBody) {
+        this.file = file;
+        this.gameState = gameState;
+        this.playerBody = playerBody;
+        this.events = gameState.events.subscribe();
+    }
+
+    /**
+     * Save the game if it has changed and the previous save has finished being written. Must be called from the
+     * thread that changes the game, once every frame.
+     */
+    public void update() {
+        if (events.skipAll() > 0) {
+            pending = true;
+        }
+        if (pending && !deleted && !writing.get()) {
+            pending = false;
+            var data = SaveGame.write(buffer, gameState, playerBody.getPosition());
+            buffer = data;
+            writing.set(true);
+            executor.execute(() -> {
+                try {
+                    write(data);
+                } finally {
+                    writing.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Write a serialised save to a temporary file, then move it over the save.
+     */
+    private void write(ByteBuffer data) {
+        var target = file.file().toPath();
+        var temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            try (var channel = FileChannel.open(
+                    temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                var contents = data.duplicate();
+                while (contents.hasRemaining()) {
+                    channel.write(contents);
+                }
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            saves++;
+        } catch (IOException e) {
+            Gdx.app.error("Autosave", "Failed to write save: " + file, e);
+        }
+    }
+
+    /**
+     * Delete the save, such as once the game has finished, and stop saving. Any save still being written is finished
+     * first so that it cannot recreate the file.
+     */
+    public void delete() {
+        deleted = true;
+        executor.execute(() -> {
+            if (file.exists() && !file.delete()) {
+                Gdx.app.error("Autosave", "Failed to delete save: " + file);
+            }
+        });
+    }
+
+    /**
+     * Get the number of saves written so far.
+     *
+     * @return the number of saves.
+     */
+    public int getSaves() {
+        return saves;
+    }
+
+    /**
+     * Wait for any save still being written, then save the game one last time so the player's latest position is
+     * kept, unless the save has been {@link #delete() deleted}.
+     */
+    @Override
+    public void dispose() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                Gdx.app.error("Autosave", "Timed out waiting for save to be written: " + file);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!deleted) {
+            write(SaveGame.write(buffer, gameState, playerBody.getPosition()));
+        }
+    }
+}
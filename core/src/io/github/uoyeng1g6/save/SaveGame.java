@@ -0,0 +1,198 @@
+package io.github.uoyeng1g6.save;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.ActivityRegistry;
+import io.github.uoyeng1g6.models.GameState;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A game in progress: the game state and where the player is standing.
+ *
+ * <p>Stored in a compact binary format: a header of the {@link #MAGIC magic number} and {@link #VERSION format
+ * version}, then the days, energy and hours remaining, the player's position, the interaction overlay if one is
+ * showing, and the activity counts of each completed day followed by the current day. Days store the count of each
+ * activity type, and the name and count of each activity done, as {@link ActivityRegistry ids} may differ between
+ * runs.
+ */
+public class SaveGame {
+    /**
+     * Magic number identifying a save. The ASCII characters {@code HHSV}.
+     */
+    public static final int MAGIC = 0x48485356;
+    /**
+     * The version of the format written. Saves in any other version are rejected.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The state of the game.
+     */
+    public final GameState gameState;
+    /**
+     * The position of the player's body in the physics world.
+     */
+    public final Vector2 playerPosition;
+
+    public SaveGame(GameState gameState, Vector2 playerPosition) {
+        this.gameState = gameState;
+        this.playerPosition = playerPosition;
+    }
+
+    /**
+     * Write a game to a buffer, replacing its contents. If the buffer is too small, a larger one is allocated and
+     * written to instead.
+     *
+     * @param buffer the buffer to write to.
+     * @param gameState the state of the game.
+     * @param playerPosition the position of the player's body.
+     * @return the buffer written to, flipped ready to be read.
+     */
+    public static ByteBuffer write(ByteBuffer buffer, GameState gameState, Vector2 playerPosition) {
+        while (true) {
+            try {
+                buffer.clear();
+                writeTo(buffer, gameState, playerPosition);
+                return buffer.flip();
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    private static void writeTo(ByteBuffer buffer, GameState gameState, Vector2 playerPosition) {
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putInt(gameState.daysRemaining);
+        buffer.putInt(gameState.energyRemaining);
+        buffer.putInt(gameState.hoursRemaining);
+        buffer.putFloat(playerPosition.x);
+        buffer.putFloat(playerPosition.y);
+
+        var overlay = gameState.interactionOverlay;
+        buffer.put((byte) (overlay == null ? 0 : 1));
+        if (overlay != null) {
+            writeString(buffer, overlay.text);
+            buffer.putFloat(overlay.displayFor);
+            buffer.putFloat(overlay.elapsed);
+        }
+
+        buffer.putInt(gameState.days.size());
+        for (var day : gameState.days) {
+            writeDay(buffer, day);
+        }
+        writeDay(buffer, gameState.currentDay);
+    }
+
+    private static void writeDay(ByteBuffer buffer, GameState.Day day) {
+        for (var type : ActivityType.values()) {
+            buffer.putInt(day.statFor(type));
+        }
+
+        // Only activities that were done are written, so the count is filled in afterwards
+        var countPosition = buffer.position();
+        buffer.putShort((short) 0);
+        var activities = 0;
+        for (int id = 0; id < ActivityRegistry.size(); id++) {
+            var count = day.statFor(id);
+            if (count != 0) {
+                writeString(buffer, ActivityRegistry.nameOf(id));
+                buffer.putInt(count);
+                activities++;
+            }
+        }
+        buffer.putShort(countPosition, (short) activities);
+    }
+
+    private static void writeString(ByteBuffer buffer, String string) {
+        var bytes = string.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Read a game from a buffer.
+     *
+     * @param buffer the buffer to read from, positioned at the start of the save.
+     * @return the game.
+     * @throws GdxRuntimeException if the buffer does not hold a save in the current version.
+     */
+    public static SaveGame read(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new GdxRuntimeException("Not a saved game");
+            }
+            var version = buffer.getShort();
+            if (version != VERSION) {
+                throw new GdxRuntimeException("Unsupported saved game version " + version);
+            }
+
+            var daysRemaining = buffer.getInt();
+            var energyRemaining = buffer.getInt();
+            var hoursRemaining = buffer.getInt();
+            var playerPosition = new Vector2(buffer.getFloat(), buffer.getFloat());
+
+            GameState.InteractionOverlay overlay = null;
+            if (buffer.get() != 0) {
+                overlay = GameState.InteractionOverlay.resume(readString(buffer), buffer.getFloat(), buffer.getFloat());
+            }
+
+            // Replay the days into a new state, so the running totals, score and achievements are rebuilt with them
+            var gameState = new GameState();
+            var completed = buffer.getInt();
+            for (int i = 0; i < completed; i++) {
+                gameState.addActivities(readDay(buffer));
+                gameState.advanceDay();
+            }
+            gameState.addActivities(readDay(buffer));
+
+            gameState.daysRemaining = daysRemaining;
+            gameState.energyRemaining = energyRemaining;
+            gameState.hoursRemaining = hoursRemaining;
+            gameState.interactionOverlay = overlay;
+            gameState.markChanged();
+            return new SaveGame(gameState, playerPosition);
+        } catch (BufferUnderflowException e) {
+            throw new GdxRuntimeException("Truncated saved game", e);
+        }
+    }
+
+    private static GameState.Day readDay(ByteBuffer buffer) {
+        var day = new GameState.Day();
+        for (var type : ActivityType.values()) {
+            day.add(type, buffer.getInt());
+        }
+        var activities = buffer.getShort();
+        for (int i = 0; i < activities; i++) {
+            var id = ActivityRegistry.register(readString(buffer));
+            day.add(id, buffer.getInt());
+        }
+        return day;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a game from a file.
+     *
+     * @param file the file to read.
+     * @return the game.
+     * @throws GdxRuntimeException if the file could not be read or does not hold a save in the current version.
+     */
+    public static SaveGame read(FileHandle file) {
+        try {
+            return read(ByteBuffer.wrap(file.readBytes()));
+        } catch (GdxRuntimeException e) {
+            throw new GdxRuntimeException("Error reading saved game: " + file, e);
+        }
+    }
+}
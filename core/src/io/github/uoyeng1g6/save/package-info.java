@@ -0,0 +1,5 @@
+/**
+ * Package containing the save format for games in progress, and the autosave that keeps the save up to date while
+ * the game is played.
+ */
+package io.github.uoyeng1g6.save;
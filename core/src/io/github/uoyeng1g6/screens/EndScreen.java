@@ -16,7 +16,6 @@ import io.github.uoyeng1g6.constants.GameConstants;
 import io.github.uoyeng1g6.models.GameState;
 import io.github.uoyeng1g6.models.ScoreCalculator;
 import io.github.uoyeng1g6.utils.ChangeListener;
-import java.util.List;
 
 /**
  * The end screen of the game. Displays the player's score and the total number done of each activity.
@@ -50,7 +49,8 @@ public class EndScreen implements Screen {
 
         var inner = new Table(game.skin);
 
-        examScore = ScoreCalculator.calculateExamScore(endGameState.days);
+        // Both kept up to date as the game was played, so nothing needs rescanning here
+        examScore = endGameState.score.getExamScore();
 
         inner.add(String.format("Exam Score: %d / 100", examScore)).padBottom(50);
         inner.row();
@@ -62,14 +62,19 @@ public class EndScreen implements Screen {
                 .padBottom(50);
         inner.row();
         inner.row();
-        List<Boolean> achievements = ScoreCalculator.calculateAchievements(endGameState.days);
+        var achievements = endGameState.achievements;
+        var rules = achievements.getRules();
 
-        // If failed due to not catching up study, replace achievements section with failure
-        if (achievements.get(3)) {
+        // If failed due to an achievement such as not catching up study, replace achievements section with failure
+        if (achievements.isFailed()) {
             inner.add("Failed").padBottom(20);
             inner.row();
-            inner.add("You missed a day of study and didn't catch up the next day :(");
-            inner.row();
+            for (int i = 0; i < rules.size(); i++) {
+                if (rules.get(i).failsGame() && achievements.isEarned(i)) {
+                    inner.add(rules.get(i).getDescription());
+                    inner.row();
+                }
+            }
         } else if (examScore < 40) {
             // If they fail due to a low score, display tips
 
@@ -119,19 +124,17 @@ public class EndScreen implements Screen {
             // If they did not fail, display the achievements section instead
             inner.add("Achievements").padBottom(20);
             inner.row();
-            if (achievements.get(0)) {
-                inner.add("Movie Marathon: Watch at least 3 movies in a single day +5");
-                inner.row();
-            }
-            if (achievements.get(1)) {
-                inner.add("You really went to town on that...: Go to town at least 5 times in a single day +5");
-                inner.row();
-            }
-            if (achievements.get(2)) {
-                inner.add("Gymbro: Go to the gym at least once a day, every day +5");
-                inner.row();
+            var found = false;
+            for (int i = 0; i < rules.size(); i++) {
+                var achievement = rules.get(i);
+                if (!achievement.failsGame() && achievements.isEarned(i)) {
+                    inner.add(String.format(
+                            "%s: %s +%d", achievement.getName(), achievement.getDescription(), achievement.getBonus()));
+                    inner.row();
+                    found = true;
+                }
             }
-            if (!(achievements.get(0) || achievements.get(1) || achievements.get(2))) {
+            if (!found) {
                 inner.add("You found no achievements.");
                 inner.row();
             }
@@ -0,0 +1,91 @@
+package io.github.uoyeng1g6.screens;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import io.github.uoyeng1g6.HeslingtonHustle;
+import io.github.uoyeng1g6.constants.GameConstants;
+
+/**
+ * Screen shown while the game's assets are still loading. Displays the overall loading progress, and moves on to
+ * the requested state as soon as the assets it needs are available.
+ */
+public class Loading implements Screen {
+    private static final float BAR_WIDTH = GameConstants.WORLD_WIDTH * 6;
+    private static final float BAR_HEIGHT = 20;
+
+    private final HeslingtonHustle game;
+    /**
+     * The state to move to once its assets have loaded.
+     */
+    private final HeslingtonHustle.State next;
+
+    private final Viewport viewport;
+    /**
+     * Font used to draw the loading message. Owned by this screen as the game's fonts may not be loaded yet.
+     */
+    private final BitmapFont font;
+    private final GlyphLayout message;
+
+    public Loading(HeslingtonHustle game, HeslingtonHustle.State next) {
+        this.game = game;
+        this.next = next;
+
+        viewport = new FitViewport(
+                GameConstants.WORLD_WIDTH * 10, GameConstants.WORLD_HEIGHT * 10, new OrthographicCamera());
+
+        font = new BitmapFont();
+        font.getData().setScale(2);
+        message = new GlyphLayout(font, "Loading...");
+    }
+
+    @Override
+    public void render(float delta) {
+        if (game.isReady(next)) {
+            game.setState(next);
+            return;
+        }
+
+        ScreenUtils.clear(0, 0, 0, 1);
+        viewport.apply();
+
+        var centreX = viewport.getWorldWidth() / 2;
+        var centreY = viewport.getWorldHeight() / 2;
+        var barX = centreX - BAR_WIDTH / 2;
+        var barY = centreY - BAR_HEIGHT / 2;
+
+        game.spriteBatch.setProjectionMatrix(viewport.getCamera().combined);
+        game.spriteBatch.begin();
+        font.draw(game.spriteBatch, message, centreX - message.width / 2, barY + BAR_HEIGHT + message.height * 2);
+        game.shapeDrawer.filledRectangle(barX, barY, BAR_WIDTH * game.assetManager.getProgress(), BAR_HEIGHT);
+        game.shapeDrawer.rectangle(barX, barY, BAR_WIDTH, BAR_HEIGHT, Color.WHITE, 2);
+        game.spriteBatch.end();
+    }
+
+    @Override
+    public void show() {}
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+
+    @Override
+    public void dispose() {
+        font.dispose();
+    }
+}
@@ -14,7 +14,8 @@ import io.github.uoyeng1g6.constants.GameConstants;
 import io.github.uoyeng1g6.utils.ChangeListener;
 
 /**
- * The main menu screen for the game. Allows the player to start a new game, or quit to desktop.
+ * The main menu screen for the game. Allows the player to start a new game, resume the game in progress, view the
+ * leaderboard, or quit to desktop.
  */
 public class MainMenu implements Screen {
     /**
@@ -47,6 +48,17 @@ public class MainMenu implements Screen {
 
         inner.row();
 
+        if (game.hasSave()) {
+            var resumeButton = new TextButton("Resume Game", game.skin);
+            resumeButton.addListener(ChangeListener.of((e, a) -> game.resumeGame()));
+            inner.add(resumeButton)
+                    .pad(10)
+                    .width(Value.percentWidth(0.4f, inner))
+                    .height(Value.percentHeight(0.1f, inner));
+
+            inner.row();
+        }
+
         var leaderboardButton = new TextButton("Leaderboard", game.skin);
         leaderboardButton.addListener(
                 ChangeListener.of((e, a) -> game.setState(HeslingtonHustle.State.MAIN_TO_LEADERBOARD)));
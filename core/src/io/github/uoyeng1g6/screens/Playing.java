@@ -7,23 +7,15 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
-import com.badlogic.gdx.physics.box2d.CircleShape;
-import com.badlogic.gdx.physics.box2d.Fixture;
-import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
-import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
-import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
-import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import io.github.uoyeng1g6.HeslingtonHustle;
@@ -39,19 +31,26 @@ import io.github.uoyeng1g6.components.TooltipComponent;
 import io.github.uoyeng1g6.constants.ActivityType;
 import io.github.uoyeng1g6.constants.GameConstants;
 import io.github.uoyeng1g6.constants.MoveDirection;
-import io.github.uoyeng1g6.constants.PlayerConstants;
+import io.github.uoyeng1g6.events.GameEvent;
+import io.github.uoyeng1g6.events.GameEventBus;
 import io.github.uoyeng1g6.models.GameState;
-import io.github.uoyeng1g6.models.PhysicsPolygon;
+import io.github.uoyeng1g6.replay.InputPlayer;
+import io.github.uoyeng1g6.replay.InputRecorder;
+import io.github.uoyeng1g6.replay.InputRecording;
+import io.github.uoyeng1g6.save.Autosave;
+import io.github.uoyeng1g6.save.SaveGame;
+import io.github.uoyeng1g6.simulation.Gameplay;
+import io.github.uoyeng1g6.simulation.Simulation;
 import io.github.uoyeng1g6.systems.AnimationSystem;
 import io.github.uoyeng1g6.systems.CounterUpdateSystem;
 import io.github.uoyeng1g6.systems.DebugSystem;
 import io.github.uoyeng1g6.systems.InteractionOverlayRenderingSystem;
 import io.github.uoyeng1g6.systems.MapRenderingSystem;
 import io.github.uoyeng1g6.systems.PlayerInputSystem;
-import io.github.uoyeng1g6.systems.PlayerInteractionSystem;
 import io.github.uoyeng1g6.systems.StaticRenderingSystem;
 import io.github.uoyeng1g6.systems.TooltipRenderingSystem;
 import io.github.uoyeng1g6.utils.BackgroundManager;
+import io.github.uoyeng1g6.utils.TextFormat;
 import java.util.Map;
 
 /**
@@ -77,6 +76,10 @@ public class Playing implements Screen {
      * The current game state;
      */
     GameState gameState;
+    /**
+     * The simulation owning the physics world, the game state and the interaction locations.
+     */
+    Simulation simulation;
     /**
      * The box2d world used for the physics system.
      */
@@ -87,12 +90,45 @@ public class Playing implements Screen {
      */
     Box2DDebugRenderer debugRenderer = null;
 
+    /**
+     * Records the player's input if the game is running with input recording enabled.
+     */
+    InputRecorder inputRecorder = null;
+    /**
+     * Plays back the player's input if the game is replaying a recording.
+     */
+    InputPlayer inputPlayer = null;
+    /**
+     * Keeps the save up to date as the game is played. {@code null} while recording or replaying input, as a game
+     * resumed from a save could not be replayed from the start.
+     */
+    Autosave autosave = null;
+
     Table energyTable = null;
     Table dayTable = null;
 
     BackgroundManager bm;
 
+    /**
+     * The game state's events, used to update the counter backgrounds and to tell when the game has finished.
+     */
+    GameEventBus.Subscription events;
+    /**
+     * The event read from {@link #events}, reused for every event.
+     */
+    final GameEvent event = new GameEvent();
+
     public Playing(HeslingtonHustle game) {
+        this(game, null);
+    }
+
+    /**
+     * Create the gameplay screen, either for a new game or continuing a saved one.
+     *
+     * @param game the game.
+     * @param resumeFrom the save to continue, or {@code null} to start a new game.
+     */
+    public Playing(HeslingtonHustle game, SaveGame resumeFrom) {
         this.game = game;
 
         camera = new OrthographicCamera();
@@ -113,10 +149,6 @@ public class Playing implements Screen {
         Table uiTopTable = new Table();
         dayTable = uiTopTable;
 
-        Drawable daysBackground = new TextureRegionDrawable(new TextureRegion(new Texture("background.png")));
-        daysBackground.setMinWidth(18);
-        daysBackground.setMinHeight(6);
-
         var daysLabel = new Label("Monday", labelStyle);
         daysLabel.setFontScale(0.17f);
         uiTopTable.add(daysLabel);
@@ -124,7 +156,6 @@ public class Playing implements Screen {
         var timeLabel = new Label("07:00", labelStyle);
         timeLabel.setFontScale(0.17f);
         uiTopTable.add(timeLabel);
-        uiTopTable.setBackground(daysBackground);
 
         uiTop.add(uiTopTable);
 
@@ -163,9 +194,7 @@ public class Playing implements Screen {
 
         Table counterTable = new Table();
 
-        Drawable countersBackground = new TextureRegionDrawable(new TextureRegion(new Texture("background.png")));
-        countersBackground.setMinWidth(12);
-        countersBackground.setMinHeight(13);
+        var countersBackground = BackgroundManager.createBackground(game.backgroundTexture, 12, 13);
 
         counterTable.add(todayLabel).padRight(0.5f);
         counterTable.add(totalLabel);
@@ -193,10 +222,6 @@ public class Playing implements Screen {
         energy.setDebug(game.debug);
         stage.addActor(energy);
 
-        Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture("background.png")));
-        background.setMinWidth(20);
-        background.setMinHeight(0);
-
         energyTable = new Table();
 
         var energyLabel = new Label("Energy Remaining:", labelStyle);
@@ -204,20 +229,56 @@ public class Playing implements Screen {
         var energyAmount = new Label(String.valueOf(GameConstants.MAX_ENERGY), labelStyle);
         energyAmount.setFontScale(0.2f);
 
+        var scoreLabel = new Label("Projected Score:", labelStyle);
+        scoreLabel.setFontScale(0.125f);
+        var scoreAmount = new Label("0", labelStyle);
+        scoreAmount.setFontScale(0.2f);
+
         energy.top().left();
         energyTable.add(energyLabel);
         energyTable.row();
         energyTable.add(energyAmount);
+        energyTable.row();
+        energyTable.add(scoreLabel);
+        energyTable.row();
+        energyTable.add(scoreAmount);
         energy.add(energyTable);
-        energyTable.setBackground(background);
 
-        bm = new BackgroundManager(energyTable, dayTable);
+        // Sets the initial backgrounds of the energy and day tables
+        bm = new BackgroundManager(
+                energyTable,
+                dayTable,
+                game.backgroundTexture,
+                game.backgroundEnergyMedTexture,
+                game.backgroundEnergyLowTexture);
 
         this.engine = new PooledEngine();
-        this.gameState = new GameState();
-        this.world = new World(new Vector2(), true);
+        // A replay must run with the settings it was recorded with
+        var tickRate = game.tickRate;
+        var sensorProximity = game.sensorProximity;
+        PlayerInputSystem.InputSource inputSource = PlayerInputSystem.KEYBOARD;
+        if (game.replayInput != null) {
+            var recording = InputRecording.read(Gdx.files.absolute(game.replayInput));
+            tickRate = recording.tickRate;
+            sensorProximity = recording.sensorProximity;
+            inputPlayer = new InputPlayer(recording);
+            inputSource = inputPlayer;
+        } else if (game.recordInput != null) {
+            inputRecorder = new InputRecorder(inputSource, new InputRecording(tickRate, sensorProximity));
+            inputSource = inputRecorder;
+        }
 
-        initTerrain();
+        this.simulation = new Simulation(Simulation.loadTerrain(Gdx.files.internal("terrain.json")), tickRate);
+        if (resumeFrom != null) {
+            simulation.restore(resumeFrom.gameState, resumeFrom.playerPosition);
+        }
+        this.gameState = simulation.getGameState();
+        this.events = gameState.events.subscribe();
+        this.world = simulation.getWorld();
+        bm.updateBackgrounds(gameState.energyRemaining, gameState.hoursRemaining);
+        if (game.recordInput == null && game.replayInput == null) {
+            autosave = new Autosave(game.getSaveFile(), gameState, simulation.getPlayerFixture().getBody());
+        }
 
         engine.addEntity(initPlayerEntity(engine));
 
@@ -240,42 +301,45 @@ public class Playing implements Screen {
                         return dayNameMap.get(gameState.daysRemaining);
                     }
                 })));
+        // Each counter formats its text into its own reused builder, so updating the counters allocates nothing
+        var timeText = new StringBuilder(5);
         engine.addEntity(engine.createEntity().add(new CounterComponent(timeLabel, state -> {
             var newHour = 7 + (GameConstants.MAX_HOURS - state.hoursRemaining);
-            return String.format("%s%d:00", newHour < 10 ? "0" : "", newHour);
+            return TextFormat.formatClockTime(timeText, newHour);
         })));
 
-        engine.addEntity(engine.createEntity()
-                .add(new CounterComponent(
-                        dayStudyLabel, state -> String.valueOf(state.currentDay.statFor(ActivityType.STUDY)))));
-        engine.addEntity(engine.createEntity()
-                .add(new CounterComponent(
-                        dayEatLabel, state -> String.valueOf(state.currentDay.statFor(ActivityType.MEAL)))));
-        engine.addEntity(engine.createEntity()
-                .add(new CounterComponent(
-                        dayRecreationLabel,
-                        state -> String.valueOf(state.currentDay.statFor(ActivityType.RECREATION)))));
+        engine.addEntity(initActivityCounter(engine, dayStudyLabel, ActivityType.STUDY, false));
+        engine.addEntity(initActivityCounter(engine, dayEatLabel, ActivityType.MEAL, false));
+        engine.addEntity(initActivityCounter(engine, dayRecreationLabel, ActivityType.RECREATION, false));
 
+        engine.addEntity(initActivityCounter(engine, totalStudyLabel, ActivityType.STUDY, true));
+        engine.addEntity(initActivityCounter(engine, totalEatLabel, ActivityType.MEAL, true));
+        engine.addEntity(initActivityCounter(engine, totalRecreationLabel, ActivityType.RECREATION, true));
+
+        var energyText = new StringBuilder(4);
         engine.addEntity(engine.createEntity()
                 .add(new CounterComponent(
-                        totalStudyLabel, state -> String.valueOf(state.getTotalActivityCount(ActivityType.STUDY)))));
-        engine.addEntity(engine.createEntity()
-                .add(new CounterComponent(
-                        totalEatLabel, state -> String.valueOf(state.getTotalActivityCount(ActivityType.MEAL)))));
+                        energyAmount, state -> TextFormat.formatPercent(energyText, state.energyRemaining))));
+
+        // Kept up to date by the game state as activities are done, so is cheap to read whenever the state changes
+        var scoreText = new StringBuilder(3);
         engine.addEntity(engine.createEntity()
                 .add(new CounterComponent(
-                        totalRecreationLabel,
-                        state -> String.valueOf(state.getTotalActivityCount(ActivityType.RECREATION)))));
+                        scoreAmount, state -> TextFormat.formatInt(scoreText, state.score.getProjectedScore()))));
 
-        engine.addEntity(engine.createEntity()
-                .add(new CounterComponent(energyAmount, state -> String.valueOf(state.energyRemaining) + "%")));
+        // Shared by the systems that need to find the interactables near the player
+        var proximityTracker = Gameplay.createProximityTracker(engine, world, sensorProximity);
 
-        engine.addSystem(new PlayerInputSystem(gameState));
-        engine.addSystem(new PlayerInteractionSystem(gameState));
-        engine.addSystem(new MapRenderingSystem(game.tiledMap, camera));
+        Gameplay.addSystems(engine, gameState, world, inputSource, proximityTracker, tickRate);
+        if (game.mapChunkCache != null) {
+            engine.addSystem(new MapRenderingSystem(game.mapChunkCache, game.spriteBatch, camera));
+        } else {
+            engine.addSystem(new MapRenderingSystem(game.sparseMap, game.spriteBatch, camera));
+        }
         engine.addSystem(new StaticRenderingSystem(game.spriteBatch));
         engine.addSystem(new AnimationSystem(game.spriteBatch, gameState));
-        engine.addSystem(new TooltipRenderingSystem(game.tooltipFont, game.shapeDrawer, game.spriteBatch, gameState));
+        engine.addSystem(new TooltipRenderingSystem(
+                game.tooltipFont, game.shapeDrawer, game.spriteBatch, gameState, proximityTracker));
         engine.addSystem(new CounterUpdateSystem(gameState));
         if (game.debug) {
             engine.addSystem(new DebugSystem(game.shapeDrawer));
@@ -297,28 +361,6 @@ public class Playing implements Screen {
         return gameState;
     }
 
-    /**
-     * Load the terrain polygons from the data json file and create them in the box2d world.
-     */
-    void initTerrain() {
-        var json = new Json();
-        var objects = json.fromJson(PhysicsPolygon[].class, Gdx.files.internal("terrain.json"));
-
-        for (var object : objects) {
-            var bodyDef = new BodyDef();
-            bodyDef.type = object.getType();
-            bodyDef.position.set(object.getPosition());
-
-            var body = world.createBody(bodyDef);
-            var shape = new PolygonShape();
-            shape.set(object.getVertices());
-
-            // We know that these will always be static bodies so will always have a density of 0
-            body.createFixture(shape, 0f);
-            shape.dispose();
-        }
-    }
-
     /**
      * Initialise the entities for the interaction locations on the map
      *
@@ -328,153 +370,36 @@ public class Playing implements Screen {
     Entity[] initInteractionLocations(Engine engine) {
         final var iconSize = 2 / 64f;
 
-        var studyIcon = game.interactionIconsTextureAtlas.findRegion("book_icon");
-        var cs = engine.createEntity()
-                .add(new TextureComponent(studyIcon, iconSize).show())
-                .add(new PositionComponent(25, 14))
-                .add(new HitboxComponent(new Rectangle(
-                        25, 14, studyIcon.getRegionWidth() * iconSize, studyIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(1, 6, ActivityType.STUDY, "Studying...", "cs")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Study for exams\nTime: -1h\nEnergy: -6"));
-
-        var library = engine.createEntity()
-                .add(new TextureComponent(studyIcon, iconSize).show())
-                .add(new PositionComponent(72.5f, 21.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        72.5f, 21.5f, studyIcon.getRegionWidth() * iconSize, studyIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(1, 6, ActivityType.STUDY, "Studying...", "library")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Study for exams\nTime: -1h\nEnergy: -6"));
-
-        var foodIcon = game.interactionIconsTextureAtlas.findRegion("food_icon");
-        var food = engine.createEntity()
-                .add(new TextureComponent(foodIcon, iconSize).show())
-                .add(new PositionComponent(54, 2.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        54, 2.5f, foodIcon.getRegionWidth() * iconSize, foodIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(1, 5, ActivityType.MEAL, "Eating...", "food")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Eat at Piazza\nTime: -1h\nEnergy: -5"));
-
-        var popcornIcon = game.interactionIconsTextureAtlas.findRegion("popcorn_icon");
-        var recreation = engine.createEntity()
-                .add(new TextureComponent(popcornIcon, iconSize).show())
-                .add(new PositionComponent(24, 55.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        24, 55.5f, popcornIcon.getRegionWidth() * iconSize, popcornIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(2, 14, ActivityType.RECREATION, "Watching films...", "movie")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Watch films with mates\nTime: -2h\nEnergy: -14"));
-
-        var footballIcon = game.interactionIconsTextureAtlas.findRegion("football_icon");
-        var sports = engine.createEntity()
-                .add(new TextureComponent(footballIcon, iconSize).show())
-                .add(new PositionComponent(71.5f, 47))
-                .add(new HitboxComponent(new Rectangle(
-                        71.5f,
-                        47,
-                        footballIcon.getRegionWidth() * iconSize,
-                        footballIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(2, 16, ActivityType.RECREATION, "Playing sports...", "sports")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Play some sports\nTime: -2h\nEnergy: -16"));
-
-        var gooseIcon = game.interactionIconsTextureAtlas.findRegion("goose_icon");
-        var ducks = engine.createEntity()
-                .add(new TextureComponent(gooseIcon, iconSize).show())
-                .add(new PositionComponent(33.5f, 5.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        33.5f, 5.5f, gooseIcon.getRegionWidth() * iconSize, gooseIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(1, 6, ActivityType.RECREATION, "Feeding ducks...", "ducks")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Feed some ducks\nTime: -1h\nEnergy: -6"));
-
-        var sofaIcon = game.interactionIconsTextureAtlas.findRegion("sofa_icon");
-        var chill = engine.createEntity()
-                .add(new TextureComponent(sofaIcon, iconSize).show())
-                .add(new PositionComponent(40.5f, 27.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        40.5f, 27.5f, sofaIcon.getRegionWidth() * iconSize, sofaIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(1, 6, ActivityType.RECREATION, "Relaxing...", "chill")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Relax with friends\nTime: -1h\nEnergy: -6"));
-
-        var busIcon = game.interactionIconsTextureAtlas.findRegion("bus_icon");
-        var town = engine.createEntity()
-                .add(new TextureComponent(busIcon, iconSize).show())
-                .add(new PositionComponent(17, 55.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        17, 55.5f, busIcon.getRegionWidth() * iconSize, busIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(1, 7, ActivityType.RECREATION, "Travelling...", "town")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Spend time in town\nTime: -1h\nEnergy: -7"));
-
-        var society = engine.createEntity()
-                .add(new TextureComponent(sofaIcon, iconSize).show())
-                .add(new PositionComponent(60.5f, 19.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        60.5f, 19.5f, sofaIcon.getRegionWidth() * iconSize, sofaIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(state -> {
-                    if (!state.doActivity(1, 5, ActivityType.RECREATION, "Socialising...", "society")) {
-                        // Notify insufficient time/energy
-                    }
-                }))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Go to your society\nTime: -1h\nEnergy: -5"));
-
-        var sleepIcon = game.interactionIconsTextureAtlas.findRegion("bed_icon");
-        var sleep = engine.createEntity()
-                .add(new TextureComponent(sleepIcon, iconSize).show())
-                .add(new PositionComponent(3.5f, 26.5f))
-                .add(new HitboxComponent(new Rectangle(
-                        3.5f, 26.5f, sleepIcon.getRegionWidth() * iconSize, sleepIcon.getRegionHeight() * iconSize)))
-                .add(new InteractionComponent(GameState::advanceDay))
-                .add(new TooltipComponent(game.tooltipFont, "[E] Go to sleep\nEnds the current day"));
-
-        return new Entity[] {cs, library, food, recreation, sleep, sports, ducks, chill, society, town};
+        var locations = simulation.getLocations();
+        var entities = new Entity[locations.size()];
+        for (int i = 0; i < entities.length; i++) {
+            var location = locations.get(i);
+            var icon = game.interactionIconsTextureAtlas.findRegion(location.icon);
+            entities[i] = engine.createEntity()
+                    .add(new TextureComponent(icon, iconSize).show())
+                    .add(new PositionComponent(location.hitbox.x, location.hitbox.y))
+                    .add(new HitboxComponent(new Rectangle(location.hitbox)))
+                    .add(new InteractionComponent(location::interact))
+                    .add(new TooltipComponent(game.tooltipFont, location.tooltip));
+        }
+        return entities;
     }
 
     /**
-     * Initialise the player's physics object in the box2d world.
+     * Initialise an entity that counts the number of activities of a type that have been done.
      *
-     * @return the fixture for the player's physics object.
+     * @param engine the engine to create the entity for.
+     * @param label the label to show the count in.
+     * @param type the type of activity to count.
+     * @param total whether to count activities over all days, rather than just the current day.
+     * @return the created entity.
      */
-    Fixture initPlayerBody() {
-        var player = new BodyDef();
-        player.type = BodyDef.BodyType.DynamicBody;
-        player.position.set(PlayerConstants.START_POSITION);
-        var playerBody = world.createBody(player);
-        playerBody.setUserData(PlayerConstants.HITBOX_RADIUS);
-        var playerCircle = new CircleShape();
-        playerCircle.setRadius(PlayerConstants.HITBOX_RADIUS);
-        var playerFixture = playerBody.createFixture(playerCircle, 1f);
-        playerCircle.dispose();
-
-        return playerFixture;
+    Entity initActivityCounter(Engine engine, Label label, ActivityType type, boolean total) {
+        var text = new StringBuilder(4);
+        return engine.createEntity().add(new CounterComponent(label, state -> {
+            var count = total ? state.getTotalActivityCount(type) : state.currentDay.statFor(type);
+            return TextFormat.formatInt(text, count);
+        }));
     }
 
     /**
@@ -504,17 +429,25 @@ public class Playing implements Screen {
         return engine.createEntity()
                 .add(new PlayerComponent())
                 .add(playerAnimations)
-                .add(new FixtureComponent(initPlayerBody()));
+                .add(new FixtureComponent(simulation.getPlayerFixture()));
     }
 
     @Override
     public void render(float delta) {
 
-        // Update the backgrounds of UI counters
-        bm.updateBackgrounds(gameState.energyRemaining, gameState.hoursRemaining);
+        // Update the backgrounds of UI counters as the game state changes
+        var finished = false;
+        while (events.poll(event)) {
+            bm.updateBackgrounds(event.energyRemaining, event.hoursRemaining);
+            // Allow the final interaction (day transition) to complete before showing the end screen
+            finished |= event.type == GameEvent.Type.OVERLAY_ENDED && event.daysRemaining == 0;
+        }
 
-        // Allow the final interaction (day transition) to complete before showing the end screen
-        if (gameState.daysRemaining == 0 && gameState.interactionOverlay == null) {
+        if (finished) {
+            saveRecording();
+            if (autosave != null) {
+                autosave.delete();
+            }
             game.setState(HeslingtonHustle.State.END_SCREEN);
             return;
         }
@@ -528,7 +461,14 @@ public class Playing implements Screen {
         game.spriteBatch.setProjectionMatrix(camera.combined);
         game.spriteBatch.begin();
 
+        if (inputPlayer != null && inputPlayer.hasNext()) {
+            // Replay each frame with its recorded length, so that it plays out exactly as it did when recorded
+            delta = inputPlayer.next();
+        }
         engine.update(delta);
+        if (autosave != null) {
+            autosave.update();
+        }
         if (game.physicsDebug) {
             debugRenderer.render(world, camera.combined);
         }
@@ -536,8 +476,21 @@ public class Playing implements Screen {
 
         stage.act();
         stage.draw();
+    }
+
+    /**
+     * Write the recorded input to the file given by the {@code game.recordInput} system property, if input is being
+     * recorded. Only the first call writes the file.
+     */
+    void saveRecording() {
+        if (inputRecorder == null) {
+            return;
+        }
 
-        world.step(delta, 8, 3);
+        var recording = inputRecorder.getRecording();
+        recording.write(Gdx.files.absolute(game.recordInput));
+        Gdx.app.log("Playing", String.format("Recorded %d frames of input to %s", recording.size(), game.recordInput));
+        inputRecorder = null;
     }
 
     @Override
@@ -561,7 +514,12 @@ public class Playing implements Screen {
 
     @Override
     public void dispose() {
+        saveRecording();
+        // Saves the player's final position, so must be done before the world is disposed
+        if (autosave != null) {
+            autosave.dispose();
+        }
         stage.dispose();
-        world.dispose();
+        simulation.dispose();
     }
 }
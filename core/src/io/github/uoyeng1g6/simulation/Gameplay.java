@@ -0,0 +1,64 @@
+package io.github.uoyeng1g6.simulation;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.gdx.physics.box2d.World;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.systems.InteractionOverlaySystem;
+import io.github.uoyeng1g6.systems.PhysicsSystem;
+import io.github.uoyeng1g6.systems.PlayerInputSystem;
+import io.github.uoyeng1g6.systems.PlayerInteractionSystem;
+import io.github.uoyeng1g6.utils.HitboxIndex;
+import io.github.uoyeng1g6.utils.ProximityTracker;
+import io.github.uoyeng1g6.utils.SensorProximityTracker;
+
+/**
+ * Sets up the entity systems that run the game's rules frame by frame, as opposed to drawing it. Shared by the
+ * {@link io.github.uoyeng1g6.screens.Playing Playing} screen and the
+ * {@link io.github.uoyeng1g6.replay.HeadlessReplay HeadlessReplay}, so that a game plays out identically in both.
+ */
+public final class Gameplay {
+    private Gameplay() {}
+
+    /**
+     * Create the proximity tracker used to find the interactables near the player, and register it with an engine.
+     *
+     * @param engine the engine containing the interactables.
+     * @param world the physics world containing the player.
+     * @param sensors whether to use box2d sensors rather than a {@link HitboxIndex}.
+     * @return the registered tracker.
+     */
+    public static ProximityTracker createProximityTracker(Engine engine, World world, boolean sensors) {
+        if (sensors) {
+            var tracker = new SensorProximityTracker(world);
+            tracker.register(engine);
+            return tracker;
+        }
+        var index = new HitboxIndex();
+        index.register(engine);
+        return index;
+    }
+
+    /**
+     * Add the gameplay systems to an engine, in the order they must run. Any systems that draw the game must be
+     * added afterwards.
+     *
+     * @param engine the engine to add the systems to.
+     * @param gameState the game state.
+     * @param world the physics world.
+     * @param inputSource the source of the player's input.
+     * @param proximityTracker the tracker used to find the interactables near the player.
+     * @param tickRate the number of physics steps to simulate per second.
+     */
+    public static void addSystems(
+            Engine engine,
+            GameState gameState,
+            World world,
+            PlayerInputSystem.InputSource inputSource,
+            ProximityTracker proximityTracker,
+            int tickRate) {
+        engine.addSystem(new InteractionOverlaySystem(gameState));
+        engine.addSystem(new PlayerInputSystem(gameState, inputSource));
+        engine.addSystem(new PhysicsSystem(world, tickRate));
+        engine.addSystem(new PlayerInteractionSystem(gameState, proximityTracker));
+    }
+}
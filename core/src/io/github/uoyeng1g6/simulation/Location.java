@@ -0,0 +1,146 @@
+package io.github.uoyeng1g6.simulation;
+
+import com.badlogic.gdx.math.Rectangle;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.ActivityRegistry;
+import io.github.uoyeng1g6.models.GameState;
+
+/**
+ * An interaction location on the map, and the rules for what happens when the player interacts with it. Either an
+ * activity, which uses time and energy, or the place the player goes to sleep and end the day.
+ */
+public final class Location {
+    /**
+     * The name the activity is recorded under in the game state. Unique among the locations.
+     */
+    public final String name;
+    /**
+     * The {@link ActivityRegistry id} of the activity, or {@code -1} if the location is for sleeping.
+     */
+    public final int id;
+    /**
+     * The name of the location's icon in the interaction icons atlas.
+     */
+    public final String icon;
+    /**
+     * The area the player must be standing in to interact with the location.
+     */
+    public final Rectangle hitbox;
+    /**
+     * The text to show in the location's tooltip.
+     */
+    public final String tooltip;
+    /**
+     * The type of activity done at the location, or {@code null} if the location is for sleeping.
+     */
+    public final ActivityType type;
+    /**
+     * The number of hours the activity takes.
+     */
+    public final int timeUsage;
+    /**
+     * The amount of energy the activity takes.
+     */
+    public final int energyUsage;
+    /**
+     * The text to show on the overlay while doing the activity.
+     */
+    public final String overlayText;
+
+    private Location(
+            String name,
+            String icon,
+            Rectangle hitbox,
+            String tooltip,
+            ActivityType type,
+            int timeUsage,
+            int energyUsage,
+            String overlayText) {
+        this.name = name;
+        this.id = type == null ? -1 : ActivityRegistry.register(name);
+        this.icon = icon;
+        this.hitbox = hitbox;
+        this.tooltip = tooltip;
+        this.type = type;
+        this.timeUsage = timeUsage;
+        this.energyUsage = energyUsage;
+        this.overlayText = overlayText;
+    }
+
+    /**
+     * Create a location where an activity can be done.
+     *
+     * @param name the name the activity is recorded under.
+     * @param icon the name of the location's icon.
+     * @param hitbox the area the player must be standing in to interact with the location.
+     * @param tooltip the text to show in the location's tooltip.
+     * @param type the type of activity.
+     * @param timeUsage the number of hours the activity takes.
+     * @param energyUsage the amount of energy the activity takes.
+     * @param overlayText the text to show on the overlay while doing the activity.
+     * @return the location.
+     */
+    public static Location activity(
+            String name,
+            String icon,
+            Rectangle hitbox,
+            String tooltip,
+            ActivityType type,
+            int timeUsage,
+            int energyUsage,
+            String overlayText) {
+        return new Location(name, icon, hitbox, tooltip, type, timeUsage, energyUsage, overlayText);
+    }
+
+    /**
+     * Create a location where the player can go to sleep, ending the current day.
+     *
+     * @param name the name of the location.
+     * @param icon the name of the location's icon.
+     * @param hitbox the area the player must be standing in to interact with the location.
+     * @param tooltip the text to show in the location's tooltip.
+     * @return the location.
+     */
+    public static Location sleep(String name, String icon, Rectangle hitbox, String tooltip) {
+        return new Location(name, icon, hitbox, tooltip, null, 0, 0, null);
+    }
+
+    /**
+     * Create a copy of the location with a different time and energy cost. Used to try out changes to the game's
+     * balance.
+     *
+     * @param timeUsage the number of hours the activity takes.
+     * @param energyUsage the amount of energy the activity takes.
+     * @return the new location.
+     */
+    public Location withCosts(int timeUsage, int energyUsage) {
+        if (isSleep()) {
+            throw new IllegalStateException("sleeping has no costs");
+        }
+        return new Location(name, icon, hitbox, tooltip, type, timeUsage, energyUsage, overlayText);
+    }
+
+    /**
+     * Check whether the location is for sleeping rather than an activity.
+     *
+     * @return whether interacting with the location ends the day.
+     */
+    public boolean isSleep() {
+        return type == null;
+    }
+
+    /**
+     * Interact with the location, doing its activity or ending the day.
+     *
+     * @param state the current game state.
+     * @return whether the interaction happened. {@code false} if there was not enough time or energy left in the
+     *     day for the activity.
+     */
+    public boolean interact(GameState state) {
+        if (isSleep()) {
+            state.advanceDay();
+            return true;
+        }
+        return state.doActivity(timeUsage, energyUsage, type, overlayText, id);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.uoyeng1g6.simulation;
+
+import com.badlogic.gdx.math.Rectangle;
+import io.github.uoyeng1g6.constants.ActivityType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The interaction locations on the campus map.
+ */
+public class Locations {
+    /**
+     * The width and height of every location's hitbox, matching the size its icon is drawn at.
+     */
+    public static final float HITBOX_SIZE = 4;
+
+    private static Rectangle hitbox(float x, float y) {
+        return new Rectangle(x, y, HITBOX_SIZE, HITBOX_SIZE);
+    }
+
+    // spotless:off
+    /**
+     * Every location on the map.
+     */
+    public static final List<Location> ALL = List.of(
+            Location.activity("cs", "book_icon", hitbox(25, 14),
+                    "[E] Study for exams\nTime: -1h\nEnergy: -6", ActivityType.STUDY, 1, 6, "Studying..."),
+            Location.activity("library", "book_icon", hitbox(72.5f, 21.5f),
+                    "[E] Study for exams\nTime: -1h\nEnergy: -6", ActivityType.STUDY, 1, 6, "Studying..."),
+            Location.activity("food", "food_icon", hitbox(54, 2.5f),
+                    "[E] Eat at Piazza\nTime: -1h\nEnergy: -5", ActivityType.MEAL, 1, 5, "Eating..."),
+            Location.activity("movie", "popcorn_icon", hitbox(24, 55.5f),
+                    "[E] Watch films with mates\nTime: -2h\nEnergy: -14", ActivityType.RECREATION, 2, 14,
+                    "Watching films..."),
+            Location.sleep("sleep", "bed_icon", hitbox(3.5f, 26.5f),
+                    "[E] Go to sleep\nEnds the current day"),
+            Location.activity("sports", "football_icon", hitbox(71.5f, 47),
+                    "[E] Play some sports\nTime: -2h\nEnergy: -16", ActivityType.RECREATION, 2, 16,
+                    "Playing sports..."),
+            Location.activity("ducks", "goose_icon", hitbox(33.5f, 5.5f),
+                    "[E] Feed some ducks\nTime: -1h\nEnergy: -6", ActivityType.RECREATION, 1, 6, "Feeding ducks..."),
+            Location.activity("chill", "sofa_icon", hitbox(40.5f, 27.5f),
+                    "[E] Relax with friends\nTime: -1h\nEnergy: -6", ActivityType.RECREATION, 1, 6, "Relaxing..."),
+            Location.activity("society", "sofa_icon", hitbox(60.5f, 19.5f),
+                    "[E] Go to your society\nTime: -1h\nEnergy: -5", ActivityType.RECREATION, 1, 5,
+                    "Socialising..."),
+            Location.activity("town", "bus_icon", hitbox(17, 55.5f),
+                    "[E] Spend time in town\nTime: -1h\nEnergy: -7", ActivityType.RECREATION, 1, 7, "Travelling..."));
+    // spotless:on
+
+    /**
+     * Create a copy of a list of locations with one of them replaced by a location of the same name.
+     *
+     * @param locations the locations to copy.
+     * @param replacement the location to replace the one with the same name with.
+     * @return the new list of locations.
+     */
+    public static List<Location> replace(List<Location> locations, Location replacement) {
+        var replaced = new ArrayList<Location>(locations.size());
+        for (var location : locations) {
+            replaced.add(location.name.equals(replacement.name) ? replacement : location);
+        }
+        return replaced;
+    }
+
+    /**
+     * Find a location by name.
+     *
+     * @param name the name of the location.
+     * @return the location, or {@code null} if there is none with the given name.
+     */
+    public static Location find(String name) {
+        return find(ALL, name);
+    }
+
+    /**
+     * Find a location by name.
+     *
+     * @param locations the locations to search.
+     * @param name the name of the location.
+     * @return the location, or {@code null} if there is none with the given name.
+     */
+    public static Location find(List<Location> locations, String name) {
+        for (var location : locations) {
+            if (location.name.equals(name)) {
+                return location;
+            }
+        }
+        return null;
+    }
+}
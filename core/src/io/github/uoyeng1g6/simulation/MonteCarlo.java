@@ -0,0 +1,235 @@
+package io.github.uoyeng1g6.simulation;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.uoyeng1g6.models.GameBatch;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays large numbers of games with a simulated player to measure how the game is balanced. Games are played
+ * directly against the {@link GameState}, skipping movement entirely, and are spread over every core with a
+ * fork/join pool.
+ *
+ * <p>Games are played in fixed size chunks, each with its own random seed derived from the overall seed, so the
+ * results for a seed are the same however many threads are used.
+ */
+public class MonteCarlo {
+    /**
+     * The number of games played with each random seed.
+     */
+    public static final int CHUNK_SIZE = 4096;
+    /**
+     * The most interactions that may fail in a row before the simulated player is made to sleep, so that a policy
+     * that keeps choosing activities it cannot afford still finishes the game.
+     */
+    public static final int MAX_FAILED_INTERACTIONS = 100;
+
+    /**
+     * The names of the achievements, in the order returned by {@link ScoreCalculator#calculateAchievements}.
+     */
+    public static final String[] ACHIEVEMENTS = {"movie", "town", "sport", "studyFailure"};
+
+    /**
+     * The score distribution and achievement counts of a set of games.
+     */
+    public static class Result {
+        /**
+         * The number of games that got each exam score from {@code 0} to {@code 100}.
+         */
+        public final long[] scores = new long[101];
+        /**
+         * The number of games that got each achievement, in the order returned by
+         * {@link ScoreCalculator#calculateAchievements}.
+         */
+        public final long[] achievements = new long[ACHIEVEMENTS.length];
+        /**
+         * The number of games played.
+         */
+        public long games = 0;
+
+        /**
+         * Add the results of another set of games to these.
+         *
+         * @param other the results to add.
+         * @return these results.
+         */
+        public Result add(Result other) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] += other.scores[i];
+            }
+            for (int i = 0; i < achievements.length; i++) {
+                achievements[i] += other.achievements[i];
+            }
+            games += other.games;
+            return this;
+        }
+
+        /**
+         * Get the mean exam score.
+         *
+         * @return the mean score.
+         */
+        public double getMean() {
+            double total = 0;
+            for (int i = 0; i < scores.length; i++) {
+                total += (double) i * scores[i];
+            }
+            return games == 0 ? 0 : total / games;
+        }
+
+        /**
+         * Get the lowest score that at least a given fraction of games scored at or below.
+         *
+         * @param fraction the fraction of games, from {@code 0} to {@code 1}.
+         * @return the score.
+         */
+        public int getPercentile(double fraction) {
+            var target = Math.max(1, (long) Math.ceil(fraction * games));
+            long seen = 0;
+            for (int i = 0; i < scores.length; i++) {
+                seen += scores[i];
+                if (seen >= target) {
+                    return i;
+                }
+            }
+            return scores.length - 1;
+        }
+
+        /**
+         * Get the fraction of games that got an achievement.
+         *
+         * @param achievement the index of the achievement.
+         * @return the fraction of games, from {@code 0} to {@code 1}.
+         */
+        public double getAchievementRate(int achievement) {
+            return games == 0 ? 0 : (double) achievements[achievement] / games;
+        }
+    }
+
+    /**
+     * The locations that can be interacted with.
+     */
+    private final List<Location> locations;
+    /**
+     * How the simulated player chooses what to do.
+     */
+    private final Policy policy;
+    /**
+     * The pool to play the games in.
+     */
+    private final ForkJoinPool pool;
+
+    public MonteCarlo(List<Location> locations, Policy policy) {
+        this(locations, policy, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarlo(List<Location> locations, Policy policy, ForkJoinPool pool) {
+        this.locations = locations;
+        this.policy = policy;
+        this.pool = pool;
+    }
+
+    /**
+     * Play a number of games.
+     *
+     * @param games the number of games to play.
+     * @param seed the seed to derive the random seed of each chunk of games from.
+     * @return the combined results of every game.
+     */
+    public Result run(long games, long seed) {
+        var chunks = (games + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return pool.invoke(new Task(0, chunks, games, seed));
+    }
+
+    /**
+     * Play a single game.
+     *
+     * @param random the random number generator to give the policy.
+     * @return the final game state.
+     */
+    public GameState play(RandomXS128 random) {
+        var state = new GameState();
+        Location sleep = null;
+        var failed = 0;
+        while (state.daysRemaining > 0) {
+            var location = policy.choose(state, locations, random);
+            if (location.isSleep()) {
+                sleep = location;
+            }
+
+            if (location.interact(state)) {
+                failed = 0;
+            } else if (++failed >= MAX_FAILED_INTERACTIONS) {
+                if (sleep == null) {
+                    sleep = findSleep();
+                }
+                sleep.interact(state);
+                failed = 0;
+            }
+        }
+        return state;
+    }
+
+    private Location findSleep() {
+        for (var location : locations) {
+            if (location.isSleep()) {
+                return location;
+            }
+        }
+        throw new IllegalStateException("no location to sleep at");
+    }
+
+    /**
+     * Task playing the games in a range of chunks, splitting the range in half until it is small enough.
+     */
+    @SuppressWarnings("serial")
+    private class Task extends RecursiveTask<Result> {
+        private final long fromChunk;
+        private final long toChunk;
+        private final long games;
+        private final long seed;
+
+        Task(long fromChunk, long toChunk, long games, long seed) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.games = games;
+            this.seed = seed;
+        }
+
+        @Override
+        protected Result compute() {
+            if (toChunk - fromChunk > 1) {
+                var middle = (fromChunk + toChunk) >>> 1;
+                var left = new Task(fromChunk, middle, games, seed);
+                left.fork();
+                var right = new Task(middle, toChunk, games, seed).compute();
+                return left.join().add(right);
+            }
+
+            var random = new RandomXS128(seed + fromChunk * 0x9E3779B97F4A7C15L);
+            var count = (int) (Math.min(games, (fromChunk + 1) * CHUNK_SIZE) - fromChunk * CHUNK_SIZE);
+            var batch = new GameBatch(count);
+            for (int game = 0; game < count; game++) {
+                batch.add(play(random).days);
+            }
+
+            // Score the whole chunk at once rather than game by game
+            var scores = new int[count];
+            var achievements = new int[count];
+            ScoreCalculator.scoreBatch(batch, scores, achievements);
+
+            var result = new Result();
+            for (int game = 0; game < count; game++) {
+                result.scores[scores[game]]++;
+                for (int i = 0; i < ACHIEVEMENTS.length; i++) {
+                    result.achievements[i] += (achievements[game] >> i) & 1;
+                }
+            }
+            result.games = count;
+            return result;
+        }
+    }
+}
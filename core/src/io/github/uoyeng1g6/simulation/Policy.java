@@ -0,0 +1,48 @@
+package io.github.uoyeng1g6.simulation;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.uoyeng1g6.models.GameState;
+import java.util.List;
+
+/**
+ * Functional interface representing how a simulated player chooses what to do next.
+ */
+@FunctionalInterface
+public interface Policy {
+    /**
+     * Choose the next location to interact with.
+     *
+     * @param state the current game state.
+     * @param locations the locations that can be interacted with.
+     * @param random the random number generator to make any random choices with.
+     * @return the location to interact with.
+     */
+    Location choose(GameState state, List<Location> locations, RandomXS128 random);
+
+    /**
+     * Picks any location at random, whether or not there is enough time and energy left for it.
+     */
+    Policy RANDOM = (state, locations, random) -> locations.get(random.nextInt(locations.size()));
+
+    /**
+     * Picks at random between the activities there is enough time and energy left for, and sleeps once there are
+     * none.
+     */
+    Policy AFFORDABLE = (state, locations, random) -> {
+        Location sleep = null;
+        Location chosen = null;
+        var affordable = 0;
+        for (int i = 0; i < locations.size(); i++) {
+            var location = locations.get(i);
+            if (location.isSleep()) {
+                sleep = location;
+            } else if (location.timeUsage <= state.hoursRemaining
+                    && location.energyUsage <= state.energyRemaining
+                    && random.nextInt(++affordable) == 0) {
+                // Reservoir sampling, so every affordable location is equally likely without collecting them
+                chosen = location;
+            }
+        }
+        return chosen != null ? chosen : sleep;
+    };
+}
@@ -0,0 +1,503 @@
+package io.github.uoyeng1g6.simulation;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.constants.GameConstants;
+import io.github.uoyeng1g6.models.ActivityRegistry;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds the highest exam score that can be achieved with a set of locations, the schedule that achieves it, and the
+ * best location to go to next from any reachable point in the game.
+ *
+ * <p>The score only depends on the activity counts of each day, and on a few facts carried between days by
+ * {@link ScoreCalculator#calculateAchievements}: whether the movie and town achievements have been earned, whether
+ * sports have been played every day so far, and how far the player is towards failing for missing study. The solver
+ * therefore works at two levels:
+ *
+ * <ul>
+ *   <li>Every state reachable within a day (hours, energy, the activity type counts and the capped counts of the
+ *       activities achievements depend on) is packed into an {@code int} and given a dense id. For each state the
+ *       solver memoizes the best normalised day score that can still be reached for each of the {@value #SIGNATURES}
+ *       ways the day can end that matter to the following days. Every day starts from the same state, so this is
+ *       only computed once.
+ *   <li>The value of each of the {@value #CARRIED_STATES} combinations of day number and carried facts is then
+ *       found by working backwards from the end of the game.
+ * </ul>
+ *
+ * <p>Finally a policy table is filled in with the best location for every state within a day, for every distinct
+ * set of values the following days can have. Filling in the table is split across a fork/join pool.
+ *
+ * <p>Scores are compared before being clamped to the range 0-100, so the chosen schedule is the best one even when
+ * several reach full marks.
+ */
+public class ScheduleSolver {
+    /**
+     * The number of ways a day can end that affect the following days: whether the player studied never, once or more
+     * than once, and whether they earned the movie achievement, earned the town achievement or played sports.
+     */
+    public static final int SIGNATURES = 24;
+    /**
+     * The number of combinations of day number and facts carried between days.
+     */
+    public static final int CARRIED_STATES = (GameConstants.MAX_DAYS + 1) << 5;
+
+    /**
+     * Value of a state that cannot be reached, or from which the player fails for missing study.
+     */
+    private static final int IMPOSSIBLE = -1_000_000;
+    /**
+     * The bonus for each achievement, in sevenths of an exam score point to match the normalised day scores.
+     */
+    private static final int ACHIEVEMENT_BONUS = 5 * GameConstants.MAX_DAYS;
+
+    /**
+     * The count of each activity the achievements depend on at which it is earned. Counts are capped at these, as
+     * higher counts make no difference.
+     */
+    private static final int MOVIE_CAP = 3;
+    private static final int TOWN_CAP = 5;
+    private static final int SPORTS_CAP = 1;
+
+    // Flags of the facts carried between days
+    private static final int FAILED_STUDY_ONCE = 16;
+    private static final int STUDY_FAIL_CHECK = 8;
+    private static final int MOVIE_ACHIEVED = 4;
+    private static final int TOWN_ACHIEVED = 2;
+    private static final int SPORT_EVERY_DAY = 1;
+
+    /**
+     * The locations that can be interacted with.
+     */
+    private final List<Location> locations;
+    /**
+     * The index of a location that ends the day.
+     */
+    private final int sleep;
+
+    /**
+     * The id of each packed state within a day.
+     */
+    private final IntIntMap ids = new IntIntMap();
+    /**
+     * The packed state for each id.
+     */
+    private final IntArray keys = new IntArray();
+    /**
+     * The id of the state reached by interacting with each location from each state, or {@code -1} if there is not
+     * enough time or energy left. Indexed by {@code id * locations.size() + location}.
+     */
+    private final IntArray transitions = new IntArray();
+    /**
+     * The best normalised day score that can be reached from each state, for each way of ending the day. Indexed by
+     * {@code id * SIGNATURES + signature}.
+     */
+    private final IntArray dayScores = new IntArray();
+
+    /**
+     * The best total that can be reached from each carried state, in sevenths of an exam score point.
+     */
+    private final int[] values = new int[CARRIED_STATES];
+    /**
+     * The row of the policy table to use for each carried state, or {@code -1} if the game is over.
+     */
+    private final int[] policyRows = new int[CARRIED_STATES];
+    /**
+     * The index of the best location for each state within a day, for each distinct set of values of the following
+     * days.
+     */
+    private final byte[][] policy;
+
+    public ScheduleSolver(List<Location> locations) {
+        this(locations, ForkJoinPool.commonPool());
+    }
+
+    public ScheduleSolver(List<Location> locations, ForkJoinPool pool) {
+        if (locations.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("too many locations");
+        }
+        var sleep = -1;
+        for (int i = 0; i < locations.size(); i++) {
+            var location = locations.get(i);
+            if (location.isSleep()) {
+                sleep = i;
+            } else if (location.timeUsage < 1 || location.energyUsage < 0) {
+                throw new IllegalArgumentException("activities must take at least an hour: " + location.name);
+            }
+        }
+        if (sleep < 0) {
+            throw new IllegalArgumentException("no location to sleep at");
+        }
+        this.locations = locations;
+        this.sleep = sleep;
+
+        solveDay(key(GameConstants.MAX_HOURS, GameConstants.MAX_ENERGY, 0, 0, 0, 0, 0, 0));
+        var futures = solveDays();
+        policy = new byte[futures.size()][];
+        pool.invoke(new PolicyTask(futures, 0, futures.size()));
+    }
+
+    /**
+     * Pack a state within a day into an {@code int}. Every count is at most the number of hours in the day, as every
+     * activity takes at least an hour and adds at most two to the counts.
+     */
+    private static int key(int hours, int energy, int study, int meal, int recreation, int movie, int town, int sports) {
+        var key = hours;
+        key = key * (GameConstants.MAX_ENERGY + 1) + energy;
+        key = key * (GameConstants.MAX_HOURS + 1) + study;
+        key = key * (GameConstants.MAX_HOURS + 1) + meal;
+        key = key * (GameConstants.MAX_HOURS + 1) + recreation;
+        key = key * (MOVIE_CAP + 1) + movie;
+        key = key * (TOWN_CAP + 1) + town;
+        return key * (SPORTS_CAP + 1) + sports;
+    }
+
+    /**
+     * Find the id of a state, and the best day scores reachable from it and every state after it.
+     *
+     * @param key the packed state.
+     * @return the id of the state.
+     */
+    private int solveDay(int key) {
+        var id = ids.get(key, -1);
+        if (id >= 0) {
+            return id;
+        }
+
+        id = keys.size;
+        ids.put(key, id);
+        keys.add(key);
+        // setSize only grows the arrays to exactly the size asked for, so reserve space with room to spare first
+        var base = transitions.size;
+        transitions.ensureCapacity(locations.size());
+        transitions.setSize(base + locations.size());
+        dayScores.ensureCapacity(SIGNATURES);
+        dayScores.setSize((id + 1) * SIGNATURES);
+
+        // Unpack the state
+        var remaining = key;
+        var sports = remaining % (SPORTS_CAP + 1);
+        remaining /= SPORTS_CAP + 1;
+        var town = remaining % (TOWN_CAP + 1);
+        remaining /= TOWN_CAP + 1;
+        var movie = remaining % (MOVIE_CAP + 1);
+        remaining /= MOVIE_CAP + 1;
+        var recreation = remaining % (GameConstants.MAX_HOURS + 1);
+        remaining /= GameConstants.MAX_HOURS + 1;
+        var meal = remaining % (GameConstants.MAX_HOURS + 1);
+        remaining /= GameConstants.MAX_HOURS + 1;
+        var study = remaining % (GameConstants.MAX_HOURS + 1);
+        remaining /= GameConstants.MAX_HOURS + 1;
+        var energy = remaining % (GameConstants.MAX_ENERGY + 1);
+        var hours = remaining / (GameConstants.MAX_ENERGY + 1);
+
+        var best = new int[SIGNATURES];
+        Arrays.fill(best, IMPOSSIBLE);
+        // Sleeping now ends the day as it is
+        best[signature(study, movie >= MOVIE_CAP, town >= TOWN_CAP, sports >= SPORTS_CAP)] =
+                ScoreCalculator.getNormalisedDayScore(study, meal, recreation);
+
+        for (int i = 0; i < locations.size(); i++) {
+            var location = locations.get(i);
+            if (location.isSleep() || location.timeUsage > hours || location.energyUsage > energy) {
+                transitions.set(base + i, -1);
+                continue;
+            }
+
+            // Matches GameState#doActivity, which counts activities longer than an hour twice
+            var count = location.timeUsage > 1 ? 2 : 1;
+            var next = key(
+                    hours - location.timeUsage,
+                    energy - location.energyUsage,
+                    study + (location.type == ActivityType.STUDY ? count : 0),
+                    meal + (location.type == ActivityType.MEAL ? count : 0),
+                    recreation + (location.type == ActivityType.RECREATION ? count : 0),
+                    location.id == ActivityRegistry.MOVIE ? Math.min(MOVIE_CAP, movie + count) : movie,
+                    location.id == ActivityRegistry.TOWN ? Math.min(TOWN_CAP, town + count) : town,
+                    location.id == ActivityRegistry.SPORTS ? Math.min(SPORTS_CAP, sports + count) : sports);
+            var nextId = solveDay(next);
+            transitions.set(base + i, nextId);
+            for (int signature = 0; signature < SIGNATURES; signature++) {
+                best[signature] = Math.max(best[signature], dayScores.get(nextId * SIGNATURES + signature));
+            }
+        }
+
+        System.arraycopy(best, 0, dayScores.items, id * SIGNATURES, SIGNATURES);
+        return id;
+    }
+
+    private static int signature(int study, boolean movie, boolean town, boolean sports) {
+        var studied = Math.min(study, 2);
+        return studied * 8 + (movie ? 4 : 0) + (town ? 2 : 0) + (sports ? 1 : 0);
+    }
+
+    /**
+     * Get the carried state after a day ends, following {@link ScoreCalculator#calculateAchievements}.
+     *
+     * @param carried the carried state at the start of the day.
+     * @param signature how the day ended.
+     * @return the carried state at the start of the next day, or {@code -1} if the player has failed.
+     */
+    private static int nextCarried(int carried, int signature) {
+        var day = carried >> 5;
+        var flags = carried & 31;
+        var studied = signature >> 3;
+
+        if ((flags & STUDY_FAIL_CHECK) != 0) {
+            if (studied < 2) {
+                return -1;
+            }
+            flags &= ~STUDY_FAIL_CHECK;
+        }
+        if (studied == 0) {
+            if ((flags & FAILED_STUDY_ONCE) != 0) {
+                return -1;
+            }
+            flags |= FAILED_STUDY_ONCE | STUDY_FAIL_CHECK;
+        }
+        if ((signature & 4) != 0) {
+            flags |= MOVIE_ACHIEVED;
+        }
+        if ((signature & 2) != 0) {
+            flags |= TOWN_ACHIEVED;
+        }
+        if ((signature & 1) == 0) {
+            flags &= ~SPORT_EVERY_DAY;
+        }
+        return (day + 1) << 5 | flags;
+    }
+
+    /**
+     * Get the carried state at the start of the current day of a game.
+     *
+     * @param state the game state.
+     * @return the carried state, or {@code -1} if the player has already failed.
+     */
+    private static int carriedState(GameState state) {
+        var carried = SPORT_EVERY_DAY;
+        for (int i = 0; i < state.days.size() && carried >= 0; i++) {
+            var day = state.days.get(i);
+            carried = nextCarried(
+                    carried,
+                    signature(
+                            day.statFor(ActivityType.STUDY),
+                            day.statFor(ActivityRegistry.MOVIE) >= MOVIE_CAP,
+                            day.statFor(ActivityRegistry.TOWN) >= TOWN_CAP,
+                            day.statFor(ActivityRegistry.SPORTS) >= SPORTS_CAP));
+        }
+        return carried;
+    }
+
+    /**
+     * Work backwards from the end of the game to find the value of every carried state.
+     *
+     * @return the distinct sets of values of the next day's carried states, indexed by the signature the day ends
+     *     with. The row of the policy table for each carried state is set to the index of its set.
+     */
+    private List<int[]> solveDays() {
+        var futures = new ArrayList<int[]>();
+        for (int flags = 0; flags < 32; flags++) {
+            var bonus = 0;
+            for (var achievement : new int[] {MOVIE_ACHIEVED, TOWN_ACHIEVED, SPORT_EVERY_DAY}) {
+                bonus += (flags & achievement) != 0 ? ACHIEVEMENT_BONUS : 0;
+            }
+            values[GameConstants.MAX_DAYS << 5 | flags] = bonus;
+            policyRows[GameConstants.MAX_DAYS << 5 | flags] = -1;
+        }
+
+        for (int day = GameConstants.MAX_DAYS - 1; day >= 0; day--) {
+            for (int flags = 0; flags < 32; flags++) {
+                var carried = day << 5 | flags;
+                var future = new int[SIGNATURES];
+                var value = IMPOSSIBLE;
+                for (int signature = 0; signature < SIGNATURES; signature++) {
+                    var next = nextCarried(carried, signature);
+                    future[signature] = next < 0 ? IMPOSSIBLE : values[next];
+                    value = Math.max(value, dayScores.get(signature) + future[signature]);
+                }
+                values[carried] = Math.max(IMPOSSIBLE, value);
+
+                var row = indexOf(futures, future);
+                if (row < 0) {
+                    row = futures.size();
+                    futures.add(future);
+                }
+                policyRows[carried] = row;
+            }
+        }
+        return futures;
+    }
+
+    private static int indexOf(List<int[]> futures, int[] future) {
+        for (int i = 0; i < futures.size(); i++) {
+            if (Arrays.equals(futures.get(i), future)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Task filling in a range of rows of the policy table, splitting the range in half until it is a single row.
+     */
+    @SuppressWarnings("serial")
+    private class PolicyTask extends RecursiveAction {
+        private final List<int[]> futures;
+        private final int fromRow;
+        private final int toRow;
+
+        PolicyTask(List<int[]> futures, int fromRow, int toRow) {
+            this.futures = futures;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > 1) {
+                var middle = (fromRow + toRow) >>> 1;
+                invokeAll(new PolicyTask(futures, fromRow, middle), new PolicyTask(futures, middle, toRow));
+                return;
+            }
+
+            var future = futures.get(fromRow);
+            var states = keys.size;
+            var actions = locations.size();
+
+            // The best total from each state, counting both the rest of the day and the following days
+            var totals = new int[states];
+            for (int id = 0; id < states; id++) {
+                var total = IMPOSSIBLE;
+                for (int signature = 0; signature < SIGNATURES; signature++) {
+                    total = Math.max(total, dayScores.get(id * SIGNATURES + signature) + future[signature]);
+                }
+                totals[id] = total;
+            }
+
+            var row = new byte[states];
+            for (int id = 0; id < states; id++) {
+                // Sleeping is worth exactly what the day scored so far, so is the best choice when nothing beats it
+                var best = sleep;
+                var bestTotal = Integer.MIN_VALUE;
+                for (int i = 0; i < actions; i++) {
+                    var next = transitions.get(id * actions + i);
+                    if (next >= 0 && totals[next] > bestTotal) {
+                        best = i;
+                        bestTotal = totals[next];
+                    }
+                }
+                if (bestTotal < totals[id]) {
+                    best = sleep;
+                }
+                row[id] = (byte) best;
+            }
+            policy[fromRow] = row;
+        }
+    }
+
+    /**
+     * Get the best location to interact with next. Takes constant time.
+     *
+     * @param state the current game state.
+     * @return the location, or {@code null} if the game is over, the player has already failed for missing study,
+     *     or the state cannot be reached with the solver's locations.
+     */
+    public Location bestNext(GameState state) {
+        if (state.daysRemaining <= 0 || state.days.size() >= GameConstants.MAX_DAYS) {
+            return null;
+        }
+        var carried = carriedState(state);
+        if (carried < 0) {
+            return null;
+        }
+
+        var day = state.currentDay;
+        var study = day.statFor(ActivityType.STUDY);
+        var meal = day.statFor(ActivityType.MEAL);
+        var recreation = day.statFor(ActivityType.RECREATION);
+        if (state.hoursRemaining < 0
+                || state.hoursRemaining > GameConstants.MAX_HOURS
+                || state.energyRemaining < 0
+                || state.energyRemaining > GameConstants.MAX_ENERGY
+                || study > GameConstants.MAX_HOURS
+                || meal > GameConstants.MAX_HOURS
+                || recreation > GameConstants.MAX_HOURS) {
+            return null;
+        }
+        var id = ids.get(
+                key(
+                        state.hoursRemaining,
+                        state.energyRemaining,
+                        study,
+                        meal,
+                        recreation,
+                        Math.min(MOVIE_CAP, day.statFor(ActivityRegistry.MOVIE)),
+                        Math.min(TOWN_CAP, day.statFor(ActivityRegistry.TOWN)),
+                        Math.min(SPORTS_CAP, day.statFor(ActivityRegistry.SPORTS))),
+                -1);
+        if (id < 0) {
+            return null;
+        }
+        return locations.get(policy[policyRows[carried]][id]);
+    }
+
+    /**
+     * Get the best schedule, by following the policy from the start of the game.
+     *
+     * @return the locations to interact with, in order.
+     */
+    public List<Location> getBestSchedule() {
+        var schedule = new ArrayList<Location>();
+        var state = new GameState();
+        Location next;
+        while ((next = bestNext(state)) != null) {
+            next.interact(state);
+            schedule.add(next);
+        }
+        return schedule;
+    }
+
+    /**
+     * Get the best total score that can be achieved before it is clamped, including achievement bonuses.
+     *
+     * @return the best total, or {@link Float#NEGATIVE_INFINITY} if every schedule fails for missing study.
+     */
+    public float getBestTotal() {
+        var value = values[SPORT_EVERY_DAY];
+        return value <= IMPOSSIBLE ? Float.NEGATIVE_INFINITY : value / (float) GameConstants.MAX_DAYS;
+    }
+
+    /**
+     * Get the best exam score that can be achieved, as calculated by {@link ScoreCalculator#calculateExamScore}.
+     *
+     * @return the best exam score.
+     */
+    public int getBestScore() {
+        return Math.round(Math.min(100, Math.max(0, getBestTotal())));
+    }
+
+    /**
+     * Get the number of distinct states within a day that can be reached.
+     *
+     * @return the number of states.
+     */
+    public int getStateCount() {
+        return keys.size;
+    }
+
+    /**
+     * Get the number of rows in the policy table, one for each distinct set of values the following days can have.
+     *
+     * @return the number of rows.
+     */
+    public int getPolicyRows() {
+        return policy.length;
+    }
+}
@@ -0,0 +1,256 @@
+package io.github.uoyeng1g6.simulation;
+
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Json;
+import io.github.uoyeng1g6.components.AnimationComponent;
+import io.github.uoyeng1g6.components.FixtureComponent;
+import io.github.uoyeng1g6.components.HitboxComponent;
+import io.github.uoyeng1g6.components.InteractionComponent;
+import io.github.uoyeng1g6.components.PlayerComponent;
+import io.github.uoyeng1g6.constants.PlayerConstants;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.PhysicsPolygon;
+import io.github.uoyeng1g6.systems.PlayerInputSystem;
+import java.util.List;
+
+/**
+ * Headless simulation of a full game: the physics world with the campus terrain and the player, the interaction
+ * locations and the game state. Needs no GL context, so it can be run without a window, although box2d must have
+ * been {@link com.badlogic.gdx.physics.box2d.Box2D#init() initialised}.
+ *
+ * <p>The simulation can be driven at two levels. {@link #createEngine} creates an engine running the same
+ * {@link Gameplay} systems as the {@link io.github.uoyeng1g6.screens.Playing Playing} screen, which moves the player
+ * through the world frame by frame and holds them still while an interaction's overlay is shown, so the game plays
+ * out exactly as it does in the window. {@link #perform} instead does an interaction straight away, skipping both the
+ * walk there and the overlay. As walking takes no in-game time the result is the same, which makes it suitable for
+ * playing thousands of games a second.
+ */
+public class Simulation implements Disposable {
+    /**
+     * The physics world.
+     */
+    private final World world;
+    /**
+     * The player's physics fixture.
+     */
+    private final Fixture playerFixture;
+    /**
+     * The locations that can be interacted with.
+     */
+    private final List<Location> locations;
+    /**
+     * The number of physics steps simulated per second.
+     */
+    private final int tickRate;
+
+    /**
+     * The state of the current game.
+     */
+    private GameState gameState = new GameState();
+
+    /**
+     * Create a simulation with the default locations.
+     *
+     * @param terrain the terrain polygons to create in the world.
+     * @param tickRate the number of physics steps simulated per second.
+     */
+    public Simulation(PhysicsPolygon[] terrain, int tickRate) {
+        this(terrain, Locations.ALL, tickRate);
+    }
+
+    /**
+     * Create a simulation.
+     *
+     * @param terrain the terrain polygons to create in the world.
+     * @param locations the locations that can be interacted with.
+     * @param tickRate the number of physics steps simulated per second.
+     */
+    public Simulation(PhysicsPolygon[] terrain, List<Location> locations, int tickRate) {
+        this.world = new World(new Vector2(), true);
+        this.locations = locations;
+        this.tickRate = tickRate;
+
+        initTerrain(terrain);
+        playerFixture = initPlayerBody();
+    }
+
+    /**
+     * Load the terrain polygons from a data json file.
+     *
+     * @param file the file to load.
+     * @return the loaded polygons.
+     */
+    public static PhysicsPolygon[] loadTerrain(FileHandle file) {
+        return new Json().fromJson(PhysicsPolygon[].class, file);
+    }
+
+    /**
+     * Create the terrain polygons in the world.
+     */
+    private void initTerrain(PhysicsPolygon[] terrain) {
+        for (var object : terrain) {
+            var bodyDef = new BodyDef();
+            bodyDef.type = object.getType();
+            bodyDef.position.set(object.getPosition());
+
+            var body = world.createBody(bodyDef);
+            var shape = new PolygonShape();
+            shape.set(object.getVertices());
+
+            // We know that these will always be static bodies so will always have a density of 0
+            body.createFixture(shape, 0f);
+            shape.dispose();
+        }
+    }
+
+    /**
+     * Create the player's physics object in the world.
+     *
+     * @return the fixture for the player's physics object.
+     */
+    private Fixture initPlayerBody() {
+        var player = new BodyDef();
+        player.type = BodyDef.BodyType.DynamicBody;
+        player.position.set(PlayerConstants.START_POSITION);
+        var playerBody = world.createBody(player);
+        playerBody.setUserData(PlayerConstants.HITBOX_RADIUS);
+        var playerCircle = new CircleShape();
+        playerCircle.setRadius(PlayerConstants.HITBOX_RADIUS);
+        var playerFixture = playerBody.createFixture(playerCircle, 1f);
+        playerCircle.dispose();
+        return playerFixture;
+    }
+
+    /**
+     * Start a new game, moving the player back to the start. The game state is replaced rather than reset, so a
+     * state from a previous game can still be used. Engines {@link #createEngine created} for the previous game keep
+     * playing it, so a new one must be created.
+     */
+    public void reset() {
+        gameState = new GameState();
+
+        var body = playerFixture.getBody();
+        body.setTransform(PlayerConstants.START_POSITION, 0);
+        body.setLinearVelocity(0, 0);
+    }
+
+    /**
+     * Continue a game from a save, replacing the game state and moving the player to where they were standing. An
+     * interaction overlay that was showing is shown for the rest of its time. Engines {@link #createEngine created}
+     * for the previous game keep playing it, so a new one must be created.
+     *
+     * @param gameState the state of the game to continue.
+     * @param playerPosition the position of the player's body.
+     */
+    public void restore(GameState gameState, Vector2 playerPosition) {
+        this.gameState = gameState;
+
+        var body = playerFixture.getBody();
+        body.setTransform(playerPosition, 0);
+        body.setLinearVelocity(0, 0);
+    }
+
+    /**
+     * Create an engine that plays the current game frame by frame, containing the player and the locations and
+     * running the {@link Gameplay#addSystems gameplay systems}. Nothing is drawn, so no GL context is needed. Each
+     * update of the engine plays one frame of the given length.
+     *
+     * @param inputSource the source of the player's input.
+     * @param sensorProximity whether to find the locations near the player with box2d sensors rather than a
+     *     {@link io.github.uoyeng1g6.utils.HitboxIndex HitboxIndex}.
+     * @return the engine.
+     */
+    public PooledEngine createEngine(PlayerInputSystem.InputSource inputSource, boolean sensorProximity) {
+        var engine = new PooledEngine();
+        engine.addEntity(engine.createEntity()
+                .add(new PlayerComponent())
+                .add(new AnimationComponent(0))
+                .add(new FixtureComponent(playerFixture)));
+        for (var location : locations) {
+            engine.addEntity(engine.createEntity()
+                    .add(new HitboxComponent(new Rectangle(location.hitbox)))
+                    .add(new InteractionComponent(location::interact)));
+        }
+
+        var proximityTracker = Gameplay.createProximityTracker(engine, world, sensorProximity);
+        Gameplay.addSystems(engine, gameState, world, inputSource, proximityTracker, tickRate);
+        return engine;
+    }
+
+    /**
+     * Interact with a location straight away, wherever the player is, and skip the overlay. Also ends any overlay
+     * still showing from an earlier interaction.
+     *
+     * @param location the location to interact with.
+     * @return whether the interaction happened. {@code false} if the game has finished, or there was not enough
+     *     time or energy left in the day for the location's activity.
+     */
+    public boolean perform(Location location) {
+        gameState.endInteractionOverlay();
+        if (isFinished()) {
+            return false;
+        }
+
+        var done = location.interact(gameState);
+        gameState.endInteractionOverlay();
+        return done;
+    }
+
+    /**
+     * Check whether the game has finished. The game finishes once the last day has ended and its overlay has been
+     * shown.
+     *
+     * @return whether the game has finished.
+     */
+    public boolean isFinished() {
+        return gameState.daysRemaining == 0 && gameState.interactionOverlay == null;
+    }
+
+    /**
+     * Get the exam score for the days completed so far.
+     *
+     * @return the exam score.
+     */
+    public int getScore() {
+        return gameState.score.getExamScore();
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public Fixture getPlayerFixture() {
+        return playerFixture;
+    }
+
+    public List<Location> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Get the number of physics steps simulated per second.
+     *
+     * @return the tick rate.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    @Override
+    public void dispose() {
+        world.dispose();
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Package containing the headless game simulation, which runs the gameplay rules without rendering, input devices
+ * or a GL context.
+ */
+package io.github.uoyeng1g6.simulation;
@@ -5,6 +5,7 @@ import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
 import io.github.uoyeng1g6.components.AnimationComponent;
 import io.github.uoyeng1g6.components.FixtureComponent;
 import io.github.uoyeng1g6.components.PositionComponent;
@@ -76,11 +77,14 @@ public class AnimationSystem extends IteratingSystem {
 
         var fc = fm.get(entity);
         if (fc != null) {
+            // Draw between the last two physics steps, so movement is smooth whatever the tick rate
             var body = fc.fixture.getBody();
+            var x = MathUtils.lerp(fc.previousPosition.x, body.getPosition().x, fc.interpolation);
+            var y = MathUtils.lerp(fc.previousPosition.y, body.getPosition().y, fc.interpolation);
             batch.draw(
                     sprite,
-                    body.getPosition().x - (float) body.getUserData(),
-                    body.getPosition().y - (float) body.getUserData(),
+                    x - (float) body.getUserData(),
+                    y - (float) body.getUserData(),
                     sprite.getWidth() * ac.spriteScale,
                     sprite.getHeight() * ac.spriteScale);
         }
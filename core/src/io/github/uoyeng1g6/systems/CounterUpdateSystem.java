@@ -5,13 +5,19 @@ import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.systems.IteratingSystem;
 import io.github.uoyeng1g6.components.CounterComponent;
+import io.github.uoyeng1g6.events.GameEventBus;
 import io.github.uoyeng1g6.models.GameState;
 
 /**
- * System that handles updating counter label text.
+ * System that handles updating counter label text. Labels are only updated when the game state has
+ * published an event since their text was last resolved.
  */
 public class CounterUpdateSystem extends IteratingSystem {
     private final GameState gameState;
+    /**
+     * The game state's events, read only to tell whether anything has changed.
+     */
+    private final GameEventBus.Subscription events;
 
     private final ComponentMapper<CounterComponent> cm = ComponentMapper.getFor(CounterComponent.class);
 
@@ -19,11 +25,24 @@ public class CounterUpdateSystem extends IteratingSystem {
         super(Family.all(CounterComponent.class).get());
 
         this.gameState = gameState;
+        this.events = gameState.events.subscribe();
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        events.skipAll();
+        super.update(deltaTime);
     }
 
     @Override
     protected void processEntity(Entity entity, float deltaTime) {
         var cc = cm.get(entity);
+        var sequence = events.getNext();
+        if (cc.resolvedSequence == sequence) {
+            return;
+        }
+
         cc.label.setText(cc.valueResolver.resolveValue(gameState));
+        cc.resolvedSequence = sequence;
     }
 }
@@ -2,17 +2,18 @@ package io.github.uoyeng1g6.systems;
 
 import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.ObjectMap;
 import io.github.uoyeng1g6.constants.GameConstants;
 import io.github.uoyeng1g6.models.GameState;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 
 /**
  * System that handles drawing a semi-transparent overlay over the game screen
- * while an interaction is currently taking place. Also handles ending the interaction once
- * the overlay timeout has expired.
+ * while an interaction is currently taking place. The interaction is timed and ended by the
+ * {@link InteractionOverlaySystem}.
  */
 public class InteractionOverlayRenderingSystem extends EntitySystem {
     /**
@@ -21,9 +22,9 @@ public class InteractionOverlayRenderingSystem extends EntitySystem {
     private static final Color OVERLAY_COLOR = new Color(0, 0, 0, 0.35f);
 
     /**
-     * The sprite batch to use to draw the overlay.
+     * The batch to use to draw the overlay.
      */
-    private final SpriteBatch batch;
+    private final Batch batch;
     /**
      * The font to use to write on the overlay.
      */
@@ -38,13 +39,12 @@ public class InteractionOverlayRenderingSystem extends EntitySystem {
     private final GameState gameState;
 
     /**
-     * The amount of time elapsed since the overlay was shown. If {@code -1} then no overlay is currently being
-     * shown.
+     * Layouts of each overlay text that has been shown, so that they are not laid out again every frame.
      */
-    private float elapsed = -1;
+    private final ObjectMap<String, GlyphLayout> layouts = new ObjectMap<>();
 
     public InteractionOverlayRenderingSystem(
-            SpriteBatch batch, BitmapFont font, ShapeDrawer shapeDrawer, GameState gameState) {
+            Batch batch, BitmapFont font, ShapeDrawer shapeDrawer, GameState gameState) {
         this.batch = batch;
         this.font = font;
         this.shapeDrawer = shapeDrawer;
@@ -58,18 +58,12 @@ public class InteractionOverlayRenderingSystem extends EntitySystem {
             return;
         }
 
-        if (elapsed == -1) {
-            elapsed = 0;
-        } else {
-            elapsed += deltaTime * 2;
-        }
-
         shapeDrawer.filledRectangle(0, 0, GameConstants.WORLD_WIDTH, GameConstants.WORLD_HEIGHT, OVERLAY_COLOR);
 
         var halfWorldWidth = (float) GameConstants.WORLD_WIDTH / 2;
         var halfWorldHeight = (float) GameConstants.WORLD_HEIGHT / 2;
 
-        var layout = new GlyphLayout(font, gameState.interactionOverlay.text);
+        var layout = getLayout(gameState.interactionOverlay.text);
         font.draw(batch, layout, halfWorldWidth - (layout.width / 2), halfWorldHeight + (layout.height / 2));
 
         shapeDrawer.filledRectangle(
@@ -79,13 +73,24 @@ public class InteractionOverlayRenderingSystem extends EntitySystem {
                 3,
                 Color.BLACK);
 
-        var progressBarSize = (elapsed / gameState.interactionOverlay.displayFor) * halfWorldWidth;
+        var overlay = gameState.interactionOverlay;
+        var progressBarSize = Math.min(overlay.elapsed / overlay.displayFor, 1) * halfWorldWidth;
         shapeDrawer.filledRectangle(
                 halfWorldWidth - (halfWorldWidth / 2), (halfWorldHeight / 2) + 0.5f, progressBarSize, 2, Color.WHITE);
+    }
 
-        if (elapsed >= gameState.interactionOverlay.displayFor) {
-            gameState.interactionOverlay = null;
-            elapsed = -1;
+    /**
+     * Get the layout of an overlay's text, laying it out the first time it is shown.
+     *
+     * @param text the overlay text.
+     * @return the text's layout.
+     */
+    private GlyphLayout getLayout(String text) {
+        var layout = layouts.get(text);
+        if (layout == null) {
+            layout = new GlyphLayout(font, text);
+            layouts.put(text, layout);
         }
+        return layout;
     }
 }
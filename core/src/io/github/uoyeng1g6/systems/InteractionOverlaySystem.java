@@ -0,0 +1,39 @@
+package io.github.uoyeng1g6.systems;
+
+import com.badlogic.ashley.core.EntitySystem;
+import io.github.uoyeng1g6.models.GameState;
+
+/**
+ * System that times the overlay shown while an interaction is taking place, and ends the interaction once the
+ * overlay has been shown for long enough. Kept apart from the {@link InteractionOverlayRenderingSystem} so that the
+ * game can be run without drawing anything.
+ *
+ * <p>Must be added before the systems that handle player input, so that an interaction ends at the start of the
+ * frame after its overlay finishes and the player can act on that frame.
+ */
+public class InteractionOverlaySystem extends EntitySystem {
+    /**
+     * The game state.
+     */
+    private final GameState gameState;
+
+    public InteractionOverlaySystem(GameState gameState) {
+        this.gameState = gameState;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        var overlay = gameState.interactionOverlay;
+        if (overlay == null) {
+            return;
+        }
+
+        if (overlay.elapsed >= overlay.displayFor) {
+            gameState.endInteractionOverlay();
+            return;
+        }
+
+        // The overlay is shown from the frame the interaction happens, and progresses at twice the frame rate after
+        overlay.elapsed += deltaTime * 2;
+    }
+}
@@ -2,26 +2,56 @@ package io.github.uoyeng1g6.systems;
 
 import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import io.github.uoyeng1g6.map.MapChunkCache;
+import io.github.uoyeng1g6.map.SparseMapRenderer;
+import io.github.uoyeng1g6.map.SparseTiledMap;
 
 /**
- * System to handle rendering the tilemap onto the game background.
+ * System to handle rendering the tilemap onto the game background. The map is either drawn from its
+ * {@link SparseTiledMap} every frame, or from a {@link MapChunkCache} that was rendered when the map was loaded.
  */
 public class MapRenderingSystem extends EntitySystem {
     private final OrthographicCamera camera;
 
-    private final OrthogonalTiledMapRenderer renderer;
+    /**
+     * The renderer used to draw the occupied cells of the map. {@code null} if the map is drawn from a chunk cache.
+     */
+    private final SparseMapRenderer renderer;
 
-    public MapRenderingSystem(TiledMap tiledMap, OrthographicCamera camera) {
+    /**
+     * The pre-rendered map chunks. {@code null} if the map is drawn cell by cell.
+     */
+    private final MapChunkCache chunkCache;
+    /**
+     * The sprite batch to draw the map with.
+     */
+    private final SpriteBatch batch;
+
+    public MapRenderingSystem(SparseTiledMap map, SpriteBatch batch, OrthographicCamera camera) {
+        this.camera = camera;
+
+        this.renderer = new SparseMapRenderer(map, 1 / 32f);
+        this.chunkCache = null;
+        this.batch = batch;
+    }
+
+    public MapRenderingSystem(MapChunkCache chunkCache, SpriteBatch batch, OrthographicCamera camera) {
         this.camera = camera;
 
-        this.renderer = new OrthogonalTiledMapRenderer(tiledMap, 1 / 32f);
+        this.renderer = null;
+        this.chunkCache = chunkCache;
+        this.batch = batch;
     }
 
     @Override
     public void update(float deltaTime) {
+        if (chunkCache != null) {
+            chunkCache.render(batch, camera);
+            return;
+        }
+
         renderer.setView(camera);
-        renderer.render();
+        renderer.render(batch);
     }
 }
@@ -0,0 +1,95 @@
+package io.github.uoyeng1g6.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.physics.box2d.World;
+import io.github.uoyeng1g6.components.FixtureComponent;
+
+/**
+ * System that steps the box2d world at a fixed rate, independent of the frame rate. Frame time is accumulated and
+ * the world is stepped once for every whole step that has built up, with the remainder carried over to the next
+ * frame. Entities with a {@link FixtureComponent} are then given how far the remainder is into the next step, so that
+ * they can be drawn between the positions of the last two steps.
+ *
+ * <p>Must be added after the systems that set velocities from player input, and before those that read positions.
+ */
+public class PhysicsSystem extends EntitySystem {
+    /**
+     * The number of velocity iterations used by each step.
+     */
+    public static final int VELOCITY_ITERATIONS = 8;
+    /**
+     * The number of position iterations used by each step.
+     */
+    public static final int POSITION_ITERATIONS = 3;
+    /**
+     * The most frame time simulated in one update, in seconds. Stops a long frame (e.g. from the window being dragged)
+     * causing a burst of steps that take long enough to cause another.
+     */
+    public static final float MAX_FRAME_TIME = 0.25f;
+
+    private final ComponentMapper<FixtureComponent> fm = ComponentMapper.getFor(FixtureComponent.class);
+
+    /**
+     * The world to step.
+     */
+    private final World world;
+    /**
+     * The length of each step, in seconds.
+     */
+    private final float stepTime;
+    /**
+     * The frame time not yet simulated, in seconds.
+     */
+    private float accumulator = 0;
+
+    private ImmutableArray<Entity> entities;
+
+    /**
+     * Create a physics system.
+     *
+     * @param world the world to step.
+     * @param tickRate the number of steps to simulate per second.
+     */
+    public PhysicsSystem(World world, int tickRate) {
+        this.world = world;
+        this.stepTime = 1f / tickRate;
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(Family.all(FixtureComponent.class).get());
+    }
+
+    /**
+     * Get the length of each step.
+     *
+     * @return the step length, in seconds.
+     */
+    public float getStepTime() {
+        return stepTime;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        accumulator += Math.min(deltaTime, MAX_FRAME_TIME);
+
+        while (accumulator >= stepTime) {
+            for (int i = 0; i < entities.size(); i++) {
+                var fc = fm.get(entities.get(i));
+                fc.previousPosition.set(fc.fixture.getBody().getPosition());
+            }
+            world.step(stepTime, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+            accumulator -= stepTime;
+        }
+
+        var interpolation = accumulator / stepTime;
+        for (int i = 0; i < entities.size(); i++) {
+            fm.get(entities.get(i)).interpolation = interpolation;
+        }
+    }
+}
@@ -20,10 +20,72 @@ import io.github.uoyeng1g6.models.GameState;
  * on the player component if they are attempting to interact with something.
  */
 public class PlayerInputSystem extends EntitySystem {
+    /**
+     * Input flag set while the player is holding a key to move left.
+     */
+    public static final int LEFT = 1;
+    /**
+     * Input flag set while the player is holding a key to move right.
+     */
+    public static final int RIGHT = 1 << 1;
+    /**
+     * Input flag set while the player is holding a key to move up.
+     */
+    public static final int UP = 1 << 2;
+    /**
+     * Input flag set while the player is holding a key to move down.
+     */
+    public static final int DOWN = 1 << 3;
+    /**
+     * Input flag set on the frame the player presses the interact key.
+     */
+    public static final int INTERACT = 1 << 4;
+
+    /**
+     * Functional interface representing a source of player input.
+     */
+    @FunctionalInterface
+    public interface InputSource {
+        /**
+         * Sample the player's input for a frame. Called exactly once per frame, even while input is disabled.
+         *
+         * @param deltaTime the length of the frame.
+         * @return the input flags set for the frame.
+         */
+        int sample(float deltaTime);
+    }
+
+    /**
+     * Input source reading the keyboard.
+     */
+    public static final InputSource KEYBOARD = deltaTime -> {
+        var input = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+            input |= LEFT;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+            input |= RIGHT;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.W) || Gdx.input.isKeyPressed(Input.Keys.UP)) {
+            input |= UP;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.S) || Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+            input |= DOWN;
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.E)) {
+            input |= INTERACT;
+        }
+        return input;
+    };
+
     /**
      * The game state.
      */
     private final GameState gameState;
+    /**
+     * The source of the player's input.
+     */
+    private final InputSource inputSource;
 
     private final ComponentMapper<PlayerComponent> pm = ComponentMapper.getFor(PlayerComponent.class);
     private final ComponentMapper<FixtureComponent> fm = ComponentMapper.getFor(FixtureComponent.class);
@@ -34,7 +96,18 @@ public class PlayerInputSystem extends EntitySystem {
     private Entity playerEntity;
 
     public PlayerInputSystem(GameState gameState) {
+        this(gameState, KEYBOARD);
+    }
+
+    /**
+     * Create a player input system that reads input from a given source, such as a recording.
+     *
+     * @param gameState the game state.
+     * @param inputSource the source of the player's input.
+     */
+    public PlayerInputSystem(GameState gameState, InputSource inputSource) {
         this.gameState = gameState;
+        this.inputSource = inputSource;
     }
 
     public Vector2 getVelocity() {
@@ -59,6 +132,8 @@ public class PlayerInputSystem extends EntitySystem {
 
     @Override
     public void update(float deltaTime) {
+        var input = inputSource.sample(deltaTime);
+
         if (gameState.interactionOverlay != null) {
             // User input is disabled as an interaction is currently happening
             var fixture = fm.get(playerEntity).fixture;
@@ -70,24 +145,22 @@ public class PlayerInputSystem extends EntitySystem {
 
         velocity.set(0, 0);
 
-        boolean left, right, up, down;
-        left = right = up = down = false;
+        var left = (input & LEFT) != 0;
+        var right = (input & RIGHT) != 0;
+        var up = (input & UP) != 0;
+        var down = (input & DOWN) != 0;
 
-        if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+        if (left) {
             velocity.x = -PlayerConstants.PLAYER_SPEED;
-            left = true;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+        if (right) {
             velocity.x = PlayerConstants.PLAYER_SPEED;
-            right = true;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.W) || Gdx.input.isKeyPressed(Input.Keys.UP)) {
+        if (up) {
             velocity.y = PlayerConstants.PLAYER_SPEED;
-            up = true;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.S) || Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+        if (down) {
             velocity.y = -PlayerConstants.PLAYER_SPEED;
-            down = true;
         }
 
         if ((left && right) || (!left && !right)) {
@@ -109,6 +182,6 @@ public class PlayerInputSystem extends EntitySystem {
             ac.currentAnimation = velocity.y > 0 ? MoveDirection.UP : MoveDirection.DOWN;
         }
 
-        pm.get(playerEntity).isInteracting = Gdx.input.isKeyJustPressed(Input.Keys.E);
+        pm.get(playerEntity).isInteracting = (input & INTERACT) != 0;
     }
 }
@@ -8,12 +8,15 @@ import com.badlogic.ashley.core.Family;
 import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.utils.Array;
 import io.github.uoyeng1g6.components.FixtureComponent;
 import io.github.uoyeng1g6.components.HitboxComponent;
 import io.github.uoyeng1g6.components.InteractionComponent;
 import io.github.uoyeng1g6.components.PlayerComponent;
 import io.github.uoyeng1g6.constants.PlayerConstants;
 import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.utils.HitboxIndex;
+import io.github.uoyeng1g6.utils.ProximityTracker;
 
 /**
  * System to handle player interaction. Checks if the player is currently standing within the hitbox
@@ -30,11 +33,41 @@ public class PlayerInteractionSystem extends EntitySystem {
      */
     private final GameState gameState;
 
+    /**
+     * Used to find the interactables near the player.
+     */
+    private ProximityTracker proximityTracker;
+    /**
+     * The hitbox index created by this system if it was not given a proximity tracker, or {@code null}.
+     */
+    private HitboxIndex ownHitboxIndex;
+
     private Entity playerEntity;
     private ImmutableArray<Entity> interactables;
 
+    /**
+     * The player's hitbox, reused every frame.
+     */
+    private final Circle playerHitbox = new Circle();
+    /**
+     * The entities near the player, reused every frame.
+     */
+    private final Array<Entity> nearby = new Array<>();
+
     public PlayerInteractionSystem(GameState gameState) {
+        this(gameState, null);
+    }
+
+    /**
+     * Create a player interaction system that finds interactables through a shared proximity tracker.
+     *
+     * @param gameState the game state.
+     * @param proximityTracker the tracker, already registered with the engine the system will be added to. If
+     * {@code null} the system creates and registers its own {@link HitboxIndex}.
+     */
+    public PlayerInteractionSystem(GameState gameState, ProximityTracker proximityTracker) {
         this.gameState = gameState;
+        this.proximityTracker = proximityTracker;
     }
 
     @Override
@@ -44,6 +77,21 @@ public class PlayerInteractionSystem extends EntitySystem {
                 .first();
         interactables = engine.getEntitiesFor(
                 Family.all(InteractionComponent.class, HitboxComponent.class).get());
+
+        if (proximityTracker == null) {
+            ownHitboxIndex = new HitboxIndex();
+            ownHitboxIndex.register(engine);
+            proximityTracker = ownHitboxIndex;
+        }
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        if (ownHitboxIndex != null) {
+            ownHitboxIndex.unregister(engine);
+            ownHitboxIndex = null;
+            proximityTracker = null;
+        }
     }
 
     public ImmutableArray getInteractables() {
@@ -67,8 +115,13 @@ public class PlayerInteractionSystem extends EntitySystem {
         }
 
         var playerFixture = fm.get(playerEntity).fixture;
-        var playerHitbox = new Circle(playerFixture.getBody().getPosition(), PlayerConstants.HITBOX_RADIUS);
-        for (var entity : interactables) {
+        playerHitbox.set(playerFixture.getBody().getPosition(), PlayerConstants.HITBOX_RADIUS);
+        proximityTracker.findNearby(playerFixture, nearby);
+        for (int i = 0; i < nearby.size; i++) {
+            var entity = nearby.get(i);
+            if (!im.has(entity)) {
+                continue;
+            }
             var hc = hm.get(entity);
 
             var intersecting = false;
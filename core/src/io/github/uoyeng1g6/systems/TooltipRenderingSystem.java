@@ -5,18 +5,17 @@ import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.EntitySystem;
 import com.badlogic.ashley.core.Family;
-import com.badlogic.ashley.utils.ImmutableArray;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Circle;
-import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.utils.Array;
 import io.github.uoyeng1g6.components.FixtureComponent;
 import io.github.uoyeng1g6.components.HitboxComponent;
 import io.github.uoyeng1g6.components.PlayerComponent;
 import io.github.uoyeng1g6.components.TooltipComponent;
-import io.github.uoyeng1g6.constants.PlayerConstants;
 import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.utils.HitboxIndex;
+import io.github.uoyeng1g6.utils.ProximityTracker;
 import space.earlygrey.shapedrawer.ShapeDrawer;
 
 /**
@@ -45,14 +44,47 @@ public class TooltipRenderingSystem extends EntitySystem {
     private final ComponentMapper<TooltipComponent> tm = ComponentMapper.getFor(TooltipComponent.class);
     private final ComponentMapper<FixtureComponent> fm = ComponentMapper.getFor(FixtureComponent.class);
 
+    /**
+     * Used to find the tooltip-enabled entities near the player.
+     */
+    private ProximityTracker proximityTracker;
+    /**
+     * The hitbox index created by this system if it was not given a proximity tracker, or {@code null}.
+     */
+    private HitboxIndex ownHitboxIndex;
+
     private Entity playerEntity;
-    private ImmutableArray<Entity> tooltipEnabled;
+
+    /**
+     * The entities near the player, reused every frame.
+     */
+    private final Array<Entity> nearby = new Array<>();
 
     public TooltipRenderingSystem(BitmapFont font, ShapeDrawer shapeDrawer, SpriteBatch batch, GameState gameState) {
+        this(font, shapeDrawer, batch, gameState, null);
+    }
+
+    /**
+     * Create a tooltip rendering system that finds tooltip-enabled entities through a shared proximity tracker.
+     *
+     * @param font the font to use to write on the tooltip.
+     * @param shapeDrawer the shapedrawer to use to draw the tooltip.
+     * @param batch the sprite batch to use to draw the tooltip.
+     * @param gameState the game state.
+     * @param proximityTracker the tracker, already registered with the engine the system will be added to. If
+     * {@code null} the system creates and registers its own {@link HitboxIndex}.
+     */
+    public TooltipRenderingSystem(
+            BitmapFont font,
+            ShapeDrawer shapeDrawer,
+            SpriteBatch batch,
+            GameState gameState,
+            ProximityTracker proximityTracker) {
         this.font = font;
         this.shapeDrawer = shapeDrawer;
         this.batch = batch;
         this.gameState = gameState;
+        this.proximityTracker = proximityTracker;
     }
 
     @Override
@@ -60,8 +92,21 @@ public class TooltipRenderingSystem extends EntitySystem {
         playerEntity = engine.getEntitiesFor(Family.all(PlayerComponent.class, FixtureComponent.class)
                         .get())
                 .first();
-        tooltipEnabled = engine.getEntitiesFor(
-                Family.all(HitboxComponent.class, TooltipComponent.class).get());
+
+        if (proximityTracker == null) {
+            ownHitboxIndex = new HitboxIndex();
+            ownHitboxIndex.register(engine);
+            proximityTracker = ownHitboxIndex;
+        }
+    }
+
+    @Override
+    public void removedFromEngine(Engine engine) {
+        if (ownHitboxIndex != null) {
+            ownHitboxIndex.unregister(engine);
+            ownHitboxIndex = null;
+            proximityTracker = null;
+        }
     }
 
     @Override
@@ -71,14 +116,14 @@ public class TooltipRenderingSystem extends EntitySystem {
             return;
         }
 
-        var fixture = fm.get(playerEntity).fixture;
-        var playerHitbox = new Circle(fixture.getBody().getPosition(), PlayerConstants.HITBOX_RADIUS);
-
-        for (var entity : tooltipEnabled) {
-            var hc = hm.get(entity);
-            if (!Intersector.overlaps(playerHitbox, hc.region)) {
+        // The tracker only returns entities whose hitbox region overlaps the player's hitbox
+        proximityTracker.findNearby(fm.get(playerEntity).fixture, nearby);
+        for (int i = 0; i < nearby.size; i++) {
+            var entity = nearby.get(i);
+            if (!tm.has(entity)) {
                 continue;
             }
+            var hc = hm.get(entity);
 
             var tc = tm.get(entity);
 
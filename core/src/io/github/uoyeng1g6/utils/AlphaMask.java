@@ -0,0 +1,89 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.gdx.graphics.Pixmap;
+
+/**
+ * Records which pixels of an image are fully opaque, one bit per pixel, so that the opacity of its regions can still
+ * be checked after the image itself has been uploaded to a texture and freed.
+ */
+public final class AlphaMask {
+    /**
+     * The width and height of the image.
+     */
+    public final int width, height;
+    /**
+     * The opaque pixels, a row at a time from the top, or {@code null} if the image has no alpha channel and so every
+     * pixel is opaque.
+     */
+    private final long[] opaque;
+
+    private AlphaMask(int width, int height, long[] opaque) {
+        this.width = width;
+        this.height = height;
+        this.opaque = opaque;
+    }
+
+    /**
+     * Create the mask of an image.
+     *
+     * @param pixmap the image.
+     * @return the mask.
+     */
+    public static AlphaMask of(Pixmap pixmap) {
+        var width = pixmap.getWidth();
+        var height = pixmap.getHeight();
+        var format = pixmap.getFormat();
+        if (format == Pixmap.Format.RGB888 || format == Pixmap.Format.RGB565) {
+            return new AlphaMask(width, height, null);
+        }
+
+        var opaque = new long[(width * height + 63) / 64];
+        if (format == Pixmap.Format.RGBA8888) {
+            // Read the alpha bytes straight from the pixel data rather than converting every pixel through getPixel
+            var pixels = pixmap.getPixels();
+            for (int i = 0; i < width * height; i++) {
+                if (pixels.get(i * 4 + 3) == (byte) 0xFF) {
+                    opaque[i >>> 6] |= 1L << i;
+                }
+            }
+        } else {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    // getPixel always returns RGBA8888
+                    if ((pixmap.getPixel(x, y) & 0xFF) == 0xFF) {
+                        var i = y * width + x;
+                        opaque[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+        }
+        return new AlphaMask(width, height, opaque);
+    }
+
+    /**
+     * Check whether every pixel of a region of the image is fully opaque.
+     *
+     * @param x the x coordinate of the region's left edge.
+     * @param y the y coordinate of the region's top edge.
+     * @param width the width of the region.
+     * @param height the height of the region.
+     * @return whether the region is opaque. {@code false} if it does not lie entirely within the image.
+     */
+    public boolean isOpaque(int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || x + width > this.width || y + height > this.height) {
+            return false;
+        }
+        if (opaque == null) {
+            return true;
+        }
+
+        for (int row = y; row < y + height; row++) {
+            for (int i = row * this.width + x; i < row * this.width + x + width; i++) {
+                if ((opaque[i >>> 6] & (1L << i)) == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
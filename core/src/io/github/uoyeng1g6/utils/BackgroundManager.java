@@ -9,9 +9,14 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 /**
  * Class for controlling the background for UI counters
  *
- * Takes in the energy table and day table to set the background of
+ * Takes in the energy table and day table to set the background of. The backgrounds for each status are created
+ * once from the shared background textures, and a table's background is only changed when its status changes.
  */
 public class BackgroundManager {
+    /**
+     * Names of each status, indexed by status level.
+     */
+    private static final String[] STATUSES = {"white", "orange", "red"};
 
     Table energyTable = null;
     Table dayTable = null;
@@ -19,9 +24,61 @@ public class BackgroundManager {
     public String energyStatus = "white";
     public String dayStatus = "white";
 
-    public BackgroundManager(Table energy, Table day) {
+    /**
+     * Backgrounds for the energy table, indexed by status level.
+     */
+    private final Drawable[] energyBackgrounds;
+    /**
+     * Backgrounds for the day table, indexed by status level.
+     */
+    private final Drawable[] dayBackgrounds;
+
+    /**
+     * The status level currently shown by the energy table.
+     */
+    private int energyLevel = -1;
+    /**
+     * The status level currently shown by the day table.
+     */
+    private int dayLevel = -1;
+
+    /**
+     * Create a background manager. The tables are given the white background straight away.
+     *
+     * @param energy the table showing the player's remaining energy.
+     * @param day the table showing the current day and time.
+     * @param white the texture to use for the white background.
+     * @param orange the texture to use for the orange background.
+     * @param red the texture to use for the red background.
+     */
+    public BackgroundManager(Table energy, Table day, Texture white, Texture orange, Texture red) {
         this.energyTable = energy;
         this.dayTable = day;
+
+        energyBackgrounds = new Drawable[] {
+            createBackground(white, 20, 0), createBackground(orange, 20, 0), createBackground(red, 20, 0)
+        };
+        dayBackgrounds = new Drawable[] {
+            createBackground(white, 18, 6), createBackground(orange, 18, 6), createBackground(red, 18, 6)
+        };
+
+        setEnergyLevel(0);
+        setDayLevel(0);
+    }
+
+    /**
+     * Create a drawable that draws a background texture, stretched to fill its actor.
+     *
+     * @param texture the background texture.
+     * @param minWidth the minimum width of the background.
+     * @param minHeight the minimum height of the background.
+     * @return the created drawable.
+     */
+    public static Drawable createBackground(Texture texture, float minWidth, float minHeight) {
+        Drawable background = new TextureRegionDrawable(new TextureRegion(texture));
+        background.setMinWidth(minWidth);
+        background.setMinHeight(minHeight);
+        return background;
     }
 
     public void updateBackgrounds(int energyRemaining, int hoursRemaining) {
@@ -30,26 +87,11 @@ public class BackgroundManager {
         // 10-20: Orange background
         // 10-0: Red background
         if (20 < energyRemaining) {
-            Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture("background.png")));
-            background.setMinWidth(20);
-            background.setMinHeight(0);
-            energyStatus = "white";
-
-            energyTable.setBackground(background);
-        } else if (10 < energyRemaining && energyRemaining <= 20) {
-            Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture("backgroundEnergyMed.png")));
-            background.setMinWidth(20);
-            background.setMinHeight(0);
-            energyStatus = "orange";
-
-            energyTable.setBackground(background);
-        } else if (energyRemaining <= 10) {
-            Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture("backgroundEnergyLow.png")));
-            background.setMinWidth(20);
-            background.setMinHeight(0);
-            energyStatus = "red";
-
-            energyTable.setBackground(background);
+            setEnergyLevel(0);
+        } else if (10 < energyRemaining) {
+            setEnergyLevel(1);
+        } else {
+            setEnergyLevel(2);
         }
 
         // Check for hours left:
@@ -57,26 +99,29 @@ public class BackgroundManager {
         // 2: Orange background
         // 1-0: Red background
         if (2 < hoursRemaining) {
-            Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture("background.png")));
-            background.setMinWidth(18);
-            background.setMinHeight(6);
-            dayStatus = "white";
-
-            dayTable.setBackground(background);
+            setDayLevel(0);
         } else if (hoursRemaining == 2) {
-            Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture("backgroundEnergyMed.png")));
-            background.setMinWidth(18);
-            background.setMinHeight(6);
-            dayStatus = "orange";
+            setDayLevel(1);
+        } else {
+            setDayLevel(2);
+        }
+    }
 
-            dayTable.setBackground(background);
-        } else if (hoursRemaining <= 1) {
-            Drawable background = new TextureRegionDrawable(new TextureRegion(new Texture("backgroundEnergyLow.png")));
-            background.setMinWidth(18);
-            background.setMinHeight(6);
-            dayStatus = "red";
+    private void setEnergyLevel(int level) {
+        if (level == energyLevel) {
+            return;
+        }
+        energyLevel = level;
+        energyStatus = STATUSES[level];
+        energyTable.setBackground(energyBackgrounds[level]);
+    }
 
-            dayTable.setBackground(background);
+    private void setDayLevel(int level) {
+        if (level == dayLevel) {
+            return;
         }
+        dayLevel = level;
+        dayStatus = STATUSES[level];
+        dayTable.setBackground(dayBackgrounds[level]);
     }
 }
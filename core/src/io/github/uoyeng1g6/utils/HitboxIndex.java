@@ -0,0 +1,218 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.uoyeng1g6.components.HitboxComponent;
+import io.github.uoyeng1g6.constants.PlayerConstants;
+
+/**
+ * Spatial hash over the {@link HitboxComponent#region regions} of every entity with a hitbox. The world is divided
+ * into a uniform grid of square cells, and each entity is stored in every cell its region overlaps, so finding the
+ * entities near a point only has to look at the few cells around it rather than every entity in the engine.
+ *
+ * <p>The index is kept up to date by {@link #register registering} it with an engine, after which entities are
+ * added and removed as their hitboxes are. Hitboxes are expected not to move once added.
+ */
+public class HitboxIndex implements EntityListener, ProximityTracker {
+    /**
+     * The family of entities stored in the index.
+     */
+    public static final Family FAMILY = Family.all(HitboxComponent.class).get();
+    /**
+     * The default width and height of each grid cell, in world units.
+     */
+    public static final float DEFAULT_CELL_SIZE = 8;
+
+    /**
+     * An entity stored in the index.
+     */
+    private static class Entry {
+        final Entity entity;
+        final Rectangle region;
+        /**
+         * The last query this entry was found by, so that entries stored in several cells are only returned once.
+         */
+        int lastQuery = 0;
+
+        Entry(Entity entity, Rectangle region) {
+            this.entity = entity;
+            this.region = region;
+        }
+    }
+
+    private final ComponentMapper<HitboxComponent> hm = ComponentMapper.getFor(HitboxComponent.class);
+
+    /**
+     * The width and height of each grid cell.
+     */
+    private final float cellSize;
+    /**
+     * The entries in each non-empty cell, keyed by the cell's packed coordinates.
+     */
+    private final LongMap<Array<Entry>> cells = new LongMap<>();
+    /**
+     * The entry for each entity in the index.
+     */
+    private final ObjectMap<Entity, Entry> entries = new ObjectMap<>();
+    /**
+     * Incremented for every query.
+     */
+    private int queryCount = 0;
+
+    public HitboxIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public HitboxIndex(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Add every entity with a hitbox that is already in an engine to the index, and keep the index up to date as
+     * entities are added to and removed from it.
+     *
+     * @param engine the engine to index.
+     */
+    public void register(Engine engine) {
+        for (var entity : engine.getEntitiesFor(FAMILY)) {
+            entityAdded(entity);
+        }
+        engine.addEntityListener(FAMILY, this);
+    }
+
+    /**
+     * Stop keeping the index up to date with an engine, and remove all of its entities from the index.
+     *
+     * @param engine the engine the index was registered with.
+     */
+    public void unregister(Engine engine) {
+        engine.removeEntityListener(this);
+        for (var entity : engine.getEntitiesFor(FAMILY)) {
+            entityRemoved(entity);
+        }
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        if (entries.containsKey(entity)) {
+            return;
+        }
+
+        var region = hm.get(entity).region;
+        var entry = new Entry(entity, region);
+        entries.put(entity, entry);
+
+        for (int x = cell(region.x), maxX = cell(region.x + region.width); x <= maxX; x++) {
+            for (int y = cell(region.y), maxY = cell(region.y + region.height); y <= maxY; y++) {
+                var key = key(x, y);
+                var cell = cells.get(key);
+                if (cell == null) {
+                    cell = new Array<>(false, 4);
+                    cells.put(key, cell);
+                }
+                cell.add(entry);
+            }
+        }
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        var entry = entries.remove(entity);
+        if (entry == null) {
+            return;
+        }
+
+        var region = entry.region;
+        for (int x = cell(region.x), maxX = cell(region.x + region.width); x <= maxX; x++) {
+            for (int y = cell(region.y), maxY = cell(region.y + region.height); y <= maxY; y++) {
+                var key = key(x, y);
+                var cell = cells.get(key);
+                cell.removeValue(entry, true);
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Find every entity whose hitbox region overlaps a circle. Only the enclosing regions are checked, so callers
+     * that need to know whether the circle touches one of the entity's individual hitbox rectangles must still check
+     * them. Does not allocate, so can be called every frame.
+     *
+     * @param x the x coordinate of the circle's centre.
+     * @param y the y coordinate of the circle's centre.
+     * @param radius the radius of the circle.
+     * @param out the array to put the found entities in. Cleared first.
+     * @return {@code out}.
+     */
+    public Array<Entity> query(float x, float y, float radius, Array<Entity> out) {
+        out.clear();
+        var query = ++queryCount;
+
+        for (int cellX = cell(x - radius), maxX = cell(x + radius); cellX <= maxX; cellX++) {
+            for (int cellY = cell(y - radius), maxY = cell(y + radius); cellY <= maxY; cellY++) {
+                var cell = cells.get(key(cellX, cellY));
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < cell.size; i++) {
+                    var entry = cell.get(i);
+                    if (entry.lastQuery == query) {
+                        continue;
+                    }
+                    entry.lastQuery = query;
+                    if (overlaps(x, y, radius, entry.region)) {
+                        out.add(entry.entity);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public Array<Entity> findNearby(Fixture player, Array<Entity> out) {
+        var position = player.getBody().getPosition();
+        return query(position.x, position.y, PlayerConstants.HITBOX_RADIUS, out);
+    }
+
+    /**
+     * Check whether a circle overlaps a rectangle. Equivalent to
+     * {@link com.badlogic.gdx.math.Intersector#overlaps(com.badlogic.gdx.math.Circle, Rectangle)}, without needing a
+     * {@link com.badlogic.gdx.math.Circle} instance.
+     */
+    private static boolean overlaps(float x, float y, float radius, Rectangle rectangle) {
+        var closestX = Math.max(rectangle.x, Math.min(x, rectangle.x + rectangle.width));
+        var closestY = Math.max(rectangle.y, Math.min(y, rectangle.y + rectangle.height));
+        var dx = x - closestX;
+        var dy = y - closestY;
+        return dx * dx + dy * dy < radius * radius;
+    }
+
+    /**
+     * Get the number of entities in the index.
+     *
+     * @return the number of indexed entities.
+     */
+    public int size() {
+        return entries.size;
+    }
+}
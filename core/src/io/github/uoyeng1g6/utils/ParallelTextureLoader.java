@@ -0,0 +1,343 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AssetManager} loader for textures that decodes images on a pool of worker threads. The asset manager only
+ * loads one asset at a time, so on its own every image would be decoded one after another. Instead, the images
+ * needed by an asset can be {@link #prefetch prefetched} before the asset is queued, which starts decoding all of
+ * them in parallel. When the asset manager then gets to each texture it only has to wait for its decode to finish
+ * and upload it on the rendering thread.
+ *
+ * <p>While {@link #setKeepAlphaMasks enabled}, the workers also record an {@link AlphaMask} of each image before it is
+ * uploaded, so that load time passes such as {@link io.github.uoyeng1g6.map.MapOverdrawCuller MapOverdrawCuller} can
+ * check which pixels of a texture are opaque without decoding it again.
+ */
+public class ParallelTextureLoader extends AsynchronousAssetLoader<Texture, TextureLoader.TextureParameter>
+        implements Disposable {
+    /**
+     * The worker threads used to decode images.
+     */
+    private final ExecutorService executor;
+    /**
+     * The number of worker threads.
+     */
+    private final int threads;
+    /**
+     * Images that have been submitted for decoding and not yet claimed, keyed by file name.
+     */
+    private final ObjectMap<String, Future<Pixmap>> decodes = new ObjectMap<>();
+    /**
+     * Cache of previously decoded images to load from, or {@code null} to always decode images.
+     */
+    private volatile PixmapCache cache;
+    /**
+     * Whether to record an alpha mask of each decoded image.
+     */
+    private volatile boolean keepAlphaMasks = false;
+    /**
+     * Alpha masks of decoded images that have not yet been loaded into a texture, keyed by file name.
+     */
+    private final ObjectMap<String, AlphaMask> pendingAlphaMasks = new ObjectMap<>();
+    /**
+     * Alpha masks of the textures loaded so far.
+     */
+    private final ObjectMap<Texture, AlphaMask> alphaMasks = new ObjectMap<>();
+
+    /**
+     * Total time spent decoding images over all worker threads, in nanoseconds.
+     */
+    private final AtomicLong decodeNanos = new AtomicLong();
+    /**
+     * The number of images decoded so far.
+     */
+    private final AtomicInteger decodeCount = new AtomicInteger();
+    /**
+     * The time the first image was submitted for decoding, from {@link System#nanoTime()}.
+     */
+    private long firstSubmitted = -1;
+    /**
+     * The time the most recent image finished decoding, from {@link System#nanoTime()}.
+     */
+    private final AtomicLong lastFinished = new AtomicLong();
+
+    /**
+     * The texture data prepared by {@link #loadAsync} for {@link #loadSync}.
+     */
+    private TextureData data;
+    /**
+     * The alpha mask claimed by {@link #loadAsync} for {@link #loadSync}, or {@code null}.
+     */
+    private AlphaMask alphaMask;
+
+    public ParallelTextureLoader(FileHandleResolver resolver) {
+        this(resolver, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelTextureLoader(FileHandleResolver resolver, int threads) {
+        super(resolver);
+        this.threads = threads;
+
+        var threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "ParallelTextureLoader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Set the cache to load previously decoded images from. Images that are not in the cache, or have changed since
+     * they were cached, are decoded and added to it.
+     *
+     * @param cache the cache to use, or {@code null} to always decode images.
+     */
+    public void setCache(PixmapCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Set whether to record an alpha mask of each image as it is decoded, so that it can be looked up with
+     * {@link #getAlphaMask} once loaded. Turning this off frees the masks recorded so far.
+     *
+     * @param keepAlphaMasks whether to record alpha masks.
+     */
+    public synchronized void setKeepAlphaMasks(boolean keepAlphaMasks) {
+        this.keepAlphaMasks = keepAlphaMasks;
+        if (!keepAlphaMasks) {
+            pendingAlphaMasks.clear();
+            alphaMasks.clear();
+        }
+    }
+
+    /**
+     * Get the alpha mask recorded when a texture's image was decoded.
+     *
+     * @param texture a texture loaded by this loader.
+     * @return the texture's alpha mask, or {@code null} if it was loaded while alpha masks were not being kept, or
+     *     was not decoded from an image by this loader.
+     */
+    public synchronized AlphaMask getAlphaMask(Texture texture) {
+        return alphaMasks.get(texture);
+    }
+
+    /**
+     * Start decoding every texture an asset depends on, directly or through its own dependencies. Must be called
+     * from the rendering thread before the asset is queued, as the asset's loader is asked for its dependencies.
+     *
+     * @param manager the asset manager the asset will be loaded by.
+     * @param fileName the asset's file name.
+     * @param type the asset's type.
+     * @param parameter the parameters the asset will be loaded with, or {@code null}.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void prefetch(AssetManager manager, String fileName, Class<?> type, AssetLoaderParameters parameter) {
+        if (type == Texture.class) {
+            prefetch(fileName, resolve(fileName), (TextureLoader.TextureParameter) parameter);
+            return;
+        }
+
+        var loader = manager.getLoader(type, fileName);
+        if (loader == null) {
+            return;
+        }
+        Array<AssetDescriptor> dependencies = loader.getDependencies(fileName, loader.resolve(fileName), parameter);
+        if (dependencies == null) {
+            return;
+        }
+        for (var dependency : dependencies) {
+            prefetch(manager, dependency.fileName, dependency.type, dependency.params);
+        }
+    }
+
+    private synchronized void prefetch(String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        if (decodes.containsKey(fileName) || !isPixmap(file) || (parameter != null && parameter.textureData != null)) {
+            return;
+        }
+
+        if (firstSubmitted < 0) {
+            firstSubmitted = System.nanoTime();
+        }
+        decodes.put(fileName, executor.submit(() -> {
+            var start = System.nanoTime();
+            var cache = this.cache;
+            var pixmap = cache != null ? cache.load(file) : new Pixmap(file);
+            var end = System.nanoTime();
+
+            decodeNanos.addAndGet(end - start);
+            decodeCount.incrementAndGet();
+            lastFinished.accumulateAndGet(end, Math::max);
+            Gdx.app.log(
+                    "ParallelTextureLoader",
+                    String.format(
+                            "Decoded %s (%dx%d) in %.1f ms on %s",
+                            fileName,
+                            pixmap.getWidth(),
+                            pixmap.getHeight(),
+                            (end - start) / 1e6,
+                            Thread.currentThread().getName()));
+
+            if (keepAlphaMasks) {
+                var mask = AlphaMask.of(pixmap);
+                synchronized (this) {
+                    pendingAlphaMasks.put(fileName, mask);
+                }
+            }
+            return pixmap;
+        }));
+    }
+
+    /**
+     * Check whether a file is an image format decoded through {@link Pixmap}, rather than one of the compressed
+     * formats handled by {@link TextureData.Factory}.
+     */
+    private static boolean isPixmap(FileHandle file) {
+        var extension = file.extension().toLowerCase();
+        return !extension.equals("cim") && !extension.equals("etc1") && !extension.endsWith("ktx");
+    }
+
+    private synchronized Future<Pixmap> claim(String fileName) {
+        return decodes.remove(fileName);
+    }
+
+    private synchronized AlphaMask claimAlphaMask(String fileName) {
+        return pendingAlphaMasks.remove(fileName);
+    }
+
+    private synchronized void putAlphaMask(Texture texture, AlphaMask mask) {
+        if (keepAlphaMasks) {
+            alphaMasks.put(texture, mask);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(
+            String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        return null;
+    }
+
+    @Override
+    public void loadAsync(
+            AssetManager manager, String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        var format = parameter != null ? parameter.format : null;
+        var genMipMaps = parameter != null && parameter.genMipMaps;
+        if (parameter != null && parameter.textureData != null) {
+            data = parameter.textureData;
+        } else {
+            // Start decoding now if the texture was not prefetched
+            prefetch(fileName, file, parameter);
+            var decode = claim(fileName);
+            if (decode == null) {
+                data = TextureData.Factory.loadFromFile(file, format, genMipMaps);
+            } else {
+                data = new FileTextureData(file, await(fileName, decode), format, genMipMaps);
+                alphaMask = claimAlphaMask(fileName);
+            }
+        }
+
+        if (!data.isPrepared()) {
+            data.prepare();
+        }
+    }
+
+    private static Pixmap await(String fileName, Future<Pixmap> decode) {
+        try {
+            return decode.get();
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Failed to decode " + fileName, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while decoding " + fileName, e);
+        }
+    }
+
+    @Override
+    public Texture loadSync(
+            AssetManager manager, String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        Texture texture;
+        if (parameter != null && parameter.texture != null) {
+            texture = parameter.texture;
+            texture.load(data);
+        } else {
+            texture = new Texture(data);
+        }
+        data = null;
+        if (alphaMask != null) {
+            putAlphaMask(texture, alphaMask);
+            alphaMask = null;
+        }
+
+        if (parameter != null) {
+            texture.setFilter(parameter.minFilter, parameter.magFilter);
+            texture.setWrap(parameter.wrapU, parameter.wrapV);
+        }
+        return texture;
+    }
+
+    /**
+     * Get the number of images decoded so far.
+     *
+     * @return the number of decoded images.
+     */
+    public int getDecodeCount() {
+        return decodeCount.get();
+    }
+
+    /**
+     * Get a summary of the images decoded so far, comparing the total time spent decoding with the time taken
+     * from the first image being submitted to the last one finishing.
+     *
+     * @return the summary.
+     */
+    public String getSummary() {
+        var wallNanos = firstSubmitted < 0 ? 0 : Math.max(0, lastFinished.get() - firstSubmitted);
+        var summary = String.format(
+                "Decoded %d images in %.1f ms over %d threads, %.1f ms of decoding in total",
+                decodeCount.get(), wallNanos / 1e6, threads, decodeNanos.get() / 1e6);
+        var cache = this.cache;
+        if (cache != null) {
+            summary += String.format(" (%d from cache, %d decoded)", cache.getHits(), cache.getMisses());
+        }
+        return summary;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        executor.shutdownNow();
+        // Free any images that were prefetched but never loaded
+        for (var decode : decodes.values()) {
+            if (decode.isDone() && !decode.isCancelled()) {
+                try {
+                    decode.get().dispose();
+                } catch (InterruptedException | ExecutionException ignored) {
+                    // Nothing to free
+                }
+            }
+        }
+        decodes.clear();
+        pendingAlphaMasks.clear();
+        alphaMasks.clear();
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.Gdx2DPixmap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache of decoded images. The first time an image is loaded it is decoded as normal and its raw pixels
+ * are written to the cache directory. Later loads memory map the cached pixels and copy them straight into a
+ * {@link Pixmap}, skipping the PNG decoding entirely. Each entry records the length and CRC32 of the file it was
+ * decoded from, so an image that has changed is decoded again and its entry rewritten. Safe to use from multiple
+ * threads, provided the same image is not loaded on two threads at once.
+ */
+public class PixmapCache {
+    /**
+     * Magic number at the start of every cache entry, "HHPX" in ASCII.
+     */
+    static final int MAGIC = 0x48485058;
+    /**
+     * Version of the cache entry format. Entries written by other versions are ignored and rewritten.
+     */
+    static final int VERSION = 1;
+    /**
+     * Size of the header before the pixel data, in bytes.
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * The directory cache entries are stored in.
+     */
+    private final FileHandle directory;
+
+    /**
+     * The number of images loaded from the cache.
+     */
+    private final AtomicInteger hits = new AtomicInteger();
+    /**
+     * The number of images that had to be decoded.
+     */
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public PixmapCache(FileHandle directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Load an image, from the cache if it holds an up to date copy, otherwise by decoding it and adding it to the
+     * cache.
+     *
+     * @param file the image to load.
+     * @return the decoded image.
+     * @throws GdxRuntimeException if the image could not be read or decoded.
+     */
+    public Pixmap load(FileHandle file) {
+        var bytes = file.readBytes();
+        var crc = new CRC32();
+        crc.update(bytes);
+        var checksum = (int) crc.getValue();
+
+        var entry = getEntry(file);
+        if (isUpToDate(entry, bytes.length, checksum)) {
+            try {
+                var pixmap = read(entry);
+                hits.incrementAndGet();
+                return pixmap;
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("PixmapCache", "Failed to read cached image, decoding " + file, e);
+            }
+        }
+
+        var pixmap = new Pixmap(bytes, 0, bytes.length);
+        misses.incrementAndGet();
+        try {
+            write(entry, pixmap, bytes.length, checksum);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("PixmapCache", "Failed to cache image " + file, e);
+        }
+        return pixmap;
+    }
+
+    /**
+     * Get the cache entry for an image. Entries are named after the image's path, so each image only ever has one
+     * entry, which is overwritten when the image changes.
+     */
+    FileHandle getEntry(FileHandle file) {
+        return directory.child(file.path().replaceAll("[^A-Za-z0-9.-]", "_") + ".pix");
+    }
+
+    /**
+     * Check whether a cache entry exists and was decoded from an image with the given length and checksum. Only the
+     * header is read, so that the entry is not left mapped if it has to be rewritten. The size of the pixel data is
+     * checked when the entry is read.
+     */
+    private static boolean isUpToDate(FileHandle entry, long length, int checksum) {
+        if (!entry.exists() || entry.length() < HEADER_SIZE) {
+            return false;
+        }
+
+        try (var in = new DataInputStream(entry.read())) {
+            return in.readInt() == MAGIC
+                    && in.readInt() == VERSION
+                    && in.readLong() == length
+                    && in.readInt() == checksum;
+        } catch (IOException | GdxRuntimeException e) {
+            return false;
+        }
+    }
+
+    private static Pixmap read(FileHandle entry) {
+        var buffer = entry.map().order(ByteOrder.BIG_ENDIAN);
+        buffer.position(20);
+        var format = buffer.getInt();
+        var width = buffer.getInt();
+        var height = buffer.getInt();
+        if (width <= 0 || height <= 0) {
+            throw new GdxRuntimeException("Cached image has an invalid size: " + entry);
+        }
+        buffer.position(HEADER_SIZE);
+
+        // Skip the fill done by the Pixmap constructors, as every pixel is about to be overwritten
+        var pixmap = new Pixmap(new Gdx2DPixmap(width, height, format));
+        var pixels = pixmap.getPixels();
+        if (pixels.capacity() != buffer.remaining()) {
+            pixmap.dispose();
+            throw new GdxRuntimeException("Cached image has the wrong size: " + entry);
+        }
+        pixels.clear();
+        pixels.put(buffer);
+        pixels.clear();
+        return pixmap;
+    }
+
+    private static void write(FileHandle entry, Pixmap pixmap, long length, int checksum) {
+        var pixels = pixmap.getPixels().duplicate();
+        pixels.clear();
+
+        var header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(length);
+        header.putInt(checksum);
+        header.putInt(Pixmap.Format.toGdx2DPixmapFormat(pixmap.getFormat()));
+        header.putInt(pixmap.getWidth());
+        header.putInt(pixmap.getHeight());
+        header.flip();
+
+        // Write to a temporary file first so a partially written file is never picked up as a valid entry
+        var temp = entry.sibling(entry.name() + ".tmp");
+        try (var out = Channels.newChannel(temp.write(false))) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            while (pixels.hasRemaining()) {
+                out.write(pixels);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to write cached image: " + entry, e);
+        }
+        temp.moveTo(entry);
+    }
+
+    /**
+     * Get the number of images loaded from the cache so far.
+     *
+     * @return the number of cache hits.
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of images that were not in the cache, or had changed, and so had to be decoded.
+     *
+     * @return the number of cache misses.
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+}
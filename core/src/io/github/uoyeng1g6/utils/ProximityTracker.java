@@ -0,0 +1,24 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.utils.Array;
+import io.github.uoyeng1g6.components.HitboxComponent;
+
+/**
+ * Finds the entities whose hitbox is near the player, for the systems that show tooltips and handle interactions.
+ * Implementations only have to look at the region enclosing each entity's hitbox, so callers that need to know
+ * whether the player touches one of the individual {@link HitboxComponent#rects hitbox rectangles} must still check
+ * them.
+ */
+public interface ProximityTracker {
+    /**
+     * Find every entity whose {@link HitboxComponent#region hitbox region} overlaps the player. Must not allocate,
+     * as it is called every frame.
+     *
+     * @param player the player's physics fixture.
+     * @param out the array to put the found entities in. Cleared first.
+     * @return {@code out}.
+     */
+    Array<Entity> findNearby(Fixture player, Array<Entity> out);
+}
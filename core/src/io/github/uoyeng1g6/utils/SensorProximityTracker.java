@@ -0,0 +1,205 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.ContactImpulse;
+import com.badlogic.gdx.physics.box2d.ContactListener;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.Manifold;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.uoyeng1g6.components.HitboxComponent;
+
+/**
+ * Proximity tracker that adds the {@link HitboxComponent#region region} of every entity with a hitbox to the box2d
+ * world as a sensor, and keeps the set of sensors each fixture is touching up to date from the world's contact
+ * callbacks. Finding the entities near the player is then just a lookup, with the overlap tests done by the
+ * broadphase when the world is stepped.
+ *
+ * <p>As contacts are only updated by {@link World#step}, the entities found lag the player's movement by up to one
+ * world step. Hitboxes are expected not to move once added.
+ */
+public class SensorProximityTracker implements ProximityTracker, EntityListener, ContactListener {
+    /**
+     * The family of entities tracked.
+     */
+    public static final Family FAMILY = Family.all(HitboxComponent.class).get();
+
+    private final ComponentMapper<HitboxComponent> hm = ComponentMapper.getFor(HitboxComponent.class);
+
+    /**
+     * The world the sensors are created in.
+     */
+    private final World world;
+    /**
+     * The sensor body created for each tracked entity.
+     */
+    private final ObjectMap<Entity, Body> bodies = new ObjectMap<>();
+    /**
+     * The entity each sensor fixture was created for.
+     */
+    private final ObjectMap<Fixture, Entity> sensors = new ObjectMap<>();
+    /**
+     * The entities whose sensors each non-sensor fixture is currently touching.
+     */
+    private final ObjectMap<Fixture, Array<Entity>> inRange = new ObjectMap<>();
+
+    /**
+     * Create a sensor proximity tracker. The tracker replaces the world's contact listener.
+     *
+     * @param world the world to create the sensors in.
+     */
+    public SensorProximityTracker(World world) {
+        this.world = world;
+        world.setContactListener(this);
+    }
+
+    /**
+     * Create a sensor for every entity with a hitbox that is already in an engine, and keep the sensors up to date
+     * as entities are added to and removed from it.
+     *
+     * @param engine the engine to track.
+     */
+    public void register(Engine engine) {
+        for (var entity : engine.getEntitiesFor(FAMILY)) {
+            entityAdded(entity);
+        }
+        engine.addEntityListener(FAMILY, this);
+    }
+
+    /**
+     * Stop keeping the sensors up to date with an engine, and destroy the sensors of all of its entities.
+     *
+     * @param engine the engine the tracker was registered with.
+     */
+    public void unregister(Engine engine) {
+        engine.removeEntityListener(this);
+        for (var entity : engine.getEntitiesFor(FAMILY)) {
+            entityRemoved(entity);
+        }
+    }
+
+    @Override
+    public void entityAdded(Entity entity) {
+        if (bodies.containsKey(entity)) {
+            return;
+        }
+
+        var region = hm.get(entity).region;
+
+        var bodyDef = new BodyDef();
+        bodyDef.type = BodyDef.BodyType.StaticBody;
+        bodyDef.position.set(region.x + region.width / 2, region.y + region.height / 2);
+        var body = world.createBody(bodyDef);
+
+        var shape = new PolygonShape();
+        shape.setAsBox(region.width / 2, region.height / 2);
+        var fixtureDef = new FixtureDef();
+        fixtureDef.shape = shape;
+        fixtureDef.isSensor = true;
+        var fixture = body.createFixture(fixtureDef);
+        shape.dispose();
+
+        bodies.put(entity, body);
+        sensors.put(fixture, entity);
+    }
+
+    @Override
+    public void entityRemoved(Entity entity) {
+        var body = bodies.remove(entity);
+        if (body == null) {
+            return;
+        }
+
+        // The contacts ended by destroying the body are ignored, and the entity is taken out of range directly
+        var fixtures = body.getFixtureList();
+        for (int i = 0; i < fixtures.size; i++) {
+            sensors.remove(fixtures.get(i));
+        }
+        world.destroyBody(body);
+        for (var entities : inRange.values()) {
+            entities.removeValue(entity, true);
+        }
+    }
+
+    @Override
+    public Array<Entity> findNearby(Fixture player, Array<Entity> out) {
+        out.clear();
+        var entities = inRange.get(player);
+        if (entities != null) {
+            out.addAll(entities);
+        }
+        return out;
+    }
+
+    @Override
+    public void beginContact(Contact contact) {
+        var a = contact.getFixtureA();
+        var b = contact.getFixtureB();
+        // The contact is reused by the world once the callback returns, so only its fixtures are kept
+        if (!b.isSensor()) {
+            enterRange(b, sensors.get(a));
+        }
+        if (!a.isSensor()) {
+            enterRange(a, sensors.get(b));
+        }
+    }
+
+    @Override
+    public void endContact(Contact contact) {
+        var a = contact.getFixtureA();
+        var b = contact.getFixtureB();
+        if (!b.isSensor()) {
+            leaveRange(b, sensors.get(a));
+        }
+        if (!a.isSensor()) {
+            leaveRange(a, sensors.get(b));
+        }
+    }
+
+    private void enterRange(Fixture fixture, Entity entity) {
+        if (entity == null) {
+            return;
+        }
+        var entities = inRange.get(fixture);
+        if (entities == null) {
+            entities = new Array<>(false, 4);
+            inRange.put(fixture, entities);
+        }
+        entities.add(entity);
+    }
+
+    private void leaveRange(Fixture fixture, Entity entity) {
+        if (entity == null) {
+            return;
+        }
+        var entities = inRange.get(fixture);
+        if (entities != null) {
+            entities.removeValue(entity, true);
+        }
+    }
+
+    @Override
+    public void preSolve(Contact contact, Manifold oldManifold) {}
+
+    @Override
+    public void postSolve(Contact contact, ContactImpulse impulse) {}
+
+    /**
+     * Get the number of entities with a sensor.
+     *
+     * @return the number of tracked entities.
+     */
+    public int size() {
+        return bodies.size;
+    }
+}
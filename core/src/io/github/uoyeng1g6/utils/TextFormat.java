@@ -0,0 +1,49 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Allocation free formatting of values for display in labels. Each method replaces the contents of a reusable
+ * {@link StringBuilder} and returns it, ready to be passed to {@link Label#setText(CharSequence)}. Labels copy the
+ * characters out of a libGDX {@code StringBuilder} directly, so no {@code String} is created at any point.
+ */
+public final class TextFormat {
+    private TextFormat() {}
+
+    /**
+     * Format an integer.
+     *
+     * @param out the builder to write to. Its previous contents are cleared.
+     * @param value the value to format.
+     * @return {@code out}.
+     */
+    public static StringBuilder formatInt(StringBuilder out, int value) {
+        out.clear();
+        return out.append(value);
+    }
+
+    /**
+     * Format an integer percentage, for example {@code 75%}.
+     *
+     * @param out the builder to write to. Its previous contents are cleared.
+     * @param value the percentage to format.
+     * @return {@code out}.
+     */
+    public static StringBuilder formatPercent(StringBuilder out, int value) {
+        out.clear();
+        return out.append(value).append('%');
+    }
+
+    /**
+     * Format the start of an hour on a 24 hour clock, for example {@code 07:00}.
+     *
+     * @param out the builder to write to. Its previous contents are cleared.
+     * @param hour the hour to format.
+     * @return {@code out}.
+     */
+    public static StringBuilder formatClockTime(StringBuilder out, int hour) {
+        out.clear();
+        return out.append(hour, 2).append(":00");
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.uoyeng1g6.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Locates the per-user directories the game keeps its files in, following each platform's conventions, so that
+ * nothing is written to the working directory. When the game is run with {@code desktop:run} that is the assets
+ * directory, which is packaged into the game's jar.
+ */
+public final class UserDirectories {
+    /**
+     * The name of the game's directory within each per-user directory.
+     */
+    public static final String APP_NAME = "HeslingtonHustle";
+
+    private UserDirectories() {}
+
+    /**
+     * Get the directory for files that can be regenerated if deleted, such as decoded images.
+     *
+     * @return the cache directory.
+     */
+    public static FileHandle getCacheDirectory() {
+        return Gdx.files.absolute(
+                getCacheDirectory(System.getProperty("os.name"), System::getenv, System.getProperty("user.home")));
+    }
+
+    /**
+     * Resolve the cache directory for a platform: {@code %LOCALAPPDATA%} on Windows, {@code ~/Library/Caches} on
+     * macOS and {@code $XDG_CACHE_HOME} or {@code ~/.cache} elsewhere. On Windows, falls back to a hidden directory
+     * in the home directory if {@code %LOCALAPPDATA%} is not set.
+     *
+     * @param osName the name of the operating system, as given by the {@code os.name} system property.
+     * @param env the environment variables.
+     * @param userHome the user's home directory.
+     * @return the path of the cache directory.
+     */
+    public static String getCacheDirectory(String osName, Function<String, String> env, String userHome) {
+        var os = osName.toLowerCase(Locale.ROOT);
+        if (os.startsWith("windows")) {
+            var localAppData = env.apply("LOCALAPPDATA");
+            return (isSet(localAppData) ? localAppData + "/" + APP_NAME : userHome + "/." + APP_NAME) + "/cache";
+        }
+        if (os.startsWith("mac")) {
+            return userHome + "/Library/Caches/" + APP_NAME;
+        }
+        var cacheHome = env.apply("XDG_CACHE_HOME");
+        return (isSet(cacheHome) ? cacheHome : userHome + "/.cache") + "/" + APP_NAME;
+    }
+
+    /**
+     * Get the directory for files that must be kept, such as the save of the game in progress.
+     *
+     * @return the data directory.
+     */
+    public static FileHandle getDataDirectory() {
+        return Gdx.files.absolute(
+                getDataDirectory(System.getProperty("os.name"), System::getenv, System.getProperty("user.home")));
+    }
+
+    /**
+     * Resolve the data directory for a platform: {@code %APPDATA%} on Windows, {@code ~/Library/Application Support}
+     * on macOS and {@code $XDG_DATA_HOME} or {@code ~/.local/share} elsewhere. On Windows, falls back to a hidden
+     * directory in the home directory if {@code %APPDATA%} is not set.
+     *
+     * @param osName the name of the operating system, as given by the {@code os.name} system property.
+     * @param env the environment variables.
+     * @param userHome the user's home directory.
+     * @return the path of the data directory.
+     */
+    public static String getDataDirectory(String osName, Function<String, String> env, String userHome) {
+        var os = osName.toLowerCase(Locale.ROOT);
+        if (os.startsWith("windows")) {
+            var appData = env.apply("APPDATA");
+            return isSet(appData) ? appData + "/" + APP_NAME : userHome + "/." + APP_NAME;
+        }
+        if (os.startsWith("mac")) {
+            return userHome + "/Library/Application Support/" + APP_NAME;
+        }
+        var dataHome = env.apply("XDG_DATA_HOME");
+        return (isSet(dataHome) ? dataHome : userHome + "/.local/share") + "/" + APP_NAME;
+    }
+
+    private static boolean isSet(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.uoyeng1g6;
+
+import io.github.uoyeng1g6.simulation.Location;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.MonteCarlo;
+import io.github.uoyeng1g6.simulation.Policy;
+import io.github.uoyeng1g6.simulation.ScheduleSolver;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays large numbers of simulated games on every core and prints the score distribution and achievement rates as
+ * CSV, along with the best score possible, optionally for every combination of a grid of activity costs.
+ *
+ * <p>Arguments are given as {@code key=value}:
+ *
+ * <ul>
+ *   <li>{@code games} - the number of games to play for each combination of costs. Defaults to 1000000.
+ *   <li>{@code policy} - {@code random} or {@code affordable}. Defaults to {@code affordable}.
+ *   <li>{@code seed} - the random seed. Defaults to 1.
+ *   <li>{@code sweep} - {@code location:times:energies}, e.g. {@code sweep=cs:1,2:4,6,8}, to try every
+ *       combination of the given hours and energy for a location. May be given more than once.
+ * </ul>
+ */
+public class BalanceLauncher {
+    /**
+     * A location and the costs to try for it.
+     */
+    private static class Sweep {
+        final String location;
+        final int[] times;
+        final int[] energies;
+
+        Sweep(String spec) {
+            var parts = spec.split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("sweep must be location:times:energies, got " + spec);
+            }
+            location = parts[0];
+            if (Locations.find(location) == null) {
+                throw new IllegalArgumentException("unknown location " + location);
+            }
+            times = parseInts(parts[1]);
+            energies = parseInts(parts[2]);
+        }
+
+        private static int[] parseInts(String list) {
+            var values = list.split(",");
+            var ints = new int[values.length];
+            for (int i = 0; i < values.length; i++) {
+                ints[i] = Integer.parseInt(values[i]);
+            }
+            return ints;
+        }
+    }
+
+    public static void main(String[] args) {
+        long games = 1_000_000;
+        var policy = Policy.AFFORDABLE;
+        long seed = 1;
+        var sweeps = new ArrayList<Sweep>();
+
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            var key = separator < 0 ? arg : arg.substring(0, separator);
+            var value = separator < 0 ? "" : arg.substring(separator + 1);
+            switch (key) {
+                case "games":
+                    games = Long.parseLong(value);
+                    break;
+                case "policy":
+                    policy = value.equals("random") ? Policy.RANDOM : Policy.AFFORDABLE;
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "sweep":
+                    sweeps.add(new Sweep(value));
+                    break;
+                default:
+                    System.err.println("Unknown argument " + arg);
+                    System.exit(1);
+            }
+        }
+
+        var header = new StringBuilder();
+        for (var sweep : sweeps) {
+            header.append(sweep.location).append("Time,").append(sweep.location).append("Energy,");
+        }
+        header.append("games,mean,p10,p50,p90,best");
+        for (var achievement : MonteCarlo.ACHIEVEMENTS) {
+            header.append(',').append(achievement);
+        }
+        System.out.println(header);
+
+        var start = System.nanoTime();
+        var total = runGrid(sweeps, 0, Locations.ALL, "", games, policy, seed);
+        var seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("Played %d games in %.1f s (%.0f games/s)%n", total, seconds, total / seconds);
+    }
+
+    /**
+     * Run the simulation for every combination of costs in the sweeps from the given index onwards.
+     *
+     * @return the number of games played.
+     */
+    private static long runGrid(
+            List<Sweep> sweeps,
+            int index,
+            List<Location> locations,
+            String prefix,
+            long games,
+            Policy policy,
+            long seed) {
+        if (index == sweeps.size()) {
+            var result = new MonteCarlo(locations, policy).run(games, seed);
+            var line = new StringBuilder(prefix);
+            line.append(result.games)
+                    .append(',')
+                    .append(String.format("%.2f", result.getMean()))
+                    .append(',')
+                    .append(result.getPercentile(0.1))
+                    .append(',')
+                    .append(result.getPercentile(0.5))
+                    .append(',')
+                    .append(result.getPercentile(0.9))
+                    .append(',')
+                    .append(new ScheduleSolver(locations).getBestScore());
+            for (int i = 0; i < MonteCarlo.ACHIEVEMENTS.length; i++) {
+                line.append(',').append(String.format("%.4f", result.getAchievementRate(i)));
+            }
+            System.out.println(line);
+            return result.games;
+        }
+
+        var sweep = sweeps.get(index);
+        var location = Locations.find(locations, sweep.location);
+        long played = 0;
+        for (var time : sweep.times) {
+            for (var energy : sweep.energies) {
+                played += runGrid(
+                        sweeps,
+                        index + 1,
+                        Locations.replace(locations, location.withCosts(time, energy)),
+                        prefix + time + "," + energy + ",",
+                        games,
+                        policy,
+                        seed);
+            }
+        }
+        return played;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.uoyeng1g6;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import io.github.uoyeng1g6.replay.HeadlessReplay;
+import io.github.uoyeng1g6.replay.InputRecording;
+import io.github.uoyeng1g6.simulation.Simulation;
+
+/**
+ * Replays an input recording without opening a window, as fast as possible, and prints how long it took. Must be
+ * run from the assets directory.
+ */
+public class ReplayLauncher {
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: ReplayLauncher <recording>");
+            System.exit(1);
+        }
+
+        Box2D.init();
+        var recording = InputRecording.read(new FileHandle(args[0]));
+        var replay = new HeadlessReplay(recording, Simulation.loadTerrain(new FileHandle("terrain.json")));
+        var gameState = replay.run();
+
+        var millis = replay.getNanos() / 1_000_000.0;
+        System.out.printf(
+                "Replayed %d of %d frames in %.1f ms (%.0f frames/s)%n",
+                replay.getFrames(), recording.size(), millis, replay.getFrames() / (millis / 1000));
+        System.out.printf(
+                "Days completed: %d, exam score: %d%n",
+                gameState.days.size(), ScoreCalculator.calculateExamScore(gameState.days));
+    }
+}
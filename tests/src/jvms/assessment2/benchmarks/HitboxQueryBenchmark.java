@@ -0,0 +1,124 @@
+package jvms.assessment2.benchmarks;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import io.github.uoyeng1g6.components.HitboxComponent;
+import io.github.uoyeng1g6.constants.PlayerConstants;
+import io.github.uoyeng1g6.utils.HitboxIndex;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares finding the hitboxes the player is standing in by scanning every entity, as the interaction and tooltip
+ * systems used to, with querying the {@link HitboxIndex}. Interactables are spread over an area that grows with
+ * their number, so the density stays close to that of the campus map. Each invocation runs one query per frame for
+ * a walk over a fixed set of player positions.
+ *
+ * <p>Run with {@code ./gradlew tests:benchmark -Pbenchmarks=HitboxQueryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitboxQueryBenchmark {
+    /**
+     * The number of player positions queried per invocation.
+     */
+    static final int POSITIONS = 1024;
+    /**
+     * The area each interactable is given, in square world units. Roughly that of the campus map.
+     */
+    static final float AREA_PER_INTERACTABLE = 400;
+
+    @Param({"10", "1000", "100000"})
+    public int interactables;
+
+    ImmutableArray<Entity> entities;
+    HitboxIndex index;
+    float[] positions;
+
+    final Circle playerHitbox = new Circle();
+    final Array<Entity> nearby = new Array<>();
+    int next = 0;
+
+    @Setup
+    public void setup() {
+        var engine = new PooledEngine();
+        var random = new RandomXS128(1);
+        var size = (float) Math.sqrt(interactables * AREA_PER_INTERACTABLE);
+        for (int i = 0; i < interactables; i++) {
+            var x = random.nextFloat() * size;
+            var y = random.nextFloat() * size;
+            engine.addEntity(engine.createEntity()
+                    .add(new HitboxComponent(new Rectangle(x, y, 4, 3), new Rectangle(x + 1, y + 3, 2, 2))));
+        }
+
+        entities = engine.getEntitiesFor(Family.all(HitboxComponent.class).get());
+        index = new HitboxIndex();
+        index.register(engine);
+
+        positions = new float[POSITIONS * 2];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = random.nextFloat() * size;
+        }
+    }
+
+    private static boolean overlapsAny(Circle circle, HitboxComponent hitbox) {
+        for (var rect : hitbox.rects) {
+            if (Intersector.overlaps(circle, rect)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void nextPosition() {
+        playerHitbox.set(positions[next], positions[next + 1], PlayerConstants.HITBOX_RADIUS);
+        next = (next + 2) % positions.length;
+    }
+
+    @Benchmark
+    public int scan() {
+        nextPosition();
+        var found = 0;
+        for (var entity : entities) {
+            var hitbox = entity.getComponent(HitboxComponent.class);
+            if (Intersector.overlaps(playerHitbox, hitbox.region) && overlapsAny(playerHitbox, hitbox)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int query() {
+        nextPosition();
+        index.query(playerHitbox.x, playerHitbox.y, playerHitbox.radius, nearby);
+        var found = 0;
+        for (int i = 0; i < nearby.size; i++) {
+            if (overlapsAny(playerHitbox, nearby.get(i).getComponent(HitboxComponent.class))) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
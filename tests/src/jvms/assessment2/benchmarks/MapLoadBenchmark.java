@@ -0,0 +1,118 @@
+package jvms.assessment2.benchmarks;
+
+import static org.mockito.Mockito.mock;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.maps.ImageResolver;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.ObjectMap;
+import io.github.uoyeng1g6.map.BinaryMapLoader;
+import io.github.uoyeng1g6.map.BinaryMapWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the time taken to load the campus map at startup from its TMX file and from the binary map cache.
+ * Textures are created against a mocked GL context. The {@code load} benchmarks include decoding the tileset
+ * images, which both paths share, while the {@code parse} benchmarks reuse already loaded textures to isolate the
+ * cost of reading the map itself.
+ *
+ * <p>Run with {@code ./gradlew tests:benchmark -Pbenchmarks=MapLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapLoadBenchmark {
+    /**
+     * Exposes the parsing step of {@link TmxMapLoader} so it can be run with already loaded textures.
+     */
+    static class ParsingTmxMapLoader extends TmxMapLoader {
+        TiledMap parse(FileHandle tmxFile, ImageResolver imageResolver) {
+            root = xml.parse(tmxFile);
+            return loadTiledMap(tmxFile, new Parameters(), imageResolver);
+        }
+    }
+
+    FileHandle tmxFile;
+    FileHandle cacheDir;
+    FileHandle cacheFile;
+
+    TiledMap textureOwner;
+    ImageResolver imageResolver;
+
+    @Setup
+    public void setup() {
+        new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+        Gdx.gl = mock(GL20.class);
+
+        tmxFile = Gdx.files.internal("../assets/maps/campus-east.tmx");
+        cacheDir = FileHandle.tempDirectory("map-load-benchmark");
+        cacheFile = cacheDir.child("campus-east.bin");
+
+        textureOwner = new TmxMapLoader().load(tmxFile.path());
+        BinaryMapWriter.write(textureOwner, tmxFile, cacheFile);
+
+        var textures = new ObjectMap<String, Texture>();
+        for (var tileSet : textureOwner.getTileSets()) {
+            for (var tile : tileSet) {
+                var texture = tile.getTextureRegion().getTexture();
+                textures.put(((FileTextureData) texture.getTextureData())
+                        .getFileHandle()
+                        .path(), texture);
+            }
+        }
+        imageResolver = new ImageResolver.DirectImageResolver(textures);
+    }
+
+    @TearDown
+    public void tearDown() {
+        textureOwner.dispose();
+        cacheDir.deleteDirectory();
+        Gdx.app.exit();
+    }
+
+    @Benchmark
+    public TiledMap loadTmx() {
+        var tiledMap = new TmxMapLoader().load(tmxFile.path());
+        tiledMap.dispose();
+        return tiledMap;
+    }
+
+    @Benchmark
+    public TiledMap loadBinary() {
+        var tiledMap = BinaryMapLoader.read(cacheFile);
+        tiledMap.dispose();
+        return tiledMap;
+    }
+
+    @Benchmark
+    public TiledMap parseTmx() {
+        return new ParsingTmxMapLoader().parse(tmxFile, imageResolver);
+    }
+
+    @Benchmark
+    public TiledMap parseBinary() {
+        return BinaryMapLoader.read(cacheFile, imageResolver);
+    }
+}
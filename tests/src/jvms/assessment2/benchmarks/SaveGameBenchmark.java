@@ -0,0 +1,66 @@
+package jvms.assessment2.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.save.SaveGame;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures serialising a game on its last day into a reused buffer, as the autosave does on the render thread after
+ * every change, and reading it back, as resuming the game does.
+ *
+ * <p>Run with {@code ./gradlew tests:benchmark -Pbenchmarks=SaveGameBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveGameBenchmark {
+    GameState gameState;
+    final Vector2 playerPosition = new Vector2(24, 30);
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    ByteBuffer save;
+
+    @Setup
+    public void setup() {
+        gameState = new GameState();
+        for (int day = 0; day < 6; day++) {
+            for (int i = 0; i < 4; i++) {
+                gameState.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+            }
+            gameState.doActivity(1, 0, ActivityType.MEAL, "", "food");
+            gameState.doActivity(2, 0, ActivityType.RECREATION, "", "sports");
+            gameState.advanceDay();
+        }
+        gameState.doActivity(1, 0, ActivityType.STUDY, "", "library");
+
+        var written = SaveGame.write(ByteBuffer.allocate(1024), gameState, playerPosition);
+        save = ByteBuffer.allocate(written.remaining());
+        save.put(written).flip();
+    }
+
+    @Benchmark
+    public ByteBuffer write() {
+        buffer = SaveGame.write(buffer, gameState, playerPosition);
+        return buffer;
+    }
+
+    @Benchmark
+    public SaveGame read() {
+        return SaveGame.read(save.duplicate());
+    }
+}
@@ -0,0 +1,78 @@
+package jvms.assessment2.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.uoyeng1g6.models.GameBatch;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.MonteCarlo;
+import io.github.uoyeng1g6.simulation.Policy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares scoring finished games one at a time with {@link ScoreCalculator#calculateExamScore} and
+ * {@link ScoreCalculator#calculateAchievements} against scoring them all at once with
+ * {@link ScoreCalculator#scoreBatch}. Results are per game.
+ *
+ * <p>Run with {@code ./gradlew tests:benchmark -Pbenchmarks=ScoreBatchBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreBatchBenchmark {
+    static final int GAMES = 4096;
+
+    GameState[] games;
+    GameBatch batch;
+    final int[] scores = new int[GAMES];
+    final int[] achievements = new int[GAMES];
+
+    @Setup
+    public void setup() {
+        var monteCarlo = new MonteCarlo(Locations.ALL, Policy.AFFORDABLE);
+        var random = new RandomXS128(1);
+        games = new GameState[GAMES];
+        batch = new GameBatch(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            games[i] = monteCarlo.play(random);
+            batch.add(games[i].days);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] oneAtATime() {
+        for (int i = 0; i < GAMES; i++) {
+            var days = games[i].days;
+            scores[i] = ScoreCalculator.calculateExamScore(days);
+            var achieved = ScoreCalculator.calculateAchievements(days);
+            var mask = 0;
+            for (int j = 0; j < achieved.size(); j++) {
+                mask |= achieved.get(j) ? 1 << j : 0;
+            }
+            achievements[i] = mask;
+        }
+        return scores;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public int[] batch() {
+        ScoreCalculator.scoreBatch(batch, scores, achievements);
+        return scores;
+    }
+}
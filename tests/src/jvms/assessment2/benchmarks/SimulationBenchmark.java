@@ -0,0 +1,59 @@
+package jvms.assessment2.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import io.github.uoyeng1g6.simulation.Location;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many complete games the headless {@link Simulation} can play per second on a single thread, with a
+ * player that picks a random location for every interaction. No application, window or GL context is created.
+ *
+ * <p>Run with {@code ./gradlew tests:benchmark -Pbenchmarks=SimulationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+    Simulation simulation;
+    Location[] locations;
+    final RandomXS128 random = new RandomXS128(1);
+
+    @Setup
+    public void setup() {
+        Box2D.init();
+        simulation = new Simulation(Simulation.loadTerrain(new FileHandle("../assets/terrain.json")), 60);
+        locations = Locations.ALL.toArray(new Location[0]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public int randomGame() {
+        simulation.reset();
+        while (!simulation.isFinished()) {
+            simulation.perform(locations[random.nextInt(locations.length)]);
+        }
+        return simulation.getScore();
+    }
+}
@@ -0,0 +1,71 @@
+package jvms.assessment2.benchmarks;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.GameState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading the total number of each type of activity done, as the HUD's "Total" counters do, by summing
+ * every day against the running totals kept by {@link GameState#getTotalActivityCount}, for semesters of different
+ * lengths.
+ *
+ * <p>Run with {@code ./gradlew tests:benchmark -Pbenchmarks=TotalActivityCountBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TotalActivityCountBenchmark {
+    @Param({"7", "365", "10000"})
+    int days;
+
+    GameState gameState;
+
+    @Setup
+    public void setup() {
+        gameState = new GameState();
+        for (int day = 0; day < days; day++) {
+            for (int i = 0; i < 4; i++) {
+                gameState.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+            }
+            gameState.doActivity(1, 0, ActivityType.MEAL, "", "food");
+            gameState.doActivity(2, 0, ActivityType.RECREATION, "", "sports");
+            gameState.advanceDay();
+        }
+    }
+
+    private static int sumDays(GameState gameState, ActivityType type) {
+        var total = gameState.currentDay.statFor(type);
+        for (int i = 0; i < gameState.days.size(); i++) {
+            total += gameState.days.get(i).statFor(type);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int summingDays() {
+        return sumDays(gameState, ActivityType.STUDY)
+                + sumDays(gameState, ActivityType.MEAL)
+                + sumDays(gameState, ActivityType.RECREATION);
+    }
+
+    @Benchmark
+    public int runningTotals() {
+        return gameState.getTotalActivityCount(ActivityType.STUDY)
+                + gameState.getTotalActivityCount(ActivityType.MEAL)
+                + gameState.getTotalActivityCount(ActivityType.RECREATION);
+    }
+}
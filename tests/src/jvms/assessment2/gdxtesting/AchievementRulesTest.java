@@ -0,0 +1,155 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.Achievement;
+import io.github.uoyeng1g6.models.AchievementRules;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class AchievementRulesTest {
+
+    private static Achievement dayThreshold(String id, ActivityType type, int count, int bonus) {
+        return new Achievement(id, id, "", bonus, false, Achievement.Rule.DAY_THRESHOLD, null, type, count, 0, 0);
+    }
+
+    @Test
+    public void testDefaultRulesInScoreCalculatorOrder() {
+        var rules = AchievementRules.getDefault();
+        assertEquals(4, rules.size());
+        assertEquals(Integer.numberOfTrailingZeros(ScoreCalculator.MOVIE_ACHIEVEMENT), rules.indexOf("movie"));
+        assertEquals(Integer.numberOfTrailingZeros(ScoreCalculator.TOWN_ACHIEVEMENT), rules.indexOf("town"));
+        assertEquals(Integer.numberOfTrailingZeros(ScoreCalculator.SPORT_ACHIEVEMENT), rules.indexOf("sport"));
+        assertEquals(Integer.numberOfTrailingZeros(ScoreCalculator.STUDY_FAILURE), rules.indexOf("studyFailure"));
+        assertTrue(rules.get(rules.indexOf("studyFailure")).failsGame());
+        assertEquals(-1, rules.indexOf("unknown"));
+    }
+
+    @Test
+    public void testEarnedPartWayThroughDay() {
+        var state = new GameState();
+        state.doActivity(1, 0, ActivityType.RECREATION, "", "movie");
+        state.doActivity(1, 0, ActivityType.RECREATION, "", "movie");
+        assertFalse(state.achievements.isEarned("movie"));
+        state.doActivity(1, 0, ActivityType.RECREATION, "", "movie");
+        assertTrue(state.achievements.isEarned("movie"));
+        // Along with the gym achievement, held until a day without going to the gym ends
+        assertEquals(10, state.achievements.getBonus());
+    }
+
+    @Test
+    public void testEveryDayLostOnMissedDay() {
+        var state = new GameState();
+        // Held until a day is missed, but would be lost if the day ended without going to the gym
+        assertTrue(state.achievements.isEarned("sport"));
+        assertEquals(5, state.achievements.getBonus());
+        assertEquals(0, state.achievements.getProjectedBonus());
+
+        state.doActivity(1, 0, ActivityType.RECREATION, "", "sports");
+        assertEquals(5, state.achievements.getProjectedBonus());
+        state.advanceDay();
+        assertTrue(state.achievements.isEarned("sport"));
+
+        state.advanceDay();
+        assertFalse(state.achievements.isEarned("sport"));
+        assertEquals(0, state.achievements.getBonus());
+        // Going to the gym again does not bring it back
+        state.doActivity(1, 0, ActivityType.RECREATION, "", "sports");
+        state.advanceDay();
+        assertFalse(state.achievements.isEarned("sport"));
+    }
+
+    @Test
+    public void testCatchUpProjected() {
+        var state = new GameState();
+        state.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+        state.advanceDay();
+        // Missing one day can still be caught up
+        state.advanceDay();
+        assertFalse(state.achievements.isFailed());
+
+        assertTrue(state.achievements.isProjectedFailed());
+        state.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+        assertTrue(state.achievements.isProjectedFailed());
+        state.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+        assertFalse(state.achievements.isProjectedFailed());
+        state.advanceDay();
+        assertFalse(state.achievements.isFailed());
+
+        // Only one day can be caught up
+        state.advanceDay();
+        assertTrue(state.achievements.isFailed());
+        assertEquals(0, state.score.getExamScore());
+    }
+
+    @Test
+    public void testManyAchievements() {
+        // Enough to need more than one word of the bitset
+        var achievements = new Achievement[100];
+        for (int i = 0; i < achievements.length - 1; i++) {
+            achievements[i] = dayThreshold("meals" + i, ActivityType.MEAL, i + 1, 1);
+        }
+        achievements[99] = new Achievement("cs", "", "", 10, false, Achievement.Rule.EVERY_DAY, "cs", null, 2, 0, 0);
+        var rules = new AchievementRules(achievements);
+        var state = new GameState(rules);
+        state.hoursRemaining = 100;
+
+        for (int i = 0; i < 70; i++) {
+            state.doActivity(1, 0, ActivityType.MEAL, "", "food");
+        }
+        state.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+        assertTrue(state.achievements.isEarned(69));
+        assertFalse(state.achievements.isEarned(70));
+        assertEquals(80, state.achievements.getBonus());
+        assertEquals(70, state.achievements.getProjectedBonus());
+
+        state.advanceDay();
+        assertFalse(state.achievements.isEarned("cs"));
+        // Counts start again the next day
+        state.doActivity(1, 0, ActivityType.MEAL, "", "food");
+        assertEquals(70, state.achievements.getBonus());
+    }
+
+    @Test
+    public void testLoadFromFile() {
+        var dir = FileHandle.tempDirectory("achievement-rules-test");
+        try {
+            var file = dir.child("achievements.json");
+            file.writeString(
+                    "[{id:early,name:\"Early Bird\",description:\"\",bonus:3,rule:DAY_THRESHOLD,activity:cs,count:4}]",
+                    false);
+            var rules = AchievementRules.load(file);
+            assertEquals(1, rules.size());
+            assertEquals("Early Bird", rules.get(0).getName());
+
+            var state = new GameState(rules);
+            for (int i = 0; i < 2; i++) {
+                state.doActivity(2, 0, ActivityType.STUDY, "", "cs");
+            }
+            assertTrue(state.achievements.isEarned("early"));
+            assertEquals(3, state.achievements.getBonus());
+        } finally {
+            dir.deleteDirectory();
+        }
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void testActivityAndTypeRejected() {
+        new AchievementRules(new Achievement(
+                "both", "", "", 0, false, Achievement.Rule.DAY_THRESHOLD, "cs", ActivityType.STUDY, 1, 0, 0));
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void testDuplicateIdRejected() {
+        new AchievementRules(
+                dayThreshold("twice", ActivityType.STUDY, 1, 0), dayThreshold("twice", ActivityType.MEAL, 1, 0));
+    }
+}
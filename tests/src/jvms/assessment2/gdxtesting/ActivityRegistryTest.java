@@ -0,0 +1,89 @@
+package jvms.assessment2.gdxtesting;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.ActivityRegistry;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.simulation.Locations;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(GdxTestRunner.class)
+public class ActivityRegistryTest {
+
+    @Test
+    public void testIdsAreDenseAndStable() {
+        for (var location : Locations.ALL) {
+            if (location.isSleep()) {
+                assertEquals(-1, location.id);
+                continue;
+            }
+            assertEquals(location.id, ActivityRegistry.idOf(location.name));
+            assertEquals(location.name, ActivityRegistry.nameOf(location.id));
+            assertEquals(true, location.id < ActivityRegistry.size());
+        }
+        assertEquals(ActivityRegistry.MOVIE, Locations.find("movie").id);
+        assertEquals(-1, ActivityRegistry.idOf("never registered"));
+
+        var id = ActivityRegistry.register("registry test");
+        assertEquals(id, ActivityRegistry.register("registry test"));
+        assertEquals(ActivityRegistry.size() - 1, id);
+    }
+
+    @Test
+    public void testConcurrentRegistration() throws InterruptedException {
+        var ids = new ConcurrentHashMap<String, Integer>();
+        var start = new CountDownLatch(1);
+        var threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 200; i++) {
+                    var name = "concurrent " + i;
+                    var id = ActivityRegistry.register(name);
+                    var previous = ids.putIfAbsent(name, id);
+                    assertEquals(previous == null ? id : previous, id);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(200, ids.size());
+        assertEquals(200, ids.values().stream().distinct().count());
+        for (var entry : ids.entrySet()) {
+            assertEquals(entry.getKey(), ActivityRegistry.nameOf(entry.getValue()));
+        }
+    }
+
+    @Test
+    public void testDayGrowsForNewActivities() {
+        var state = new GameState();
+        var before = new GameState.Day();
+        var late = ActivityRegistry.register("registered after the day was created");
+
+        assertEquals(0, state.currentDay.statFor(late));
+        assertEquals(true, state.doActivity(2, 0, ActivityType.RECREATION, "", late));
+        assertEquals(2, state.currentDay.statFor(late));
+        assertEquals(2, state.currentDay.statForName("registered after the day was created"));
+        assertEquals(2, state.currentDay.statFor(ActivityType.RECREATION));
+
+        // Days are equal whatever length their arrays were created with
+        before.add(ActivityType.RECREATION, late, 2);
+        assertEquals(before, state.currentDay);
+        assertEquals(before.hashCode(), state.currentDay.hashCode());
+        assertEquals(new GameState.Day(), new GameState.Day());
+        assertNotEquals(new GameState.Day(), before);
+    }
+}
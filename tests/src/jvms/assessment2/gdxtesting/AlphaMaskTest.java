@@ -0,0 +1,54 @@
+package jvms.assessment2.gdxtesting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import io.github.uoyeng1g6.utils.AlphaMask;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(GdxTestRunner.class)
+public class AlphaMaskTest {
+
+    @Test
+    public void opaqueRegionsTest() {
+        var pixmap = new Pixmap(10, 7, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+        pixmap.setColor(1, 0, 0, 1);
+        pixmap.fill();
+        // A single translucent pixel, and a transparent column on the right
+        pixmap.drawPixel(3, 2, 0xFF0000FE);
+        pixmap.setColor(0, 0, 0, 0);
+        pixmap.fillRectangle(9, 0, 1, 7);
+        var mask = AlphaMask.of(pixmap);
+        pixmap.dispose();
+
+        assertTrue(mask.isOpaque(0, 0, 3, 7));
+        assertTrue(mask.isOpaque(4, 0, 5, 7));
+        assertTrue(mask.isOpaque(0, 3, 9, 4));
+        assertFalse(mask.isOpaque(3, 2, 1, 1));
+        assertFalse(mask.isOpaque(2, 1, 3, 3));
+        assertFalse(mask.isOpaque(8, 0, 2, 1));
+        // Regions outside the image are never opaque
+        assertFalse(mask.isOpaque(0, 0, 11, 1));
+        assertFalse(mask.isOpaque(-1, 0, 1, 1));
+    }
+
+    @Test
+    public void otherFormatsTest() {
+        var rgb = new Pixmap(4, 4, Pixmap.Format.RGB888);
+        assertTrue(AlphaMask.of(rgb).isOpaque(0, 0, 4, 4));
+        rgb.dispose();
+
+        var rgba4444 = new Pixmap(4, 4, Pixmap.Format.RGBA4444);
+        rgba4444.setBlending(Pixmap.Blending.None);
+        rgba4444.setColor(0, 1, 0, 1);
+        rgba4444.fill();
+        rgba4444.drawPixel(1, 1, 0x00FF0080);
+        var mask = AlphaMask.of(rgba4444);
+        rgba4444.dispose();
+        assertTrue(mask.isOpaque(2, 0, 2, 4));
+        assertFalse(mask.isOpaque(0, 0, 2, 2));
+    }
+}
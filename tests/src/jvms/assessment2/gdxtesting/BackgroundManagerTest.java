@@ -1,17 +1,24 @@
 package jvms.assessment2.gdxtesting;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import io.github.uoyeng1g6.constants.ActivityType;
 import io.github.uoyeng1g6.constants.GameConstants;
 import io.github.uoyeng1g6.models.GameState;
 import com.badlogic.ashley.core.Engine;
 import io.github.uoyeng1g6.utils.BackgroundManager;
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.Before;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @RunWith(GdxTestRunner.class)
 public class BackgroundManagerTest {
@@ -19,13 +26,42 @@ public class BackgroundManagerTest {
     Engine engine;
     GameState gameState;
     BackgroundManager bm;
+    Texture white;
+    Texture orange;
+    Texture red;
+    CountingTable energy;
+    CountingTable day;
+
+    /**
+     * Table that counts how many times its background is changed.
+     */
+    static class CountingTable extends Table {
+        int backgroundChanges = 0;
+
+        @Override
+        public void setBackground(Drawable background) {
+            backgroundChanges++;
+            super.setBackground(background);
+        }
+    }
+
     @Before
     public void initialiseEngine() {
 
         gameState = new GameState();
-        Table energy = new Table();
-        Table day = new Table();
-        bm = new BackgroundManager(energy, day);
+        white = new Texture("../assets/background.png");
+        orange = new Texture("../assets/backgroundEnergyMed.png");
+        red = new Texture("../assets/backgroundEnergyLow.png");
+        energy = new CountingTable();
+        day = new CountingTable();
+        bm = new BackgroundManager(energy, day, white, orange, red);
+    }
+
+    @After
+    public void disposeTextures() {
+        white.dispose();
+        orange.dispose();
+        red.dispose();
     }
 
     @Test
@@ -76,6 +112,31 @@ public class BackgroundManagerTest {
         assertEquals("Day background should be reset", "white", bm.dayStatus);
     }
 
+    @Test
+    public void testNoTexturesAllocatedPerFrame() {
+        clearInvocations(Gdx.gl);
+        int energyChanges = energy.backgroundChanges;
+        int dayChanges = day.backgroundChanges;
+
+        for (int frame = 0; frame < 10000; frame++) {
+            bm.updateBackgrounds(gameState.energyRemaining, gameState.hoursRemaining);
+        }
+
+        verify(Gdx.gl, never()).glGenTexture();
+        assertEquals("Energy background should not be set again", energyChanges, energy.backgroundChanges);
+        assertEquals("Day background should not be set again", dayChanges, day.backgroundChanges);
+
+        // Drop into the orange band for both counters, then stay there
+        gameState.doActivity(14, 80, ActivityType.STUDY, "test", "test");
+        for (int frame = 0; frame < 10000; frame++) {
+            bm.updateBackgrounds(gameState.energyRemaining, gameState.hoursRemaining);
+        }
+
+        verify(Gdx.gl, never()).glGenTexture();
+        assertEquals("Energy background should be set once", energyChanges + 1, energy.backgroundChanges);
+        assertEquals("Day background should be set once", dayChanges + 1, day.backgroundChanges);
+    }
+
 
 
 
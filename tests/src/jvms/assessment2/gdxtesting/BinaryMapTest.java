@@ -0,0 +1,126 @@
+package jvms.assessment2.gdxtesting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import io.github.uoyeng1g6.map.BinaryMapLoader;
+import io.github.uoyeng1g6.map.BinaryMapWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(GdxTestRunner.class)
+public class BinaryMapTest {
+
+    FileHandle tmxFile;
+    FileHandle cacheDir;
+    FileHandle cacheFile;
+
+    @Before
+    public void createCacheDir() {
+        tmxFile = Gdx.files.internal("../assets/maps/campus-east.tmx");
+        cacheDir = FileHandle.tempDirectory("binary-map-test");
+        cacheFile = cacheDir.child("campus-east.bin");
+    }
+
+    @After
+    public void deleteCacheDir() {
+        cacheDir.deleteDirectory();
+    }
+
+    @Test
+    public void binaryMapMatchesTmxTest() {
+        var expected = new TmxMapLoader().load(tmxFile.path());
+        BinaryMapWriter.write(expected, tmxFile, cacheFile);
+        assertTrue(BinaryMapLoader.isUpToDate(cacheFile));
+
+        var actual = BinaryMapLoader.read(cacheFile);
+
+        for (var key : new String[] {"width", "height", "tilewidth", "tileheight", "orientation"}) {
+            assertEquals(key, expected.getProperties().get(key), actual.getProperties().get(key));
+        }
+
+        assertEquals(expected.getLayers().size(), actual.getLayers().size());
+        for (int i = 0; i < expected.getLayers().size(); i++) {
+            var expectedLayer = (TiledMapTileLayer) expected.getLayers().get(i);
+            var actualLayer = (TiledMapTileLayer) actual.getLayers().get(i);
+            assertEquals(expectedLayer.getName(), actualLayer.getName());
+            assertEquals(expectedLayer.isVisible(), actualLayer.isVisible());
+            assertEquals(expectedLayer.getOpacity(), actualLayer.getOpacity(), 0);
+
+            for (int x = 0; x < expectedLayer.getWidth(); x++) {
+                for (int y = 0; y < expectedLayer.getHeight(); y++) {
+                    assertCellEquals(expectedLayer.getCell(x, y), actualLayer.getCell(x, y));
+                }
+            }
+        }
+
+        expected.dispose();
+        actual.dispose();
+    }
+
+    private void assertCellEquals(TiledMapTileLayer.Cell expected, TiledMapTileLayer.Cell actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertNotNull(actual);
+        assertEquals(expected.getTile().getId(), actual.getTile().getId());
+        assertEquals(expected.getFlipHorizontally(), actual.getFlipHorizontally());
+        assertEquals(expected.getFlipVertically(), actual.getFlipVertically());
+        assertEquals(expected.getRotation(), actual.getRotation());
+
+        var expectedRegion = expected.getTile().getTextureRegion();
+        var actualRegion = actual.getTile().getTextureRegion();
+        assertEquals(expectedRegion.getRegionX(), actualRegion.getRegionX());
+        assertEquals(expectedRegion.getRegionY(), actualRegion.getRegionY());
+        assertEquals(expectedRegion.getRegionWidth(), actualRegion.getRegionWidth());
+        assertEquals(expectedRegion.getRegionHeight(), actualRegion.getRegionHeight());
+        assertEquals(
+                ((FileTextureData) expectedRegion.getTexture().getTextureData())
+                        .getFileHandle()
+                        .path(),
+                ((FileTextureData) actualRegion.getTexture().getTextureData())
+                        .getFileHandle()
+                        .path());
+    }
+
+    @Test
+    public void missingCacheIsWrittenTest() {
+        assertFalse(BinaryMapLoader.isUpToDate(cacheFile));
+
+        TiledMap tiledMap = BinaryMapLoader.load(tmxFile, cacheFile);
+        assertNotNull(tiledMap);
+        assertTrue(cacheFile.exists());
+        assertTrue(BinaryMapLoader.isUpToDate(cacheFile));
+
+        tiledMap.dispose();
+    }
+
+    @Test
+    public void staleCacheIsNotUsedTest() {
+        var tiledMap = new TmxMapLoader().load(tmxFile.path());
+        BinaryMapWriter.write(tiledMap, tmxFile, cacheFile);
+        tiledMap.dispose();
+
+        // Make the cache older than the map it was built from
+        assertTrue(cacheFile.file().setLastModified(tmxFile.lastModified() - 1000));
+        assertFalse(BinaryMapLoader.isUpToDate(cacheFile));
+    }
+
+    @Test
+    public void corruptCacheIsNotUsedTest() {
+        cacheFile.writeString("not a map", false);
+        assertFalse(BinaryMapLoader.isUpToDate(cacheFile));
+    }
+}
@@ -0,0 +1,98 @@
+package jvms.assessment2.gdxtesting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.utils.Array;
+import io.github.uoyeng1g6.map.BinaryMapLoader;
+import io.github.uoyeng1g6.map.CachedTiledMapLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(GdxTestRunner.class)
+public class CachedTiledMapLoaderTest {
+
+    static final String MAP = "../assets/maps/campus-east.tmx";
+
+    FileHandle cacheDir;
+    CachedTiledMapLoader.Parameters parameters;
+
+    @Before
+    public void createCacheDir() {
+        cacheDir = FileHandle.tempDirectory("cached-map-loader-test");
+        parameters = new CachedTiledMapLoader.Parameters();
+        parameters.cacheFile = cacheDir.child("campus-east.bin");
+    }
+
+    @After
+    public void deleteCacheDir() {
+        cacheDir.deleteDirectory();
+    }
+
+    private AssetManager createAssetManager() {
+        var assetManager = new AssetManager();
+        assetManager.setLoader(TiledMap.class, new CachedTiledMapLoader(assetManager.getFileHandleResolver()));
+        return assetManager;
+    }
+
+    private int countCells(TiledMap tiledMap) {
+        var count = 0;
+        for (var mapLayer : tiledMap.getLayers()) {
+            var layer = (TiledMapTileLayer) mapLayer;
+            for (int x = 0; x < layer.getWidth(); x++) {
+                for (int y = 0; y < layer.getHeight(); y++) {
+                    if (layer.getCell(x, y) != null) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void loadsFromTmxThenCacheTest() {
+        assertFalse(BinaryMapLoader.isUpToDate(parameters.cacheFile));
+
+        var first = createAssetManager();
+        first.load(MAP, TiledMap.class, parameters);
+        first.finishLoading();
+        var fromTmx = first.get(MAP, TiledMap.class);
+        assertTrue(BinaryMapLoader.isUpToDate(parameters.cacheFile));
+
+        var second = createAssetManager();
+        second.load(MAP, TiledMap.class, parameters);
+        second.finishLoading();
+        var fromCache = second.get(MAP, TiledMap.class);
+
+        assertEquals(fromTmx.getLayers().size(), fromCache.getLayers().size());
+        assertEquals(countCells(fromTmx), countCells(fromCache));
+        // Tileset textures are loaded as dependencies by the asset manager in both cases
+        assertEquals(
+                first.getAll(Texture.class, new Array<>()).size,
+                second.getAll(Texture.class, new Array<>()).size);
+
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    public void loadsWithoutCacheTest() {
+        var assetManager = createAssetManager();
+        assetManager.load(MAP, TiledMap.class);
+        assetManager.finishLoading();
+
+        assertTrue(assetManager.isLoaded(MAP, TiledMap.class));
+        assertFalse(parameters.cacheFile.exists());
+
+        assetManager.dispose();
+    }
+}
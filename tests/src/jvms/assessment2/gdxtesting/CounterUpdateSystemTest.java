@@ -0,0 +1,93 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import io.github.uoyeng1g6.components.CounterComponent;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.systems.CounterUpdateSystem;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GdxTestRunner.class)
+public class CounterUpdateSystemTest {
+
+    Engine engine;
+    GameState gameState;
+    Label label;
+    int resolveCount;
+
+    @Before
+    public void initialiseEngine() {
+        engine = new PooledEngine();
+        gameState = new GameState();
+        label = new Label("", new Label.LabelStyle(new BitmapFont(), Color.BLACK));
+        resolveCount = 0;
+
+        engine.addEntity(engine.createEntity().add(new CounterComponent(label, state -> {
+            resolveCount++;
+            return String.valueOf(state.energyRemaining);
+        })));
+        engine.addSystem(new CounterUpdateSystem(gameState));
+    }
+
+    @Test
+    public void testResolvedOnFirstUpdate() {
+        engine.update(1 / 60f);
+
+        assertEquals(1, resolveCount);
+        assertEquals("100", label.getText().toString());
+    }
+
+    @Test
+    public void testNotResolvedWhenUnchanged() {
+        for (int frame = 0; frame < 1000; frame++) {
+            engine.update(1 / 60f);
+        }
+
+        assertEquals(1, resolveCount);
+    }
+
+    @Test
+    public void testResolvedAfterActivity() {
+        engine.update(1 / 60f);
+        gameState.doActivity(1, 10, ActivityType.MEAL, "Eating...", "food");
+        engine.update(1 / 60f);
+        engine.update(1 / 60f);
+
+        assertEquals(2, resolveCount);
+        assertEquals("90", label.getText().toString());
+
+        // A failed activity changes nothing, so the label is not resolved again
+        gameState.doActivity(100, 100, ActivityType.MEAL, "Eating...", "food");
+        engine.update(1 / 60f);
+        assertEquals(2, resolveCount);
+    }
+
+    @Test
+    public void testResolvedAfterAdvanceDay() {
+        gameState.doActivity(1, 10, ActivityType.MEAL, "Eating...", "food");
+        engine.update(1 / 60f);
+        gameState.advanceDay();
+        engine.update(1 / 60f);
+
+        assertEquals(2, resolveCount);
+        assertEquals("100", label.getText().toString());
+    }
+
+    @Test
+    public void testResolvedAfterMarkChanged() {
+        engine.update(1 / 60f);
+        gameState.energyRemaining = 5;
+        gameState.markChanged();
+        engine.update(1 / 60f);
+
+        assertEquals("5", label.getText().toString());
+    }
+}
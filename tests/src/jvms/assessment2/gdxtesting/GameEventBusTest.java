@@ -0,0 +1,164 @@
+package jvms.assessment2.gdxtesting;
+
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.constants.GameConstants;
+import io.github.uoyeng1g6.events.GameEvent;
+import io.github.uoyeng1g6.events.GameEventBus;
+import io.github.uoyeng1g6.models.ActivityRegistry;
+import io.github.uoyeng1g6.models.GameState;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class GameEventBusTest {
+
+    @Test
+    public void testGameStatePublishesChanges() {
+        var state = new GameState();
+        var events = state.events.subscribe();
+        var event = new GameEvent();
+
+        state.doActivity(2, 10, ActivityType.STUDY, "Studying...", "cs");
+        // Not enough energy, so nothing changes and nothing is published
+        state.doActivity(1, 1000, ActivityType.MEAL, "Eating...", "food");
+        state.endInteractionOverlay();
+        state.endInteractionOverlay();
+        state.advanceDay();
+        state.energyRemaining = 5;
+        state.markChanged();
+
+        assertTrue(events.poll(event));
+        assertEquals(0, event.sequence);
+        assertEquals(GameEvent.Type.ACTIVITY, event.type);
+        assertEquals(ActivityType.STUDY, event.activityType);
+        assertEquals(ActivityRegistry.idOf("cs"), event.activityId);
+        assertEquals(2, event.count);
+        assertEquals(GameConstants.MAX_ENERGY - 10, event.energyRemaining);
+        assertEquals(GameConstants.MAX_HOURS - 2, event.hoursRemaining);
+
+        assertTrue(events.poll(event));
+        assertEquals(GameEvent.Type.OVERLAY_ENDED, event.type);
+        assertNull(event.activityType);
+        assertEquals(-1, event.activityId);
+
+        assertTrue(events.poll(event));
+        assertEquals(GameEvent.Type.DAY_ENDED, event.type);
+        assertEquals(GameConstants.MAX_DAYS - 1, event.daysRemaining);
+        assertEquals(GameConstants.MAX_ENERGY, event.energyRemaining);
+
+        assertTrue(events.poll(event));
+        assertEquals(GameEvent.Type.CHANGED, event.type);
+        assertEquals(5, event.energyRemaining);
+        assertEquals(3, event.sequence);
+
+        assertFalse(events.poll(event));
+        assertEquals(0, events.getMissed());
+    }
+
+    @Test
+    public void testSubscriptionsReadIndependently() {
+        var bus = new GameEventBus(8);
+        var first = bus.subscribe();
+        bus.publish(GameEvent.Type.CHANGED, null, -1, 0, 1, 2, 3);
+        var second = bus.subscribe();
+        bus.publish(GameEvent.Type.CHANGED, null, -1, 0, 4, 5, 6);
+
+        var event = new GameEvent();
+        assertEquals(2, first.drain(e -> {}));
+        // Only sees the events published after it subscribed
+        assertTrue(second.poll(event));
+        assertEquals(1, event.sequence);
+        assertEquals(4, event.daysRemaining);
+        assertFalse(second.poll(event));
+    }
+
+    @Test
+    public void testSlowSubscriberSkipsOverwrittenEvents() {
+        var bus = new GameEventBus(4);
+        var events = bus.subscribe();
+        for (int i = 0; i < 10; i++) {
+            bus.publish(GameEvent.Type.CHANGED, null, -1, i, 0, 0, 0);
+        }
+
+        var event = new GameEvent();
+        var read = 0;
+        var last = -1L;
+        while (events.poll(event)) {
+            assertEquals(event.sequence, event.count);
+            assertTrue(event.sequence > last);
+            last = event.sequence;
+            read++;
+        }
+        assertEquals(9, last);
+        assertEquals(10, read + events.getMissed());
+    }
+
+    @Test
+    public void testReadFromOtherThread() throws InterruptedException {
+        final var total = 200000;
+        var bus = new GameEventBus(1024);
+        var events = bus.subscribe();
+        var read = new long[1];
+        var errors = new String[1];
+
+        var reader = new Thread(() -> {
+            var event = new GameEvent();
+            var last = -1L;
+            while (last < total - 1) {
+                if (!events.poll(event)) {
+                    Thread.yield();
+                    continue;
+                }
+                // Every field of an event is written together, so a torn read would show up as a mismatch
+                if (event.count != (int) event.sequence || event.energyRemaining != ~event.count) {
+                    errors[0] = "Torn event " + event.sequence;
+                    return;
+                }
+                if (event.sequence <= last) {
+                    errors[0] = "Event " + event.sequence + " read after " + last;
+                    return;
+                }
+                last = event.sequence;
+                read[0]++;
+            }
+        });
+        reader.start();
+        for (int i = 0; i < total; i++) {
+            bus.publish(GameEvent.Type.ACTIVITY, ActivityType.STUDY, 0, i, 0, ~i, 0);
+            if (i % 64 == 0) {
+                Thread.yield();
+            }
+        }
+        reader.join(10000);
+
+        assertNull(errors[0]);
+        assertFalse(reader.isAlive());
+        assertEquals(total, read[0] + events.getMissed());
+    }
+
+    @Test
+    public void testPublishingAndReadingDoNotAllocate() {
+        var state = new GameState();
+        var events = state.events.subscribe();
+        var event = new GameEvent();
+        for (int i = 0; i < 10000; i++) {
+            state.markChanged();
+            events.poll(event);
+        }
+
+        var before = HudAllocationTest.getAllocatedBytes();
+        for (int i = 0; i < 10000; i++) {
+            state.markChanged();
+            state.markChanged();
+            while (events.poll(event)) {}
+        }
+        var allocated = HudAllocationTest.getAllocatedBytes() - before;
+
+        assertTrue("Events allocated " + allocated + " bytes", allocated < HudAllocationTest.MEASUREMENT_ALLOWANCE);
+    }
+}
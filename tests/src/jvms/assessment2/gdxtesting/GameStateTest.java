@@ -2,6 +2,7 @@ package jvms.assessment2.gdxtesting;
 
 import io.github.uoyeng1g6.constants.ActivityType;
 import io.github.uoyeng1g6.constants.GameConstants;
+import io.github.uoyeng1g6.models.ActivityRegistry;
 import io.github.uoyeng1g6.models.GameState;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -52,8 +53,9 @@ public class GameStateTest {
         assertTrue(result);
         assertEquals(beforeEnergy - energyToUse, gameState.energyRemaining);
         assertEquals(beforeHoursRemaining - timeToUse, gameState.hoursRemaining);
-        currentDay.activityStats.merge(activityType, 1, Integer::sum);
         assertEquals(currentDay, gameState.currentDay);
+        assertEquals(1, gameState.currentDay.statFor(activityType));
+        assertEquals(1, gameState.currentDay.statForName(activityName));
         //Test that activity completion fails when energy is insufficient
         gameState.energyRemaining = 5;
         boolean result2 = gameState.doActivity(timeToUse, energyToUse, activityType, overlayText, activityName);
@@ -72,4 +74,24 @@ public class GameStateTest {
             assertEquals(1, gameState.getTotalActivityCount(activityType));
         }
     }
+
+    /*
+    * Test that running totals include every completed day as well as the current one
+    * */
+    @Test
+    public void testTotalActivityCountOverDays() {
+        GameState gameState = new GameState();
+        for (int day = 0; day < 400; day++) {
+            gameState.doActivity(1, 0, ActivityType.STUDY, "test", "cs");
+            gameState.doActivity(2, 0, ActivityType.RECREATION, "test", "movie");
+            gameState.advanceDay();
+        }
+        gameState.doActivity(1, 0, ActivityType.STUDY, "test", "cs");
+
+        assertEquals(401, gameState.getTotalActivityCount(ActivityType.STUDY));
+        assertEquals(800, gameState.getTotalActivityCount(ActivityType.RECREATION));
+        assertEquals(0, gameState.getTotalActivityCount(ActivityType.MEAL));
+        assertEquals(800, gameState.getTotalActivityCount(ActivityRegistry.MOVIE));
+        assertEquals(401, gameState.getTotalActivityCount(ActivityRegistry.idOf("cs")));
+    }
 }
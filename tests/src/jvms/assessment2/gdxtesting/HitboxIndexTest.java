@@ -0,0 +1,105 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import io.github.uoyeng1g6.components.HitboxComponent;
+import io.github.uoyeng1g6.components.PositionComponent;
+import io.github.uoyeng1g6.utils.HitboxIndex;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class HitboxIndexTest {
+
+    Engine engine;
+    HitboxIndex index;
+    Array<Entity> found;
+
+    @Before
+    public void initialiseEngine() {
+        engine = new PooledEngine();
+        index = new HitboxIndex(4);
+        found = new Array<>();
+    }
+
+    private Entity addHitbox(Rectangle... rects) {
+        var entity = engine.createEntity().add(new HitboxComponent(rects));
+        engine.addEntity(entity);
+        return entity;
+    }
+
+    @Test
+    public void testExistingEntitiesIndexed() {
+        var entity = addHitbox(new Rectangle(10, 10, 2, 2));
+        index.register(engine);
+
+        assertEquals(1, index.size());
+        index.query(11, 11, 0.5f, found);
+        assertEquals(1, found.size);
+        assertEquals(entity, found.first());
+    }
+
+    @Test
+    public void testEntitiesAddedAndRemoved() {
+        index.register(engine);
+        var entity = addHitbox(new Rectangle(-10, -10, 2, 2));
+        // Entities without a hitbox are not indexed
+        engine.addEntity(engine.createEntity().add(new PositionComponent(0, 0)));
+        assertEquals(1, index.size());
+
+        index.query(-9, -9, 0.5f, found);
+        assertEquals(1, found.size);
+
+        engine.removeEntity(entity);
+        assertEquals(0, index.size());
+        index.query(-9, -9, 0.5f, found);
+        assertEquals(0, found.size);
+    }
+
+    @Test
+    public void testLargeHitboxFoundOnce() {
+        index.register(engine);
+        // Covers many cells, all of which are within the query
+        addHitbox(new Rectangle(0, 0, 20, 2), new Rectangle(0, 0, 2, 20));
+
+        index.query(10, 10, 20, found);
+        assertEquals(1, found.size);
+    }
+
+    @Test
+    public void testQueryMatchesScan() {
+        index.register(engine);
+        var random = new RandomXS128(1);
+        var hitboxes = new Array<Entity>();
+        for (int i = 0; i < 500; i++) {
+            var x = random.nextFloat() * 200 - 100;
+            var y = random.nextFloat() * 200 - 100;
+            hitboxes.add(addHitbox(new Rectangle(x, y, random.nextFloat() * 10, random.nextFloat() * 10)));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            var circle = new Circle(
+                    random.nextFloat() * 220 - 110, random.nextFloat() * 220 - 110, random.nextFloat() * 8);
+            index.query(circle.x, circle.y, circle.radius, found);
+
+            var expected = 0;
+            for (var entity : hitboxes) {
+                if (Intersector.overlaps(circle, entity.getComponent(HitboxComponent.class).region)) {
+                    expected++;
+                    assertTrue(found.contains(entity, true));
+                }
+            }
+            assertEquals(expected, found.size);
+        }
+    }
+}
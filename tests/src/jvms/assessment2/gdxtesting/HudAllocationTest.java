@@ -0,0 +1,387 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.StringBuilder;
+import io.github.uoyeng1g6.components.CounterComponent;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.systems.CounterUpdateSystem;
+import io.github.uoyeng1g6.systems.InteractionOverlayRenderingSystem;
+import io.github.uoyeng1g6.utils.TextFormat;
+import java.lang.management.ManagementFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import space.earlygrey.shapedrawer.ShapeDrawer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that updating the HUD counters and drawing the interaction overlay allocate nothing per frame.
+ */
+@RunWith(GdxTestRunner.class)
+public class HudAllocationTest {
+
+    /**
+     * Allowance for the bytes allocated by measuring allocations and by one-off JIT activity. A single object
+     * allocated per frame would take at least 16 bytes, which is several times more than this over the frames
+     * measured.
+     */
+    static final long MEASUREMENT_ALLOWANCE = 4096;
+
+    GameState gameState;
+    BitmapFont font;
+
+    @Before
+    public void initialiseGameState() {
+        gameState = new GameState();
+        font = new BitmapFont();
+    }
+
+    static long getAllocatedBytes() {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private Label createLabel() {
+        return new Label("", new Label.LabelStyle(font, Color.BLACK));
+    }
+
+    @Test
+    public void testTextFormat() {
+        var text = new StringBuilder();
+        assertEquals("42", TextFormat.formatInt(text, 42).toString());
+        assertEquals("75%", TextFormat.formatPercent(text, 75).toString());
+        assertEquals("07:00", TextFormat.formatClockTime(text, 7).toString());
+        assertEquals("23:00", TextFormat.formatClockTime(text, 23).toString());
+    }
+
+    @Test
+    public void testCountersDoNotAllocate() {
+        Engine engine = new PooledEngine();
+        var timeText = new StringBuilder();
+        var energyText = new StringBuilder();
+        var totalText = new StringBuilder();
+        var timeLabel = createLabel();
+        var energyLabel = createLabel();
+        var totalLabel = createLabel();
+        engine.addEntity(engine.createEntity().add(new CounterComponent(
+                timeLabel, state -> TextFormat.formatClockTime(timeText, state.hoursRemaining))));
+        engine.addEntity(engine.createEntity().add(new CounterComponent(
+                energyLabel, state -> TextFormat.formatPercent(energyText, state.energyRemaining))));
+        engine.addEntity(engine.createEntity().add(new CounterComponent(
+                totalLabel, state -> TextFormat.formatInt(totalText, state.getTotalActivityCount(ActivityType.STUDY)))));
+        engine.addSystem(new CounterUpdateSystem(gameState));
+
+        for (int i = 0; i < 7; i++) {
+            gameState.doActivity(1, 1, ActivityType.STUDY, "Studying...", "cs");
+            gameState.advanceDay();
+        }
+        // Grow every builder to its largest size and let the JIT settle before measuring
+        gameState.energyRemaining = 100;
+        gameState.hoursRemaining = 10;
+        gameState.markChanged();
+        engine.update(1 / 60f);
+        updateCounters(engine, 10000);
+
+        var before = getAllocatedBytes();
+        updateCounters(engine, 10000);
+        var allocated = getAllocatedBytes() - before;
+
+        assertTrue("Counters allocated " + allocated + " bytes", allocated < MEASUREMENT_ALLOWANCE);
+        assertEquals("19:00", timeLabel.getText().toString());
+        assertEquals("19%", energyLabel.getText().toString());
+        assertEquals("7", totalLabel.getText().toString());
+    }
+
+    private void updateCounters(Engine engine, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            // Change the state every frame so that every counter is resolved and its label updated each time
+            gameState.energyRemaining = 10 + frame % 90;
+            gameState.hoursRemaining = 10 + frame % 10;
+            gameState.markChanged();
+            engine.update(1 / 60f);
+        }
+    }
+
+    @Test
+    public void testOverlayDoesNotAllocate() {
+        // A SpriteBatch can't be used, as it may have been instrumented by Mockito in another test and allocate itself
+        var batch = new CountingBatch();
+        var shapeDrawer = new ShapeDrawer(batch, new TextureRegion(font.getRegion(), 0, 0, 1, 1));
+        var system = new InteractionOverlayRenderingSystem(batch, font, shapeDrawer, gameState);
+        gameState.interactionOverlay = new GameState.InteractionOverlay("Studying...", 1000);
+
+        batch.begin();
+        drawOverlay(system, 5000);
+        batch.end();
+
+        batch.begin();
+        var drawn = batch.vertices;
+        var before = getAllocatedBytes();
+        drawOverlay(system, 5000);
+        var allocated = getAllocatedBytes() - before;
+        batch.end();
+
+        assertTrue("Overlay drew nothing", batch.vertices > drawn);
+        assertTrue("Overlay allocated " + allocated + " bytes", allocated < MEASUREMENT_ALLOWANCE);
+    }
+
+    private void drawOverlay(InteractionOverlayRenderingSystem system, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            system.update(1 / 60f);
+        }
+    }
+
+    /**
+     * Batch that counts the vertices drawn with it rather than sending them to the GPU.
+     */
+    static class CountingBatch implements Batch {
+        private final Color color = new Color(Color.WHITE);
+        private final Matrix4 projection = new Matrix4();
+        private final Matrix4 transform = new Matrix4();
+        private boolean drawing = false;
+        private boolean blending = true;
+
+        /**
+         * The number of vertices drawn so far, five floats each.
+         */
+        long vertices = 0;
+
+        @Override
+        public void begin() {
+            drawing = true;
+        }
+
+        @Override
+        public void end() {
+            drawing = false;
+        }
+
+        @Override
+        public void setColor(Color tint) {
+            color.set(tint);
+        }
+
+        @Override
+        public void setColor(float r, float g, float b, float a) {
+            color.set(r, g, b, a);
+        }
+
+        @Override
+        public Color getColor() {
+            return color;
+        }
+
+        @Override
+        public void setPackedColor(float packedColor) {
+            Color.abgr8888ToColor(color, packedColor);
+        }
+
+        @Override
+        public float getPackedColor() {
+            return color.toFloatBits();
+        }
+
+        @Override
+        public void draw(
+                Texture texture,
+                float x,
+                float y,
+                float originX,
+                float originY,
+                float width,
+                float height,
+                float scaleX,
+                float scaleY,
+                float rotation,
+                int srcX,
+                int srcY,
+                int srcWidth,
+                int srcHeight,
+                boolean flipX,
+                boolean flipY) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(
+                Texture texture,
+                float x,
+                float y,
+                float width,
+                float height,
+                int srcX,
+                int srcY,
+                int srcWidth,
+                int srcHeight,
+                boolean flipX,
+                boolean flipY) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(
+                Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(Texture texture, float x, float y, float width, float height) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(Texture texture, float[] spriteVertices, int offset, int count) {
+            vertices += count / 5;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float x, float y) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float x, float y, float width, float height) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(
+                TextureRegion region,
+                float x,
+                float y,
+                float originX,
+                float originY,
+                float width,
+                float height,
+                float scaleX,
+                float scaleY,
+                float rotation) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(
+                TextureRegion region,
+                float x,
+                float y,
+                float originX,
+                float originY,
+                float width,
+                float height,
+                float scaleX,
+                float scaleY,
+                float rotation,
+                boolean clockwise) {
+            vertices += 4;
+        }
+
+        @Override
+        public void draw(TextureRegion region, float width, float height, Affine2 transform) {
+            vertices += 4;
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void disableBlending() {
+            blending = false;
+        }
+
+        @Override
+        public void enableBlending() {
+            blending = true;
+        }
+
+        @Override
+        public void setBlendFunction(int srcFunc, int dstFunc) {}
+
+        @Override
+        public void setBlendFunctionSeparate(int srcFuncColor, int dstFuncColor, int srcFuncAlpha, int dstFuncAlpha) {}
+
+        @Override
+        public int getBlendSrcFunc() {
+            return GL20.GL_SRC_ALPHA;
+        }
+
+        @Override
+        public int getBlendDstFunc() {
+            return GL20.GL_ONE_MINUS_SRC_ALPHA;
+        }
+
+        @Override
+        public int getBlendSrcFuncAlpha() {
+            return GL20.GL_SRC_ALPHA;
+        }
+
+        @Override
+        public int getBlendDstFuncAlpha() {
+            return GL20.GL_ONE_MINUS_SRC_ALPHA;
+        }
+
+        @Override
+        public Matrix4 getProjectionMatrix() {
+            return projection;
+        }
+
+        @Override
+        public Matrix4 getTransformMatrix() {
+            return transform;
+        }
+
+        @Override
+        public void setProjectionMatrix(Matrix4 projection) {
+            this.projection.set(projection);
+        }
+
+        @Override
+        public void setTransformMatrix(Matrix4 transform) {
+            this.transform.set(transform);
+        }
+
+        @Override
+        public void setShader(ShaderProgram shader) {}
+
+        @Override
+        public ShaderProgram getShader() {
+            return null;
+        }
+
+        @Override
+        public boolean isBlendingEnabled() {
+            return blending;
+        }
+
+        @Override
+        public boolean isDrawing() {
+            return drawing;
+        }
+
+        @Override
+        public void dispose() {}
+    }
+}
@@ -0,0 +1,134 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.uoyeng1g6.models.PhysicsPolygon;
+import io.github.uoyeng1g6.replay.HeadlessReplay;
+import io.github.uoyeng1g6.replay.InputPlayer;
+import io.github.uoyeng1g6.replay.InputRecorder;
+import io.github.uoyeng1g6.replay.InputRecording;
+import io.github.uoyeng1g6.simulation.Simulation;
+import io.github.uoyeng1g6.systems.PlayerInputSystem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class InputReplayTest {
+
+    FileHandle tempDir;
+    PhysicsPolygon[] terrain;
+
+    @Before
+    public void createTempDir() {
+        tempDir = FileHandle.tempDirectory("input-replay-test");
+        terrain = Simulation.loadTerrain(Gdx.files.internal("../assets/terrain.json"));
+    }
+
+    @After
+    public void deleteTempDir() {
+        tempDir.deleteDirectory();
+    }
+
+    /**
+     * Record a session that walks to the bed and then sleeps through every day, with frame lengths varying between
+     * 30 and 144 fps.
+     */
+    private InputRecording recordSleepingThroughTheWeek() {
+        var random = new RandomXS128(3);
+        var frame = new int[1];
+        PlayerInputSystem.InputSource script = deltaTime -> {
+            var i = frame[0]++;
+            if (i < 30) {
+                return PlayerInputSystem.LEFT;
+            }
+            return i % 80 == 0 ? PlayerInputSystem.INTERACT : 0;
+        };
+
+        var recorder = new InputRecorder(script, new InputRecording(60, false));
+        for (int i = 0; i < 2000; i++) {
+            var delta = 1 / (30 + random.nextFloat() * 114);
+            recorder.sample(delta);
+        }
+        return recorder.getRecording();
+    }
+
+    @Test
+    public void testRecordingRoundTrip() {
+        var recording = recordSleepingThroughTheWeek();
+        var file = tempDir.child("recording.bin");
+        recording.write(file);
+        // Five bytes per frame plus the header
+        assertEquals(15 + recording.size() * 5, file.length());
+
+        var read = InputRecording.read(file);
+        assertEquals(recording.tickRate, read.tickRate);
+        assertEquals(recording.sensorProximity, read.sensorProximity);
+        assertEquals(recording.size(), read.size());
+        for (int i = 0; i < recording.size(); i++) {
+            assertEquals(recording.getDelta(i), read.getDelta(i), 0);
+            assertEquals(recording.getInput(i), read.getInput(i));
+        }
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void testNotARecording() {
+        var file = tempDir.child("recording.bin");
+        file.writeString("not a recording", false);
+        InputRecording.read(file);
+    }
+
+    @Test
+    public void testPlayerGivesRecordedInputOnce() {
+        var recording = new InputRecording(60, false);
+        recording.addFrame(0.1f, PlayerInputSystem.UP | PlayerInputSystem.INTERACT);
+        var player = new InputPlayer(recording);
+
+        assertEquals(0, player.sample(0.1f));
+        assertTrue(player.hasNext());
+        assertEquals(0.1f, player.next(), 0);
+        assertEquals(PlayerInputSystem.UP | PlayerInputSystem.INTERACT, player.sample(0.1f));
+        assertFalse(player.hasNext());
+        // Frames after the recording runs out have no input
+        assertEquals(0, player.sample(0.1f));
+    }
+
+    @Test
+    public void testHeadlessReplayPlaysFullGame() {
+        var recording = recordSleepingThroughTheWeek();
+        var replay = new HeadlessReplay(recording, terrain);
+        var gameState = replay.run();
+
+        assertEquals(7, gameState.days.size());
+        assertEquals(0, gameState.daysRemaining);
+        // Stops once the game ends rather than playing the rest of the recording
+        assertTrue(replay.getFrames() < recording.size());
+    }
+
+    @Test
+    public void testHeadlessReplayDeterministic() {
+        var recording = new InputRecording(60, false);
+        var random = new RandomXS128(11);
+        for (int i = 0; i < 20000; i++) {
+            recording.addFrame(1 / (30 + random.nextFloat() * 114), random.nextInt(1 << 5));
+        }
+
+        var first = new HeadlessReplay(recording, terrain).run();
+        var second = new HeadlessReplay(recording, terrain).run();
+        assertEquals(first.days.size(), second.days.size());
+        assertEquals(first.daysRemaining, second.daysRemaining);
+        assertEquals(first.energyRemaining, second.energyRemaining);
+        assertEquals(first.hoursRemaining, second.hoursRemaining);
+        assertEquals(first.currentDay, second.currentDay);
+        for (int i = 0; i < first.days.size(); i++) {
+            assertEquals(first.days.get(i), second.days.get(i));
+        }
+    }
+}
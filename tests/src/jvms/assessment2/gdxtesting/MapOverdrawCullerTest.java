@@ -0,0 +1,153 @@
+package jvms.assessment2.gdxtesting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import io.github.uoyeng1g6.map.MapOverdrawCuller;
+import io.github.uoyeng1g6.map.SparseTiledMap;
+import io.github.uoyeng1g6.utils.AlphaMask;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(GdxTestRunner.class)
+public class MapOverdrawCullerTest {
+
+    Pixmap pixmap;
+    Texture texture;
+    AlphaMask alphaMask;
+    TiledMapTile opaqueTile;
+    TiledMapTile transparentTile;
+
+    TiledMap tiledMap;
+
+    @Before
+    public void createMap() {
+        // Left half of the texture is opaque, right half is partially transparent
+        pixmap = new Pixmap(16, 8, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+        pixmap.setColor(Color.GREEN);
+        pixmap.fillRectangle(0, 0, 8, 8);
+        pixmap.setColor(0, 0, 1, 0.5f);
+        pixmap.fillRectangle(8, 0, 8, 8);
+        texture = new Texture(pixmap);
+        alphaMask = AlphaMask.of(pixmap);
+
+        opaqueTile = new StaticTiledMapTile(new TextureRegion(texture, 0, 0, 8, 8));
+        transparentTile = new StaticTiledMapTile(new TextureRegion(texture, 8, 0, 8, 8));
+
+        tiledMap = new TiledMap();
+        var properties = tiledMap.getProperties();
+        properties.put("width", 4);
+        properties.put("height", 4);
+        properties.put("tilewidth", 8);
+        properties.put("tileheight", 8);
+    }
+
+    @After
+    public void dispose() {
+        texture.dispose();
+        pixmap.dispose();
+    }
+
+    private AlphaMask getAlphaMask(Texture texture) {
+        return texture == this.texture ? alphaMask : null;
+    }
+
+    private TiledMapTileLayer addLayer() {
+        var layer = new TiledMapTileLayer(4, 4, 8, 8);
+        tiledMap.getLayers().add(layer);
+        return layer;
+    }
+
+    private void setTile(TiledMapTileLayer layer, int x, int y, TiledMapTile tile) {
+        var cell = new TiledMapTileLayer.Cell();
+        cell.setTile(tile);
+        layer.setCell(x, y, cell);
+    }
+
+    @Test
+    public void hiddenCellsAreCulledTest() {
+        var ground = addLayer();
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                setTile(ground, x, y, opaqueTile);
+            }
+        }
+        var buildings = addLayer();
+        setTile(buildings, 1, 1, opaqueTile);
+        setTile(buildings, 2, 2, transparentTile);
+
+        var map = new SparseTiledMap(tiledMap, 2);
+        var report = MapOverdrawCuller.cull(map, this::getAlphaMask);
+
+        assertEquals(18, report.cellsBefore);
+        assertEquals(17, report.cellsAfter);
+        assertEquals(17, map.getCellCount());
+        assertEquals(18 * 64, report.pixelsBefore);
+        assertEquals(17 * 64, report.pixelsAfter);
+        assertEquals(1 / 18f, report.getFillSaved(), 0.0001f);
+
+        // Both layers are drawn the same way, so they are collapsed into one
+        assertEquals(2, report.layersBefore);
+        assertEquals(1, report.layersAfter);
+        assertEquals(1, map.getLayers().size);
+    }
+
+    @Test
+    public void translucentLayersDoNotCullTest() {
+        var ground = addLayer();
+        setTile(ground, 0, 0, opaqueTile);
+        var overlay = addLayer();
+        overlay.setOpacity(0.5f);
+        setTile(overlay, 0, 0, opaqueTile);
+
+        var map = new SparseTiledMap(tiledMap, 2);
+        var report = MapOverdrawCuller.cull(map, this::getAlphaMask);
+
+        assertEquals(2, report.cellsAfter);
+        assertEquals(2, map.getLayers().size);
+    }
+
+    @Test
+    public void emptyChunksAreRemovedTest() {
+        var ground = addLayer();
+        setTile(ground, 3, 3, transparentTile);
+        var roofs = addLayer();
+        roofs.setOffsetX(8);
+        setTile(roofs, 0, 0, opaqueTile);
+        var top = addLayer();
+        setTile(top, 3, 3, opaqueTile);
+
+        var map = new SparseTiledMap(tiledMap, 2);
+        MapOverdrawCuller.cull(map, this::getAlphaMask);
+
+        assertEquals(3, map.getLayers().size);
+        assertNull(map.getLayers().first().getChunk(1, 1));
+        assertEquals(2, map.getCellCount());
+    }
+
+    @Test
+    public void unknownTexturesDoNotCullTest() {
+        var ground = addLayer();
+        setTile(ground, 0, 0, opaqueTile);
+        var buildings = addLayer();
+        setTile(buildings, 0, 0, opaqueTile);
+
+        var map = new SparseTiledMap(tiledMap, 2);
+        var report = MapOverdrawCuller.cull(map, texture -> null);
+
+        // Without an alpha mask the tile could have transparent pixels, so the cell below it is kept
+        assertEquals(2, report.cellsAfter);
+        assertEquals(1, map.getLayers().size);
+    }
+}
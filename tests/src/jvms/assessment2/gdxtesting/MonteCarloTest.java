@@ -0,0 +1,86 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.uoyeng1g6.simulation.Location;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.MonteCarlo;
+import io.github.uoyeng1g6.simulation.Policy;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class MonteCarloTest {
+
+    @Test
+    public void testPlaysEveryGame() {
+        var games = MonteCarlo.CHUNK_SIZE * 2 + 5;
+        var result = new MonteCarlo(Locations.ALL, Policy.AFFORDABLE).run(games, 1);
+
+        assertEquals(games, result.games);
+        assertEquals(games, Arrays.stream(result.scores).sum());
+        for (int i = 0; i < MonteCarlo.ACHIEVEMENTS.length; i++) {
+            assertTrue(result.achievements[i] <= games);
+        }
+        assertTrue(result.getPercentile(0.1) <= result.getPercentile(0.5));
+        assertTrue(result.getPercentile(0.5) <= result.getPercentile(0.9));
+    }
+
+    @Test
+    public void testResultsIndependentOfThreadCount() {
+        var games = MonteCarlo.CHUNK_SIZE * 5;
+        var singleThread = new ForkJoinPool(1);
+        var manyThreads = new ForkJoinPool(4);
+        try {
+            var expected = new MonteCarlo(Locations.ALL, Policy.RANDOM, singleThread).run(games, 7);
+            var actual = new MonteCarlo(Locations.ALL, Policy.RANDOM, manyThreads).run(games, 7);
+            assertArrayEquals(expected.scores, actual.scores);
+            assertArrayEquals(expected.achievements, actual.achievements);
+        } finally {
+            singleThread.shutdown();
+            manyThreads.shutdown();
+        }
+    }
+
+    @Test
+    public void testGamesFinish() {
+        var monteCarlo = new MonteCarlo(Locations.ALL, Policy.RANDOM);
+        var random = new RandomXS128(3);
+        for (int i = 0; i < 100; i++) {
+            var state = monteCarlo.play(random);
+            assertEquals(0, state.daysRemaining);
+            assertEquals(7, state.days.size());
+        }
+    }
+
+    @Test
+    public void testCostsChangeBalance() {
+        var cs = Locations.find("cs");
+        var cheap = cs.withCosts(1, 1);
+        assertEquals(1, cheap.timeUsage);
+        assertEquals(1, cheap.energyUsage);
+        assertSame(cs.type, cheap.type);
+
+        var locations = Locations.replace(Locations.ALL, cheap);
+        assertEquals(Locations.ALL.size(), locations.size());
+        assertSame(cheap, Locations.find(locations, "cs"));
+        assertNotSame(cheap, Locations.find("cs"));
+
+        // Studying for less energy leaves more for everything else, so scores go up
+        var normal = new MonteCarlo(Locations.ALL, Policy.AFFORDABLE).run(MonteCarlo.CHUNK_SIZE, 1);
+        var cheaper = new MonteCarlo(locations, Policy.AFFORDABLE).run(MonteCarlo.CHUNK_SIZE, 1);
+        assertTrue(cheaper.getMean() > normal.getMean());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSleepHasNoCosts() {
+        Locations.find("sleep").withCosts(1, 1);
+    }
+}
@@ -0,0 +1,100 @@
+package jvms.assessment2.gdxtesting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Array;
+import io.github.uoyeng1g6.map.CachedTiledMapLoader;
+import io.github.uoyeng1g6.utils.ParallelTextureLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(GdxTestRunner.class)
+public class ParallelTextureLoaderTest {
+
+    static final String ATLAS = "../assets/sprites/player.txt";
+    static final String TEXTURE = "../assets/white_pixel.png";
+    static final String MAP = "../assets/maps/campus-east.tmx";
+
+    AssetManager assetManager;
+    ParallelTextureLoader textureLoader;
+
+    @Before
+    public void createAssetManager() {
+        assetManager = new AssetManager();
+        textureLoader = new ParallelTextureLoader(assetManager.getFileHandleResolver(), 4);
+        assetManager.setLoader(Texture.class, textureLoader);
+        assetManager.setLoader(TiledMap.class, new CachedTiledMapLoader(assetManager.getFileHandleResolver()));
+    }
+
+    @After
+    public void disposeAssetManager() {
+        assetManager.dispose();
+        textureLoader.dispose();
+    }
+
+    @Test
+    public void loadsTextureWithoutPrefetchTest() {
+        assetManager.load(TEXTURE, Texture.class);
+        assetManager.finishLoading();
+
+        var texture = assetManager.get(TEXTURE, Texture.class);
+        var pixmap = new Pixmap(assetManager.getFileHandleResolver().resolve(TEXTURE));
+        assertEquals(pixmap.getWidth(), texture.getWidth());
+        assertEquals(pixmap.getHeight(), texture.getHeight());
+        assertEquals(1, textureLoader.getDecodeCount());
+        pixmap.dispose();
+    }
+
+    @Test
+    public void prefetchesDependenciesTest() {
+        textureLoader.prefetch(assetManager, ATLAS, TextureAtlas.class, null);
+        textureLoader.prefetch(assetManager, MAP, TiledMap.class, null);
+        assetManager.load(ATLAS, TextureAtlas.class);
+        assetManager.load(MAP, TiledMap.class);
+        assetManager.finishLoading();
+
+        var textures = assetManager.getAll(Texture.class, new Array<>());
+        assertTrue(textures.size > 1);
+        // Every texture is decoded exactly once, whether it was picked up from the prefetch or not
+        assertEquals(textures.size, textureLoader.getDecodeCount());
+    }
+
+    @Test
+    public void prefetchIsNotRepeatedTest() {
+        textureLoader.prefetch(assetManager, TEXTURE, Texture.class, null);
+        textureLoader.prefetch(assetManager, TEXTURE, Texture.class, null);
+        assetManager.load(TEXTURE, Texture.class);
+        assetManager.finishLoading();
+
+        assertEquals(1, textureLoader.getDecodeCount());
+    }
+
+    @Test
+    public void keepsAlphaMasksTest() {
+        textureLoader.setKeepAlphaMasks(true);
+        textureLoader.prefetch(assetManager, MAP, TiledMap.class, null);
+        assetManager.load(MAP, TiledMap.class);
+        assetManager.finishLoading();
+
+        var textures = assetManager.getAll(Texture.class, new Array<>());
+        for (var texture : textures) {
+            var mask = textureLoader.getAlphaMask(texture);
+            assertNotNull(mask);
+            assertEquals(texture.getWidth(), mask.width);
+            assertEquals(texture.getHeight(), mask.height);
+        }
+
+        textureLoader.setKeepAlphaMasks(false);
+        assertNull(textureLoader.getAlphaMask(textures.first()));
+    }
+}
@@ -0,0 +1,101 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.World;
+import io.github.uoyeng1g6.components.FixtureComponent;
+import io.github.uoyeng1g6.constants.PlayerConstants;
+import io.github.uoyeng1g6.systems.PhysicsSystem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GdxTestRunner.class)
+public class PhysicsSystemTest {
+
+    World world;
+    Body playerBody;
+    FixtureComponent fc;
+
+    @Before
+    public void initialiseWorld() {
+        world = new World(new Vector2(), true);
+
+        var player = new BodyDef();
+        player.type = BodyDef.BodyType.DynamicBody;
+        playerBody = world.createBody(player);
+        var playerCircle = new CircleShape();
+        playerCircle.setRadius(PlayerConstants.HITBOX_RADIUS);
+        fc = new FixtureComponent(playerBody.createFixture(playerCircle, 1f));
+        playerCircle.dispose();
+    }
+
+    @After
+    public void disposeWorld() {
+        world.dispose();
+    }
+
+    private Engine createEngine(int tickRate) {
+        Engine engine = new PooledEngine();
+        engine.addEntity(engine.createEntity().add(fc));
+        engine.addSystem(new PhysicsSystem(world, tickRate));
+        return engine;
+    }
+
+    /**
+     * Move the player at a constant velocity for a second, rendering at the given frame rate.
+     */
+    private float simulateSecond(int frameRate, int tickRate) {
+        var engine = createEngine(tickRate);
+        playerBody.setTransform(0, 0, 0);
+        playerBody.setLinearVelocity(PlayerConstants.PLAYER_SPEED, 0);
+        for (int i = 0; i < frameRate; i++) {
+            engine.update(1f / frameRate);
+        }
+        return playerBody.getPosition().x;
+    }
+
+    @Test
+    public void testMovementIndependentOfFrameRate() {
+        // Rounding can leave the last step in the accumulator, so allow for one step either way
+        var stepDistance = PlayerConstants.PLAYER_SPEED / 60f;
+        var expected = simulateSecond(60, 60);
+        assertEquals(PlayerConstants.PLAYER_SPEED, expected, stepDistance);
+        assertEquals(expected, simulateSecond(30, 60), stepDistance);
+        assertEquals(expected, simulateSecond(144, 60), stepDistance);
+        assertEquals(expected, simulateSecond(144, 30), PlayerConstants.PLAYER_SPEED / 30f);
+    }
+
+    @Test
+    public void testInterpolatesBetweenSteps() {
+        var engine = createEngine(10);
+        playerBody.setLinearVelocity(PlayerConstants.PLAYER_SPEED, 0);
+
+        // Not enough time for a step yet
+        engine.update(0.05f);
+        assertEquals(0, playerBody.getPosition().x, 0);
+        assertEquals(0.5f, fc.interpolation, 0.001f);
+
+        engine.update(0.075f);
+        var stepped = PlayerConstants.PLAYER_SPEED / 10f;
+        assertEquals(stepped, playerBody.getPosition().x, 0.001f);
+        assertEquals(0, fc.previousPosition.x, 0);
+        assertEquals(0.25f, fc.interpolation, 0.001f);
+    }
+
+    @Test
+    public void testLongFramesClamped() {
+        var engine = createEngine(60);
+        playerBody.setLinearVelocity(PlayerConstants.PLAYER_SPEED, 0);
+
+        engine.update(5);
+        assertEquals(PlayerConstants.PLAYER_SPEED * PhysicsSystem.MAX_FRAME_TIME, playerBody.getPosition().x, 0.1f);
+    }
+}
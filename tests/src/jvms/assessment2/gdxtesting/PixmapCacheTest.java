@@ -0,0 +1,97 @@
+package jvms.assessment2.gdxtesting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import io.github.uoyeng1g6.utils.PixmapCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(GdxTestRunner.class)
+public class PixmapCacheTest {
+
+    FileHandle tempDir;
+    FileHandle image;
+    PixmapCache cache;
+
+    @Before
+    public void createCache() {
+        tempDir = FileHandle.tempDirectory("pixmap-cache-test");
+        image = tempDir.child("player.png");
+        Gdx.files.internal("../assets/sprites/player.png").copyTo(image);
+        cache = new PixmapCache(tempDir.child("cache"));
+    }
+
+    @After
+    public void deleteCache() {
+        tempDir.deleteDirectory();
+    }
+
+    private void assertPixmapEquals(Pixmap expected, Pixmap actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getFormat(), actual.getFormat());
+        assertEquals(expected.getPixels(), actual.getPixels());
+    }
+
+    @Test
+    public void cachedImageMatchesDecodedTest() {
+        var expected = new Pixmap(image);
+
+        var first = cache.load(image);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertPixmapEquals(expected, first);
+
+        var second = cache.load(image);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertPixmapEquals(expected, second);
+
+        expected.dispose();
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    public void changedImageIsDecodedAgainTest() {
+        cache.load(image).dispose();
+
+        Gdx.files.internal("../assets/white_pixel.png").copyTo(image);
+        var pixmap = cache.load(image);
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, pixmap.getWidth());
+        assertEquals(1, pixmap.getHeight());
+        pixmap.dispose();
+
+        // The rewritten entry is used from then on
+        cache.load(image).dispose();
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void corruptEntryIsNotUsedTest() {
+        cache.load(image).dispose();
+
+        var entries = tempDir.child("cache").list(".pix");
+        assertEquals(1, entries.length);
+        var entry = entries[0];
+        // Keep the header but cut off the pixel data
+        var bytes = entry.readBytes();
+        entry.writeBytes(bytes, 0, 64, false);
+
+        var expected = new Pixmap(image);
+        var pixmap = cache.load(image);
+        assertEquals(0, cache.getHits());
+        assertPixmapEquals(expected, pixmap);
+        assertTrue(entry.length() > 64);
+
+        expected.dispose();
+        pixmap.dispose();
+    }
+}
@@ -0,0 +1,226 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.PhysicsPolygon;
+import io.github.uoyeng1g6.save.Autosave;
+import io.github.uoyeng1g6.save.SaveGame;
+import io.github.uoyeng1g6.simulation.Location;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.Simulation;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class SaveGameTest {
+
+    FileHandle tempDir;
+    PhysicsPolygon[] terrain;
+
+    @Before
+    public void createTempDir() {
+        tempDir = FileHandle.tempDirectory("save-game-test");
+        terrain = Simulation.loadTerrain(Gdx.files.internal("../assets/terrain.json"));
+    }
+
+    @After
+    public void deleteTempDir() {
+        tempDir.deleteDirectory();
+    }
+
+    /**
+     * Pick a random schedule of locations, sleeping every tenth interaction.
+     */
+    private static Location[] randomSchedule(long seed, int length) {
+        var random = new RandomXS128(seed);
+        var schedule = new Location[length];
+        for (int i = 0; i < length; i++) {
+            schedule[i] = i % 10 == 9
+                    ? Locations.find("sleep")
+                    : Locations.ALL.get(random.nextInt(Locations.ALL.size()));
+        }
+        return schedule;
+    }
+
+    private static void assertSameGame(GameState expected, GameState actual) {
+        assertEquals(expected.daysRemaining, actual.daysRemaining);
+        assertEquals(expected.energyRemaining, actual.energyRemaining);
+        assertEquals(expected.hoursRemaining, actual.hoursRemaining);
+        assertEquals(expected.days, actual.days);
+        assertEquals(expected.currentDay, actual.currentDay);
+        assertEquals(expected.score.getExamScore(), actual.score.getExamScore());
+        assertEquals(expected.score.getProjectedScore(), actual.score.getProjectedScore());
+        var rules = expected.achievements.getRules();
+        for (int i = 0; i < rules.size(); i++) {
+            assertEquals(rules.get(i).getId(), expected.achievements.isEarned(i), actual.achievements.isEarned(i));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        var simulation = new Simulation(terrain, 60);
+        for (var location : randomSchedule(1, 25)) {
+            simulation.perform(location);
+        }
+        var state = simulation.getGameState();
+        // Leave an overlay part way through being shown
+        assertTrue(Locations.find("cs").interact(state));
+        state.interactionOverlay.elapsed = 0.25f;
+
+        var buffer = SaveGame.write(ByteBuffer.allocate(1024), state, new Vector2(12.5f, 40.25f));
+        var save = SaveGame.read(buffer);
+        assertFalse(buffer.hasRemaining());
+
+        assertNotSame(state, save.gameState);
+        assertSameGame(state, save.gameState);
+        assertEquals(new Vector2(12.5f, 40.25f), save.playerPosition);
+
+        var overlay = save.gameState.interactionOverlay;
+        assertNotNull(overlay);
+        assertEquals(state.interactionOverlay.text, overlay.text);
+        assertEquals(state.interactionOverlay.displayFor, overlay.displayFor, 0);
+        assertEquals(0.25f, overlay.elapsed, 0);
+        simulation.dispose();
+    }
+
+    @Test
+    public void testGrowsBuffer() {
+        var simulation = new Simulation(terrain, 60);
+        for (var location : randomSchedule(2, 40)) {
+            simulation.perform(location);
+        }
+
+        var small = ByteBuffer.allocate(8);
+        var buffer = SaveGame.write(small, simulation.getGameState(), new Vector2());
+        assertNotSame(small, buffer);
+        assertSameGame(simulation.getGameState(), SaveGame.read(buffer).gameState);
+        simulation.dispose();
+    }
+
+    @Test
+    public void testResumedGameFinishesTheSame() {
+        var schedule = randomSchedule(3, 120);
+        var uninterrupted = new Simulation(terrain, 60);
+        var resumed = new Simulation(terrain, 60);
+
+        var buffer = ByteBuffer.allocate(256);
+        for (int i = 0; i < schedule.length; i++) {
+            uninterrupted.perform(schedule[i]);
+            // Save and resume the game after every interaction
+            var position = resumed.getPlayerFixture().getBody().getPosition();
+            buffer = SaveGame.write(buffer, resumed.getGameState(), position);
+            var save = SaveGame.read(buffer);
+            resumed.restore(save.gameState, save.playerPosition);
+            resumed.perform(schedule[i]);
+        }
+
+        assertTrue(uninterrupted.isFinished());
+        assertTrue(resumed.isFinished());
+        assertSameGame(uninterrupted.getGameState(), resumed.getGameState());
+        assertEquals(uninterrupted.getScore(), resumed.getScore());
+        uninterrupted.dispose();
+        resumed.dispose();
+    }
+
+    @Test
+    public void testRestore() {
+        var simulation = new Simulation(terrain, 64);
+        var state = new GameState();
+        assertTrue(Locations.find("cs").interact(state));
+        var displayFor = state.interactionOverlay.displayFor;
+        state.interactionOverlay.elapsed = displayFor / 2;
+
+        simulation.restore(state, new Vector2(30, 20));
+        assertEquals(new Vector2(30, 20), simulation.getPlayerFixture().getBody().getPosition());
+        assertSame(state, simulation.getGameState());
+
+        // Only the rest of the overlay is shown, ending at the start of the frame after it has finished
+        var engine = simulation.createEngine(deltaTime -> 0, false);
+        var frames = 0;
+        while (state.interactionOverlay != null) {
+            engine.update(1 / 64f);
+            frames++;
+        }
+        assertEquals(MathUtils.ceil((displayFor - displayFor / 2) * 32) + 1, frames);
+        simulation.dispose();
+    }
+
+    @Test
+    public void testRejectsBadSaves() {
+        var buffer = SaveGame.write(ByteBuffer.allocate(256), new GameState(), new Vector2());
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        var badMagic = bytes.clone();
+        badMagic[0] = 0;
+        assertThrows(GdxRuntimeException.class, () -> SaveGame.read(ByteBuffer.wrap(badMagic)));
+
+        var badVersion = bytes.clone();
+        badVersion[5] = (byte) (SaveGame.VERSION + 1);
+        assertThrows(GdxRuntimeException.class, () -> SaveGame.read(ByteBuffer.wrap(badVersion)));
+
+        var truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+        assertThrows(GdxRuntimeException.class, () -> SaveGame.read(truncated));
+    }
+
+    @Test
+    public void testAutosave() {
+        var file = tempDir.child("saves/autosave.bin");
+        var simulation = new Simulation(terrain, 60);
+        var state = simulation.getGameState();
+        var body = simulation.getPlayerFixture().getBody();
+        var autosave = new Autosave(file, state, body);
+
+        // Nothing is saved until the game changes
+        autosave.update();
+        assertEquals(0, autosave.getSaves());
+
+        simulation.perform(Locations.find("food"));
+        autosave.update();
+        body.setTransform(10, 15, 0);
+        autosave.dispose();
+
+        assertEquals(2, autosave.getSaves());
+        assertFalse(file.sibling("autosave.bin.tmp").exists());
+        var save = SaveGame.read(file);
+        assertSameGame(state, save.gameState);
+        // The final save on dispose keeps the player's latest position
+        assertEquals(new Vector2(10, 15), save.playerPosition);
+        simulation.dispose();
+    }
+
+    @Test
+    public void testAutosaveDelete() {
+        var file = tempDir.child("autosave.bin");
+        var simulation = new Simulation(terrain, 60);
+        var autosave = new Autosave(file, simulation.getGameState(), simulation.getPlayerFixture().getBody());
+
+        simulation.perform(Locations.find("food"));
+        autosave.update();
+        autosave.delete();
+        simulation.perform(Locations.find("cs"));
+        autosave.update();
+        autosave.dispose();
+
+        assertFalse(file.exists());
+        assertNull(simulation.getGameState().interactionOverlay);
+        simulation.dispose();
+    }
+}
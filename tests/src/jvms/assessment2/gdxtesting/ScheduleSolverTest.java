@@ -0,0 +1,280 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.constants.GameConstants;
+import io.github.uoyeng1g6.models.ActivityRegistry;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import io.github.uoyeng1g6.simulation.Location;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.MonteCarlo;
+import io.github.uoyeng1g6.simulation.Policy;
+import io.github.uoyeng1g6.simulation.ScheduleSolver;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class ScheduleSolverTest {
+
+    /**
+     * Locations where studying and eating are expensive enough that full marks cannot be reached.
+     */
+    private static List<Location> expensiveLocations() {
+        var locations = Locations.ALL;
+        locations = Locations.replace(locations, Locations.find("cs").withCosts(2, 24));
+        locations = Locations.replace(locations, Locations.find("library").withCosts(1, 15));
+        locations = Locations.replace(locations, Locations.find("food").withCosts(1, 20));
+        return locations;
+    }
+
+    private static GameState play(List<Location> schedule) {
+        var state = new GameState();
+        for (var location : schedule) {
+            assertTrue(location.interact(state));
+        }
+        return state;
+    }
+
+    @Test
+    public void testDefaultLocationsReachFullMarks() {
+        var solver = new ScheduleSolver(Locations.ALL);
+        assertEquals(100, solver.getBestScore());
+        assertTrue(solver.getBestTotal() >= 100);
+
+        var state = play(solver.getBestSchedule());
+        assertEquals(0, state.daysRemaining);
+        assertEquals(100, ScoreCalculator.calculateExamScore(state.days));
+        assertEquals(List.of(true, true, true, false), ScoreCalculator.calculateAchievements(state.days));
+    }
+
+    @Test
+    public void testScheduleAchievesBestScore() {
+        var locations = expensiveLocations();
+        var solver = new ScheduleSolver(locations);
+        var best = solver.getBestScore();
+        assertTrue(best > 0 && best < 100);
+        assertEquals(best, ScoreCalculator.calculateExamScore(play(solver.getBestSchedule()).days));
+
+        // No simulated player does better
+        var monteCarlo = new MonteCarlo(locations, Policy.AFFORDABLE);
+        var random = new RandomXS128(5);
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(ScoreCalculator.calculateExamScore(monteCarlo.play(random).days) <= best);
+        }
+    }
+
+    @Test
+    public void testResultsIndependentOfThreadCount() {
+        var singleThread = new ForkJoinPool(1);
+        try {
+            var expected = new ScheduleSolver(expensiveLocations(), singleThread);
+            var actual = new ScheduleSolver(expensiveLocations());
+            assertEquals(expected.getBestTotal(), actual.getBestTotal(), 0);
+            assertEquals(expected.getStateCount(), actual.getStateCount());
+            assertEquals(expected.getPolicyRows(), actual.getPolicyRows());
+            var expectedSchedule = expected.getBestSchedule();
+            var actualSchedule = actual.getBestSchedule();
+            assertEquals(expectedSchedule.size(), actualSchedule.size());
+            for (int i = 0; i < expectedSchedule.size(); i++) {
+                assertEquals(expectedSchedule.get(i).name, actualSchedule.get(i).name);
+            }
+        } finally {
+            singleThread.shutdown();
+        }
+    }
+
+    @Test
+    public void testPolicyRecoversFromAnyState() {
+        var locations = expensiveLocations();
+        var solver = new ScheduleSolver(locations);
+        var monteCarlo = new MonteCarlo(locations, Policy.AFFORDABLE);
+        var random = new RandomXS128(9);
+
+        for (int i = 0; i < 200; i++) {
+            // Make a few random moves, then follow the policy for the rest of the game
+            var state = new GameState();
+            var randomMoves = random.nextInt(40);
+            for (int move = 0; move < randomMoves && state.daysRemaining > 0; move++) {
+                Policy.AFFORDABLE.choose(state, locations, random).interact(state);
+            }
+            var policyState = copyOf(state, locations, random);
+            Location next;
+            while ((next = solver.bestNext(policyState)) != null) {
+                assertTrue(next.interact(policyState));
+            }
+
+            // The policy only gives up once the player has failed for missing study
+            var failed = ScoreCalculator.calculateAchievements(policyState.days).get(3);
+            assertTrue(policyState.daysRemaining == 0 || failed);
+
+            // Carrying on at random from the same point never beats the policy
+            for (int j = 0; j < 5 && state.daysRemaining > 0; j++) {
+                var randomState = copyOf(state, locations, random);
+                while (randomState.daysRemaining > 0) {
+                    Policy.AFFORDABLE.choose(randomState, locations, random).interact(randomState);
+                }
+                assertTrue(ScoreCalculator.calculateExamScore(randomState.days)
+                        <= ScoreCalculator.calculateExamScore(policyState.days) || failed);
+            }
+        }
+        assertNull(solver.bestNext(monteCarlo.play(random)));
+    }
+
+    /**
+     * Locations costing five hours each, so that at most three activities fit in a day and every schedule can be
+     * tried.
+     */
+    private static List<Location> reducedLocations(String study, String meal, String recreation) {
+        return List.of(
+                Locations.find(study).withCosts(5, 30),
+                Locations.find(meal).withCosts(5, 20),
+                Locations.find(recreation).withCosts(5, 45),
+                Locations.find("sleep"));
+    }
+
+    @Test
+    public void testBestTotalMatchesExhaustiveSearch() {
+        // Neither set can reach full marks, and each can only earn one of the bonus achievements
+        for (var locations :
+                List.of(reducedLocations("cs", "food", "sports"), reducedLocations("library", "food", "movie"))) {
+            var solver = new ScheduleSolver(locations);
+            var expected = exhaustiveBestTotal(locations);
+            assertTrue(expected > 0 && expected < 100);
+            assertEquals(expected, solver.getBestTotal(), 1e-4f);
+            assertEquals(Math.round(expected), solver.getBestScore());
+            assertEquals(
+                    Math.round(expected), ScoreCalculator.calculateExamScore(play(solver.getBestSchedule()).days));
+        }
+    }
+
+    /**
+     * Find the best total score before clamping by trying every combination of days, scoring each game with
+     * {@link ScoreCalculator}. Days which {@link ScoreCalculator#calculateAchievements} can't tell apart, as they have
+     * the same counts of the activities it checks, only differ in their day score, so only the best of them is tried.
+     */
+    private static float exhaustiveBestTotal(List<Location> locations) {
+        var activities = new ArrayList<Location>();
+        for (var location : locations) {
+            if (!location.isSleep()) {
+                activities.add(location);
+            }
+        }
+
+        // Every distinct day that fits within the hours and energy, regardless of the order of its activities
+        var allDays = new ArrayList<GameState.Day>();
+        addDays(activities, 0, new int[activities.size()], 0, 0, allDays);
+
+        var bestDays = new HashMap<List<Integer>, GameState.Day>();
+        for (var day : allDays) {
+            var key = List.of(
+                    day.statFor(ActivityType.STUDY),
+                    day.statFor(ActivityRegistry.MOVIE),
+                    day.statFor(ActivityRegistry.TOWN),
+                    day.statFor(ActivityRegistry.SPORTS));
+            var best = bestDays.get(key);
+            if (best == null || dayScore(day) > dayScore(best)) {
+                bestDays.put(key, day);
+            }
+        }
+        var days = new ArrayList<>(bestDays.values());
+        var dayScores = new int[days.size()];
+        for (int i = 0; i < dayScores.length; i++) {
+            dayScores[i] = dayScore(days.get(i));
+        }
+
+        var game = new ArrayList<GameState.Day>();
+        for (int i = 0; i < GameConstants.MAX_DAYS; i++) {
+            game.add(null);
+        }
+        var best = new float[] {Float.NEGATIVE_INFINITY};
+        playDays(days, dayScores, game, 0, 0, best);
+        return best[0];
+    }
+
+    private static int dayScore(GameState.Day day) {
+        return ScoreCalculator.getNormalisedDayScore(
+                day.statFor(ActivityType.STUDY), day.statFor(ActivityType.MEAL), day.statFor(ActivityType.RECREATION));
+    }
+
+    private static void addDays(
+            List<Location> activities, int from, int[] counts, int hours, int energy, List<GameState.Day> days) {
+        var day = new GameState.Day();
+        for (int i = 0; i < activities.size(); i++) {
+            var activity = activities.get(i);
+            // Activities longer than an hour count twice
+            day.add(activity.type, ActivityRegistry.register(activity.name), counts[i] * 2);
+        }
+        days.add(day);
+
+        for (int i = from; i < activities.size(); i++) {
+            var activity = activities.get(i);
+            if (hours + activity.timeUsage <= GameConstants.MAX_HOURS
+                    && energy + activity.energyUsage <= GameConstants.MAX_ENERGY) {
+                counts[i]++;
+                addDays(activities, i, counts, hours + activity.timeUsage, energy + activity.energyUsage, days);
+                counts[i]--;
+            }
+        }
+    }
+
+    private static void playDays(
+            List<GameState.Day> days,
+            int[] dayScores,
+            List<GameState.Day> game,
+            int dayNumber,
+            int total,
+            float[] best) {
+        if (dayNumber == game.size()) {
+            var achievements = ScoreCalculator.calculateAchievements(game);
+            if (achievements.get(3)) {
+                return;
+            }
+            var bonus = 0;
+            for (int i = 0; i < 3; i++) {
+                bonus += achievements.get(i) ? 5 : 0;
+            }
+            best[0] = Math.max(best[0], (total + bonus * GameConstants.MAX_DAYS) / (float) GameConstants.MAX_DAYS);
+            return;
+        }
+        for (int i = 0; i < days.size(); i++) {
+            game.set(dayNumber, days.get(i));
+            playDays(days, dayScores, game, dayNumber + 1, total + dayScores[i], best);
+        }
+    }
+
+    /**
+     * Copy a game state by replaying the activities recorded in it.
+     */
+    private static GameState copyOf(GameState state, List<Location> locations, RandomXS128 random) {
+        var copy = new GameState();
+        for (var day : state.days) {
+            replayDay(day, copy, locations);
+            copy.advanceDay();
+        }
+        replayDay(state.currentDay, copy, locations);
+        assertEquals(state.hoursRemaining, copy.hoursRemaining);
+        assertEquals(state.energyRemaining, copy.energyRemaining);
+        return copy;
+    }
+
+    private static void replayDay(GameState.Day day, GameState copy, List<Location> locations) {
+        for (var location : locations) {
+            if (location.isSleep()) {
+                continue;
+            }
+            var count = location.timeUsage > 1 ? 2 : 1;
+            for (int i = 0; i < day.statForName(location.name) / count; i++) {
+                location.interact(copy);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.AchievementTracker;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.Policy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class ScoreAccumulatorTest {
+
+    private static int achievementMask(List<Boolean> achievements) {
+        var mask = 0;
+        for (int i = 0; i < achievements.size(); i++) {
+            mask |= achievements.get(i) ? 1 << i : 0;
+        }
+        return mask;
+    }
+
+    private static int achievementMask(AchievementTracker tracker) {
+        var mask = 0;
+        for (int i = 0; i < tracker.getRules().size(); i++) {
+            mask |= tracker.isEarned(i) ? 1 << i : 0;
+        }
+        return mask;
+    }
+
+    @Test
+    public void testMatchesScoreCalculatorThroughoutGame() {
+        var random = new RandomXS128(1);
+        for (var policy : new Policy[] {Policy.RANDOM, Policy.AFFORDABLE}) {
+            for (int game = 0; game < 2000; game++) {
+                var state = new GameState();
+                while (state.daysRemaining > 0) {
+                    var location = policy.choose(state, Locations.ALL, random);
+                    var daysBefore = state.days.size();
+                    location.interact(state);
+
+                    // Ending the day now would give the projected score
+                    var ended = new ArrayList<>(state.days);
+                    ended.add(state.currentDay);
+                    assertEquals(ScoreCalculator.calculateExamScore(ended), state.score.getProjectedScore());
+
+                    // Achievements earned part way through a day count straight away, so only compare between days
+                    if (state.days.size() != daysBefore) {
+                        assertEquals(ScoreCalculator.calculateExamScore(state.days), state.score.getExamScore());
+                        assertEquals(
+                                achievementMask(ScoreCalculator.calculateAchievements(state.days)),
+                                achievementMask(state.achievements));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongSemester() {
+        var state = new GameState();
+        for (int day = 0; day < 500; day++) {
+            var study = day == 100 ? 0 : 8;
+            for (int i = 0; i < study; i++) {
+                state.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+            }
+            for (int i = 0; i < 3; i++) {
+                state.doActivity(1, 0, ActivityType.MEAL, "", "food");
+            }
+            state.doActivity(2, 0, ActivityType.RECREATION, "", "sports");
+            state.advanceDay();
+            state.hoursRemaining = 100;
+        }
+
+        assertEquals(ScoreCalculator.calculateExamScore(state.days), state.score.getExamScore());
+        assertEquals(
+                achievementMask(ScoreCalculator.calculateAchievements(state.days)),
+                achievementMask(state.achievements));
+        // Missed one day of study but caught up the next
+        assertFalse(state.achievements.isEarned("studyFailure"));
+        assertTrue(state.achievements.isEarned("sport"));
+        assertEquals(100, state.score.getExamScore());
+    }
+
+    @Test
+    public void testStudyFailure() {
+        var state = new GameState();
+        state.advanceDay();
+        state.doActivity(1, 0, ActivityType.STUDY, "", "cs");
+        assertFalse(state.achievements.isEarned("studyFailure"));
+        // Only studied once the day after missing study
+        state.advanceDay();
+        assertTrue(state.achievements.isEarned("studyFailure"));
+        assertEquals(0, state.score.getExamScore());
+    }
+}
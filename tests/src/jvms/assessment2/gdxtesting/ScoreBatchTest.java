@@ -0,0 +1,133 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.models.ActivityRegistry;
+import io.github.uoyeng1g6.models.GameBatch;
+import io.github.uoyeng1g6.models.GameState;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.MonteCarlo;
+import io.github.uoyeng1g6.simulation.Policy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GdxTestRunner.class)
+public class ScoreBatchTest {
+
+    private static int achievementMask(List<Boolean> achievements) {
+        var mask = 0;
+        for (int i = 0; i < achievements.size(); i++) {
+            mask |= achievements.get(i) ? 1 << i : 0;
+        }
+        return mask;
+    }
+
+    /**
+     * Check the batch scores of some games match scoring them one at a time.
+     */
+    private static void assertParity(List<GameState> games) {
+        var batch = new GameBatch(games.size());
+        var expectedScores = new int[games.size()];
+        var expectedAchievements = new int[games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            var days = games.get(i).days;
+            assertEquals(i, batch.add(days));
+            expectedScores[i] = ScoreCalculator.calculateExamScore(days);
+            expectedAchievements[i] = achievementMask(ScoreCalculator.calculateAchievements(days));
+        }
+
+        var scores = new int[games.size()];
+        var achievements = new int[games.size()];
+        ScoreCalculator.scoreBatch(batch, scores, achievements);
+        assertArrayEquals(expectedScores, scores);
+        assertArrayEquals(expectedAchievements, achievements);
+    }
+
+    /**
+     * Create a game where each day has random activity counts, including counts far past where they stop scoring.
+     */
+    private static GameState randomCounts(RandomXS128 random) {
+        var state = new GameState();
+        var activities = new int[] {
+            ActivityRegistry.MOVIE, ActivityRegistry.TOWN, ActivityRegistry.SPORTS, ActivityRegistry.register("ducks")
+        };
+        var study = ActivityRegistry.register("cs");
+        var food = ActivityRegistry.register("food");
+        for (int day = 0; day < 7; day++) {
+            // Make days without any study or with a single study common, as they decide the study failure
+            var studyCount = random.nextInt(4) == 0 ? random.nextInt(2) : random.nextInt(17);
+            state.currentDay.add(ActivityType.STUDY, study, studyCount);
+            var mealCount = random.nextInt(3) == 0 ? 0 : random.nextInt(9);
+            state.currentDay.add(ActivityType.MEAL, food, mealCount);
+            var recreation = random.nextInt(3) == 0 ? 0 : random.nextInt(12);
+            for (int i = 0; i < recreation; i++) {
+                state.currentDay.add(ActivityType.RECREATION, activities[random.nextInt(activities.length)], 1);
+            }
+            state.advanceDay();
+        }
+        return state;
+    }
+
+    @Test
+    public void testMatchesRandomCounts() {
+        var random = new RandomXS128(1);
+        var games = new ArrayList<GameState>();
+        for (int i = 0; i < 50000; i++) {
+            games.add(randomCounts(random));
+        }
+        assertParity(games);
+    }
+
+    @Test
+    public void testMatchesSimulatedGames() {
+        var random = new RandomXS128(2);
+        var games = new ArrayList<GameState>();
+        for (var policy : new Policy[] {Policy.RANDOM, Policy.AFFORDABLE}) {
+            var monteCarlo = new MonteCarlo(Locations.ALL, policy);
+            for (int i = 0; i < 10000; i++) {
+                games.add(monteCarlo.play(random));
+            }
+        }
+        assertParity(games);
+    }
+
+    @Test
+    public void testRangesMatchWholeBatch() {
+        var random = new RandomXS128(3);
+        var batch = new GameBatch(1000);
+        for (int i = 0; i < 900; i++) {
+            batch.add(randomCounts(random).days);
+        }
+
+        var scores = new int[batch.capacity];
+        var achievements = new int[batch.capacity];
+        ScoreCalculator.scoreBatch(batch, scores, achievements);
+
+        var rangeScores = new int[batch.capacity];
+        var rangeAchievements = new int[batch.capacity];
+        for (int from = 0; from < batch.size(); from += 128) {
+            ScoreCalculator.scoreBatch(batch, from, Math.min(batch.size(), from + 128), rangeScores, rangeAchievements);
+        }
+        assertArrayEquals(scores, rangeScores);
+        assertArrayEquals(achievements, rangeAchievements);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompleteGame() {
+        new GameBatch(1).add(new GameState().days);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBatchFull() {
+        var batch = new GameBatch(1);
+        var game = randomCounts(new RandomXS128(4));
+        batch.add(game.days);
+        batch.add(game.days);
+    }
+}
@@ -0,0 +1,154 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import io.github.uoyeng1g6.components.HitboxComponent;
+import io.github.uoyeng1g6.constants.PlayerConstants;
+import io.github.uoyeng1g6.utils.HitboxIndex;
+import io.github.uoyeng1g6.utils.SensorProximityTracker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GdxTestRunner.class)
+public class SensorProximityTrackerTest {
+
+    Engine engine;
+    World world;
+    Fixture playerFixture;
+    SensorProximityTracker tracker;
+    Array<Entity> found;
+
+    @Before
+    public void initialiseWorld() {
+        engine = new PooledEngine();
+        world = new World(new Vector2(), true);
+
+        var player = new BodyDef();
+        player.type = BodyDef.BodyType.DynamicBody;
+        var playerBody = world.createBody(player);
+        var playerCircle = new CircleShape();
+        playerCircle.setRadius(PlayerConstants.HITBOX_RADIUS);
+        playerFixture = playerBody.createFixture(playerCircle, 1f);
+        playerCircle.dispose();
+
+        tracker = new SensorProximityTracker(world);
+        found = new Array<>();
+    }
+
+    @After
+    public void disposeWorld() {
+        world.dispose();
+    }
+
+    private Entity addHitbox(Rectangle... rects) {
+        var entity = engine.createEntity().add(new HitboxComponent(rects));
+        engine.addEntity(entity);
+        return entity;
+    }
+
+    /**
+     * Move the player and step the world until the contacts have caught up. New pairs are only found at the end of a
+     * step and touched at the start of the next, so this takes two steps.
+     */
+    private void movePlayer(float x, float y) {
+        var body = playerFixture.getBody();
+        body.setTransform(x, y, 0);
+        body.setAwake(true);
+        world.step(1 / 60f, 8, 3);
+        world.step(1 / 60f, 8, 3);
+    }
+
+    @Test
+    public void testPlayerEntersAndLeavesRange() {
+        var entity = addHitbox(new Rectangle(10, 10, 2, 2));
+        tracker.register(engine);
+        assertEquals(1, tracker.size());
+
+        movePlayer(0, 0);
+        tracker.findNearby(playerFixture, found);
+        assertEquals(0, found.size);
+
+        movePlayer(11, 11);
+        tracker.findNearby(playerFixture, found);
+        assertEquals(1, found.size);
+        assertEquals(entity, found.first());
+
+        movePlayer(0, 0);
+        tracker.findNearby(playerFixture, found);
+        assertEquals(0, found.size);
+    }
+
+    @Test
+    public void testEntitiesAddedAndRemoved() {
+        tracker.register(engine);
+        var entity = addHitbox(new Rectangle(-10, -10, 2, 2));
+        movePlayer(-9, -9);
+        tracker.findNearby(playerFixture, found);
+        assertEquals(1, found.size);
+
+        engine.removeEntity(entity);
+        assertEquals(0, tracker.size());
+        tracker.findNearby(playerFixture, found);
+        assertEquals(0, found.size);
+        movePlayer(-9, -9);
+        tracker.findNearby(playerFixture, found);
+        assertEquals(0, found.size);
+    }
+
+    @Test
+    public void testMatchesHitboxIndex() {
+        var index = new HitboxIndex();
+        index.register(engine);
+        tracker.register(engine);
+
+        var random = new RandomXS128(1);
+        var hitboxes = new Array<Entity>();
+        for (int i = 0; i < 200; i++) {
+            var x = random.nextFloat() * 100 - 50;
+            var y = random.nextFloat() * 100 - 50;
+            hitboxes.add(addHitbox(new Rectangle(x, y, 1 + random.nextFloat() * 5, 1 + random.nextFloat() * 5)));
+        }
+
+        var expected = new Array<Entity>();
+        var circle = new Circle();
+        var grown = new Circle();
+        var shrunk = new Circle();
+        for (int i = 0; i < 200; i++) {
+            circle.set(random.nextFloat() * 110 - 55, random.nextFloat() * 110 - 55, PlayerConstants.HITBOX_RADIUS);
+            // box2d adds a small skin around polygons, so skip positions where the player only just touches a hitbox
+            grown.set(circle.x, circle.y, circle.radius + 0.05f);
+            shrunk.set(circle.x, circle.y, circle.radius - 0.05f);
+            var ambiguous = false;
+            for (var entity : hitboxes) {
+                var region = entity.getComponent(HitboxComponent.class).region;
+                ambiguous |= Intersector.overlaps(grown, region) != Intersector.overlaps(shrunk, region);
+            }
+            if (ambiguous) {
+                continue;
+            }
+
+            movePlayer(circle.x, circle.y);
+            index.findNearby(playerFixture, expected);
+            tracker.findNearby(playerFixture, found);
+            assertEquals(expected.size, found.size);
+            for (var entity : expected) {
+                assertEquals(true, found.contains(entity, true));
+            }
+        }
+    }
+}
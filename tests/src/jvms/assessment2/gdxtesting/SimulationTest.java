@@ -0,0 +1,188 @@
+package jvms.assessment2.gdxtesting;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import io.github.uoyeng1g6.constants.ActivityType;
+import io.github.uoyeng1g6.constants.PlayerConstants;
+import io.github.uoyeng1g6.models.ScoreCalculator;
+import io.github.uoyeng1g6.simulation.Location;
+import io.github.uoyeng1g6.simulation.Locations;
+import io.github.uoyeng1g6.simulation.Simulation;
+import io.github.uoyeng1g6.systems.PlayerInputSystem;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(GdxTestRunner.class)
+public class SimulationTest {
+
+    Simulation simulation;
+
+    @Before
+    public void initialiseSimulation() {
+        simulation = createSimulation();
+    }
+
+    @After
+    public void disposeSimulation() {
+        simulation.dispose();
+    }
+
+    /**
+     * The length of each frame played by an engine. A power of two, so that frames add up to exactly one physics step
+     * each and the overlay's progress is exact.
+     */
+    private static final float FRAME_TIME = 1 / 64f;
+
+    private static Simulation createSimulation() {
+        return new Simulation(Simulation.loadTerrain(Gdx.files.internal("../assets/terrain.json")), 64);
+    }
+
+    @Test
+    public void testPerformFullGame() {
+        var cs = Locations.find("cs");
+        var food = Locations.find("food");
+        var movie = Locations.find("movie");
+        var sleep = Locations.find("sleep");
+
+        for (int day = 0; day < 7; day++) {
+            assertFalse(simulation.isFinished());
+            for (int i = 0; i < 5; i++) {
+                assertTrue(simulation.perform(cs));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertTrue(simulation.perform(food));
+            }
+            assertTrue(simulation.perform(movie));
+            assertTrue(simulation.perform(sleep));
+            assertNull(simulation.getGameState().interactionOverlay);
+        }
+
+        assertTrue(simulation.isFinished());
+        assertFalse(simulation.perform(cs));
+        var days = simulation.getGameState().days;
+        assertEquals(7, days.size());
+        assertEquals(5, days.get(0).statFor(ActivityType.STUDY));
+        assertEquals(ScoreCalculator.calculateExamScore(days), simulation.getScore());
+    }
+
+    @Test
+    public void testActivityNeedsEnoughEnergy() {
+        var sports = Locations.find("sports");
+        for (int i = 0; i < 6; i++) {
+            assertTrue(simulation.perform(sports));
+        }
+        // 96 energy used, so there is not enough left for another game
+        assertFalse(simulation.perform(sports));
+        assertEquals(4, simulation.getGameState().energyRemaining);
+    }
+
+    @Test
+    public void testEngineMovesAndInteracts() {
+        var input = new int[] {PlayerInputSystem.LEFT | PlayerInputSystem.INTERACT};
+        var engine = simulation.createEngine(deltaTime -> input[0], false);
+        var body = simulation.getPlayerFixture().getBody();
+        var start = body.getPosition().x;
+
+        // Walk left from the start, trying to interact, until the bed is reached and the day ends
+        var frames = 0;
+        while (simulation.getGameState().daysRemaining == 7) {
+            engine.update(FRAME_TIME);
+            frames++;
+            assertTrue(frames < 64);
+        }
+        var walked = start - body.getPosition().x;
+        assertEquals(frames * PlayerConstants.PLAYER_SPEED * FRAME_TIME, walked, 0.01f);
+        var overlay = simulation.getGameState().interactionOverlay;
+        assertNotNull(overlay);
+
+        // Input is ignored until the overlay has been shown for long enough, then acted on in the frame it ends
+        var x = body.getPosition().x;
+        input[0] = PlayerInputSystem.RIGHT;
+        var overlayFrames = 0;
+        while (simulation.getGameState().interactionOverlay != null) {
+            assertEquals(x, body.getPosition().x, 0.001f);
+            engine.update(FRAME_TIME);
+            overlayFrames++;
+        }
+        // The overlay advances at twice the frame rate, and ends at the start of the frame after it has finished
+        assertEquals(MathUtils.ceil(overlay.displayFor / (2 * FRAME_TIME)) + 1, overlayFrames);
+        assertEquals(6, simulation.getGameState().daysRemaining);
+        assertEquals(x + PlayerConstants.PLAYER_SPEED * FRAME_TIME, body.getPosition().x, 0.001f);
+    }
+
+    @Test
+    public void testEngineInteractsWithEveryOverlappingLocation() {
+        var start = PlayerConstants.START_POSITION;
+        var hitbox = new Rectangle(start.x - 1, start.y - 1, 2, 2);
+        var locations = List.of(
+                Location.activity("cs", "book_icon", hitbox, "", ActivityType.STUDY, 1, 10, "Studying"),
+                Location.activity("food", "food_icon", hitbox, "", ActivityType.MEAL, 1, 20, "Eating"),
+                Locations.find("sports"));
+        var other = new Simulation(Simulation.loadTerrain(Gdx.files.internal("../assets/terrain.json")), locations, 64);
+        try {
+            var engine = other.createEngine(deltaTime -> PlayerInputSystem.INTERACT, false);
+            engine.update(FRAME_TIME);
+            // Both locations the player is standing in are interacted with in the same frame, as in the game
+            var state = other.getGameState();
+            assertEquals(70, state.energyRemaining);
+            assertEquals(1, state.currentDay.statFor(ActivityType.STUDY));
+            assertEquals(1, state.currentDay.statFor(ActivityType.MEAL));
+            assertEquals(0, state.currentDay.statFor(ActivityType.RECREATION));
+        } finally {
+            other.dispose();
+        }
+    }
+
+    @Test
+    public void testEngineDeterministic() {
+        var other = createSimulation();
+        var random = new RandomXS128(7);
+        var input = new int[1];
+        var engine = simulation.createEngine(deltaTime -> input[0], false);
+        var otherEngine = other.createEngine(deltaTime -> input[0], false);
+        try {
+            for (int i = 0; i < 5000; i++) {
+                input[0] = random.nextInt(16);
+                if (random.nextInt(10) == 0) {
+                    input[0] |= PlayerInputSystem.INTERACT;
+                }
+                var delta = 1 / (30 + random.nextFloat() * 114);
+                engine.update(delta);
+                otherEngine.update(delta);
+            }
+            assertEquals(
+                    other.getPlayerFixture().getBody().getPosition(),
+                    simulation.getPlayerFixture().getBody().getPosition());
+            assertEquals(other.getGameState().energyRemaining, simulation.getGameState().energyRemaining);
+            assertEquals(other.getGameState().daysRemaining, simulation.getGameState().daysRemaining);
+        } finally {
+            other.dispose();
+        }
+    }
+
+    @Test
+    public void testReset() {
+        var engine = simulation.createEngine(deltaTime -> PlayerInputSystem.RIGHT | PlayerInputSystem.UP, false);
+        for (int i = 0; i < 30; i++) {
+            engine.update(FRAME_TIME);
+        }
+        simulation.perform(Locations.find("sleep"));
+        var finished = simulation.getGameState();
+
+        simulation.reset();
+        assertEquals(7, simulation.getGameState().daysRemaining);
+        assertEquals(6, finished.daysRemaining);
+        assertEquals(PlayerConstants.START_POSITION, simulation.getPlayerFixture().getBody().getPosition());
+    }
+}
@@ -0,0 +1,85 @@
+package jvms.assessment2.gdxtesting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import io.github.uoyeng1g6.map.SparseTiledMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(GdxTestRunner.class)
+public class SparseTiledMapTest {
+
+    TiledMap tiledMap;
+    TiledMapTileLayer layer;
+
+    @Before
+    public void createMap() {
+        tiledMap = new TiledMap();
+        var properties = tiledMap.getProperties();
+        properties.put("width", 20);
+        properties.put("height", 10);
+        properties.put("tilewidth", 32);
+        properties.put("tileheight", 32);
+
+        layer = new TiledMapTileLayer(20, 10, 32, 32);
+        tiledMap.getLayers().add(layer);
+    }
+
+    private void setTile(int x, int y) {
+        var cell = new TiledMapTileLayer.Cell();
+        cell.setTile(new StaticTiledMapTile(new TextureRegion()));
+        layer.setCell(x, y, cell);
+    }
+
+    @Test
+    public void emptyLayerHasNoChunksTest() {
+        var map = new SparseTiledMap(tiledMap, 8);
+        var sparseLayer = map.getLayers().first();
+
+        assertEquals(0, map.getCellCount());
+        for (int chunkY = 0; chunkY < 2; chunkY++) {
+            for (int chunkX = 0; chunkX < 3; chunkX++) {
+                assertNull(sparseLayer.getChunk(chunkX, chunkY));
+            }
+        }
+    }
+
+    @Test
+    public void onlyOccupiedCellsAreStoredTest() {
+        setTile(0, 0);
+        setTile(3, 5);
+        setTile(19, 9);
+        // A cell without a tile counts as empty
+        layer.setCell(10, 2, new TiledMapTileLayer.Cell());
+
+        var map = new SparseTiledMap(tiledMap, 8);
+        var sparseLayer = map.getLayers().first();
+
+        assertEquals(3, map.getCellCount());
+        assertNull(sparseLayer.getChunk(1, 0));
+        assertNull(sparseLayer.getChunk(2, 0));
+
+        var first = sparseLayer.getChunk(0, 0);
+        assertNotNull(first);
+        assertEquals(2, first.getSize());
+        // Cells are stored from the top row down
+        assertEquals(3, first.getColumn(0));
+        assertEquals(5, first.getRow(0));
+        assertEquals(0, first.getColumn(1));
+        assertEquals(0, first.getRow(1));
+
+        var last = sparseLayer.getChunk(2, 1);
+        assertNotNull(last);
+        assertEquals(1, last.getSize());
+        assertEquals(19, last.getColumn(0));
+        assertEquals(9, last.getRow(0));
+        assertEquals(layer.getCell(19, 9), last.getCell(0));
+    }
+}
@@ -0,0 +1,53 @@
+package jvms.assessment2.gdxtesting;
+
+import io.github.uoyeng1g6.utils.UserDirectories;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(GdxTestRunner.class)
+public class UserDirectoriesTest {
+
+    @Test
+    public void testCacheDirectory() {
+        Map<String, String> none = Map.of();
+        assertEquals(
+                "/xdg/cache/HeslingtonHustle",
+                UserDirectories.getCacheDirectory("Linux", Map.of("XDG_CACHE_HOME", "/xdg/cache")::get, "/home/a"));
+        assertEquals(
+                "/home/a/.cache/HeslingtonHustle", UserDirectories.getCacheDirectory("Linux", none::get, "/home/a"));
+        assertEquals(
+                "/Users/a/Library/Caches/HeslingtonHustle",
+                UserDirectories.getCacheDirectory("Mac OS X", none::get, "/Users/a"));
+        assertEquals(
+                "C:\\Users\\a\\AppData\\Local/HeslingtonHustle/cache",
+                UserDirectories.getCacheDirectory(
+                        "Windows 11", Map.of("LOCALAPPDATA", "C:\\Users\\a\\AppData\\Local")::get, "C:\\Users\\a"));
+        assertEquals(
+                "C:\\Users\\a/.HeslingtonHustle/cache",
+                UserDirectories.getCacheDirectory("Windows 11", none::get, "C:\\Users\\a"));
+    }
+
+    @Test
+    public void testDataDirectory() {
+        Map<String, String> none = Map.of();
+        assertEquals(
+                "/xdg/data/HeslingtonHustle",
+                UserDirectories.getDataDirectory("Linux", Map.of("XDG_DATA_HOME", "/xdg/data")::get, "/home/a"));
+        assertEquals(
+                "/home/a/.local/share/HeslingtonHustle",
+                UserDirectories.getDataDirectory("Linux", none::get, "/home/a"));
+        assertEquals(
+                "/Users/a/Library/Application Support/HeslingtonHustle",
+                UserDirectories.getDataDirectory("Mac OS X", none::get, "/Users/a"));
+        assertEquals(
+                "C:\\Users\\a\\AppData\\Roaming/HeslingtonHustle",
+                UserDirectories.getDataDirectory(
+                        "Windows 11", Map.of("APPDATA", "C:\\Users\\a\\AppData\\Roaming")::get, "C:\\Users\\a"));
+        assertEquals(
+                "C:\\Users\\a/.HeslingtonHustle",
+                UserDirectories.getDataDirectory("Windows 11", none::get, "C:\\Users\\a"));
+    }
+}